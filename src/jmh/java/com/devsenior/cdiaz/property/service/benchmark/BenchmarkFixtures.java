@@ -0,0 +1,65 @@
+package com.devsenior.cdiaz.property.service.benchmark;
+
+import com.devsenior.cdiaz.property.service.model.dto.CreatePropertyDto;
+import com.devsenior.cdiaz.property.service.model.dto.PropertyDto;
+import com.devsenior.cdiaz.property.service.model.entity.Property;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.SplittableRandom;
+
+/**
+ * Datos sintéticos y deterministas para los benchmarks.
+ */
+final class BenchmarkFixtures {
+
+    static final String[] CITIES = {
+        "Ciudad de México", "Guadalajara", "Monterrey", "Puebla", "Querétaro",
+        "Mérida", "Tijuana", "León", "Cancún", "Oaxaca",
+        "Madrid", "Barcelona", "Valencia", "Sevilla", "Bilbao",
+        "Bogotá", "Medellín", "Lima", "Santiago", "Buenos Aires"
+    };
+
+    private static final String DESCRIPTION = "Casa amplia y luminosa con terraza, cocina integral, "
+            + "estacionamiento para dos autos y áreas verdes. Cerca de escuelas, transporte y centros comerciales.";
+
+    private BenchmarkFixtures() {
+    }
+
+    static Property property(long id, SplittableRandom random) {
+        Property property = new Property();
+        property.setId(id);
+        property.setAddress("Calle " + random.nextInt(1, 500) + ", Colonia Centro");
+        property.setCity(CITIES[random.nextInt(CITIES.length)]);
+        property.setPrice(500_000 + random.nextInt(0, 9_500_000) * 1.0);
+        property.setBedrooms(random.nextInt(1, 6));
+        property.setBathrooms(random.nextInt(1, 4));
+        property.setImageUrl("https://ejemplo.com/propiedades/" + id + ".jpg");
+        property.setDescription(DESCRIPTION);
+        // Puntos repartidos en un área de ~2° alrededor de la Ciudad de México
+        property.setLatitude(19.43 + random.nextDouble(-1.0, 1.0));
+        property.setLongitude(-99.13 + random.nextDouble(-1.0, 1.0));
+        property.setVersion(0L);
+        return property;
+    }
+
+    static CreatePropertyDto createDto(SplittableRandom random) {
+        Property property = property(0, random);
+        return new CreatePropertyDto(property.getAddress(), property.getCity(), property.getPrice(),
+                property.getBedrooms(), property.getBathrooms(), property.getImageUrl(), property.getDescription(),
+                property.getLatitude(), property.getLongitude());
+    }
+
+    static List<PropertyDto> dtos(int size, long seed) {
+        SplittableRandom random = new SplittableRandom(seed);
+        List<PropertyDto> dtos = new ArrayList<>(size);
+        for (int i = 1; i <= size; i++) {
+            Property property = property(i, random);
+            dtos.add(new PropertyDto(property.getId(), property.getAddress(), property.getCity(), property.getPrice(),
+                    property.getBedrooms(), property.getBathrooms(), property.getImageUrl(),
+                    property.getDescription(), property.getLatitude(), property.getLongitude(),
+                    property.getVersion(), property.getImageKey()));
+        }
+        return dtos;
+    }
+}
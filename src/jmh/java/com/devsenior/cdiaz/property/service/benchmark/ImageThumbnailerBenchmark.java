@@ -0,0 +1,64 @@
+package com.devsenior.cdiaz.property.service.benchmark;
+
+import com.devsenior.cdiaz.property.service.service.ImageThumbnailer;
+import org.openjdk.jmh.annotations.*;
+
+import javax.imageio.ImageIO;
+import java.awt.Color;
+import java.awt.GradientPaint;
+import java.awt.Graphics2D;
+import java.awt.image.BufferedImage;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Coste de generar todas las variantes de una imagen (decodificar, reducir y codificar) según
+ * el tamaño del original; sirve para dimensionar {@code property.images.threads}. El setup
+ * imprime el tamaño de cada variante.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+@State(Scope.Benchmark)
+public class ImageThumbnailerBenchmark {
+
+    // Ancho del original en píxeles (proporción 3:2)
+    @Param({"1200", "4000"})
+    public int width;
+
+    @Param({"jpg", "png"})
+    public String format;
+
+    private final ImageThumbnailer thumbnailer = new ImageThumbnailer(40_000_000);
+    private byte[] original;
+
+    @Setup
+    public void setUp() throws IOException {
+        int height = width * 2 / 3;
+        BufferedImage image = new BufferedImage(width, height, BufferedImage.TYPE_INT_RGB);
+        Graphics2D graphics = image.createGraphics();
+        graphics.setPaint(new GradientPaint(0, 0, Color.BLUE, width, height, Color.ORANGE));
+        graphics.fillRect(0, 0, width, height);
+        graphics.setColor(Color.WHITE);
+        for (int i = 0; i < 200; i++) {
+            graphics.drawLine(i * width / 200, 0, width - i * width / 200, height);
+        }
+        graphics.dispose();
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+        ImageIO.write(image, format, bytes);
+        original = bytes.toByteArray();
+
+        StringBuilder sizes = new StringBuilder();
+        thumbnailer.generate(original).forEach((name, data) -> sizes.append(' ').append(name).append('=').append(data.length));
+        System.out.printf("%n%dpx %s: original=%d bytes,%s%n", width, format, original.length, sizes);
+    }
+
+    @Benchmark
+    public Map<String, byte[]> generate() throws IOException {
+        return thumbnailer.generate(original);
+    }
+}
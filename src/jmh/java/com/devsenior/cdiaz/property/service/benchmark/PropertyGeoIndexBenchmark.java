@@ -0,0 +1,121 @@
+package com.devsenior.cdiaz.property.service.benchmark;
+
+import com.devsenior.cdiaz.property.service.model.entity.Property;
+import com.devsenior.cdiaz.property.service.service.PropertyGeoIndex;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.SplittableRandom;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Búsqueda por radio y de los N más cercanos con {@link PropertyGeoIndex} frente a un recorrido
+ * completo. Antes de medir, el setup comprueba que el índice devuelve exactamente lo mismo que
+ * la fuerza bruta en un conjunto de consultas aleatorias y aborta si difieren.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Benchmark)
+public class PropertyGeoIndexBenchmark {
+
+    private static final int VERIFIED_QUERIES = 500;
+
+    @Param({"10000", "100000"})
+    public int size;
+
+    @Param({"2", "10"})
+    public double radiusKm;
+
+    private final PropertyGeoIndex index = new PropertyGeoIndex(0.05);
+
+    private long[] ids;
+    private double[] latitudes;
+    private double[] longitudes;
+    private double[][] queries;
+    private int next;
+
+    @Setup
+    public void setUp() {
+        SplittableRandom random = new SplittableRandom(42);
+        ids = new long[size];
+        latitudes = new double[size];
+        longitudes = new double[size];
+        for (int i = 0; i < size; i++) {
+            Property property = BenchmarkFixtures.property(i + 1, random);
+            ids[i] = property.getId();
+            latitudes[i] = property.getLatitude();
+            longitudes[i] = property.getLongitude();
+            index.index(property.getId(), property.getLatitude(), property.getLongitude());
+        }
+        queries = new double[1024][];
+        for (int i = 0; i < queries.length; i++) {
+            queries[i] = new double[] {19.43 + random.nextDouble(-1.0, 1.0), -99.13 + random.nextDouble(-1.0, 1.0)};
+        }
+        verifyAgainstBruteForce();
+    }
+
+    @Benchmark
+    public List<PropertyGeoIndex.Match> radiusIndexed() {
+        double[] query = nextQuery();
+        return index.withinRadius(query[0], query[1], radiusKm, Integer.MAX_VALUE);
+    }
+
+    @Benchmark
+    public List<PropertyGeoIndex.Match> radiusBruteForce() {
+        double[] query = nextQuery();
+        return bruteForceRadius(query[0], query[1], radiusKm, Integer.MAX_VALUE);
+    }
+
+    @Benchmark
+    public List<PropertyGeoIndex.Match> nearest20Indexed() {
+        double[] query = nextQuery();
+        return index.nearest(query[0], query[1], 20);
+    }
+
+    @Benchmark
+    public List<PropertyGeoIndex.Match> nearest20BruteForce() {
+        double[] query = nextQuery();
+        return bruteForceRadius(query[0], query[1], Double.MAX_VALUE, 20);
+    }
+
+    private double[] nextQuery() {
+        double[] query = queries[next];
+        next = (next + 1) & (queries.length - 1);
+        return query;
+    }
+
+    private List<PropertyGeoIndex.Match> bruteForceRadius(double latitude, double longitude, double radius, int limit) {
+        List<PropertyGeoIndex.Match> matches = new ArrayList<>();
+        for (int i = 0; i < ids.length; i++) {
+            double distance = PropertyGeoIndex.distanceKm(latitude, longitude, latitudes[i], longitudes[i]);
+            if (distance <= radius) {
+                matches.add(new PropertyGeoIndex.Match(ids[i], distance));
+            }
+        }
+        matches.sort(Comparator.comparingDouble(PropertyGeoIndex.Match::distanceKm)
+                .thenComparingLong(PropertyGeoIndex.Match::id));
+        return matches.size() > limit ? matches.subList(0, limit) : matches;
+    }
+
+    private void verifyAgainstBruteForce() {
+        for (int i = 0; i < VERIFIED_QUERIES; i++) {
+            double[] query = queries[i % queries.length];
+            check("radio", index.withinRadius(query[0], query[1], radiusKm, Integer.MAX_VALUE),
+                    bruteForceRadius(query[0], query[1], radiusKm, Integer.MAX_VALUE));
+            check("cercanos", index.nearest(query[0], query[1], 20),
+                    bruteForceRadius(query[0], query[1], Double.MAX_VALUE, 20));
+        }
+    }
+
+    private static void check(String kind, List<PropertyGeoIndex.Match> indexed, List<PropertyGeoIndex.Match> expected) {
+        if (!indexed.equals(expected)) {
+            throw new IllegalStateException("El índice difiere de la fuerza bruta en la búsqueda por " + kind
+                    + ": " + indexed.size() + " resultados frente a " + expected.size());
+        }
+    }
+}
@@ -0,0 +1,45 @@
+package com.devsenior.cdiaz.property.service.benchmark;
+
+import com.devsenior.cdiaz.property.service.mapper.PropertyMapper;
+import com.devsenior.cdiaz.property.service.mapper.PropertyMapperImpl;
+import com.devsenior.cdiaz.property.service.model.dto.CreatePropertyDto;
+import com.devsenior.cdiaz.property.service.model.dto.PropertyDto;
+import com.devsenior.cdiaz.property.service.model.entity.Property;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.SplittableRandom;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Coste por llamada del mapeo MapStruct entre entidad y DTOs.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Benchmark)
+public class PropertyMapperBenchmark {
+
+    private final PropertyMapper mapper = new PropertyMapperImpl();
+
+    private Property property;
+    private CreatePropertyDto createDto;
+
+    @Setup
+    public void setUp() {
+        SplittableRandom random = new SplittableRandom(42);
+        property = BenchmarkFixtures.property(1, random);
+        createDto = BenchmarkFixtures.createDto(random);
+    }
+
+    @Benchmark
+    public PropertyDto toDto() {
+        return mapper.toDto(property);
+    }
+
+    @Benchmark
+    public Property toEntity() {
+        return mapper.toEntity(createDto);
+    }
+}
@@ -0,0 +1,103 @@
+package com.devsenior.cdiaz.property.service.benchmark;
+
+import com.devsenior.cdiaz.property.service.model.dto.PropertyDto;
+import com.devsenior.cdiaz.property.service.model.dto.PropertyFields;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import com.fasterxml.jackson.databind.ser.impl.SimpleBeanPropertyFilter;
+import com.fasterxml.jackson.databind.ser.impl.SimpleFilterProvider;
+import org.openjdk.jmh.annotations.*;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.zip.GZIPOutputStream;
+
+/**
+ * Serialización Jackson de listados de {@link PropertyDto} por formato (JSON, CBOR, Smile) y
+ * por selección de campos: {@code all} es el DTO completo y {@code list} lo que pide una
+ * pantalla de listado ({@code fields=city,price,imageUrl}), con los mismos filtros que usa
+ * {@code PropertyController}.
+ *
+ * <p>El tamaño del cuerpo, sin comprimir y con gzip, se imprime en el setup de cada combinación;
+ * {@code serializeListGzip} mide además el coste de comprimir la respuesta.</p>
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+@State(Scope.Benchmark)
+public class PropertySerializationBenchmark {
+
+    @Param({"1000", "100000"})
+    public int size;
+
+    @Param({"json", "cbor", "smile"})
+    public String format;
+
+    @Param({"all", "list"})
+    public String fields;
+
+    private ObjectWriter writer;
+
+    private List<PropertyDto> properties;
+
+    @Setup
+    public void setUp() throws IOException {
+        Jackson2ObjectMapperBuilder builder = switch (format) {
+            case "json" -> Jackson2ObjectMapperBuilder.json();
+            case "cbor" -> Jackson2ObjectMapperBuilder.cbor();
+            case "smile" -> Jackson2ObjectMapperBuilder.smile();
+            default -> throw new IllegalArgumentException("Formato desconocido: " + format);
+        };
+        PropertyFields selected = "list".equals(fields) ? PropertyFields.parse("city,price,imageUrl") : PropertyFields.ALL;
+        SimpleFilterProvider filters = new SimpleFilterProvider()
+                .setDefaultFilter(SimpleBeanPropertyFilter.serializeAll());
+        if (!selected.isAll()) {
+            filters.addFilter(PropertyDto.FIELDS_FILTER, SimpleBeanPropertyFilter.filterOutAllExcept(selected.names()));
+        }
+        writer = builder.build().writer(filters);
+
+        properties = BenchmarkFixtures.dtos(size, 42);
+        if (!selected.isAll()) {
+            // Como los devuelve la consulta proyectada: las columnas no leídas quedan nulas
+            properties = properties.stream().map(dto -> project(dto, selected)).toList();
+        }
+
+        byte[] body = serializeList();
+        System.out.printf("%n%s/%s/%d: %d bytes, %d bytes con gzip%n",
+                format, fields, size, body.length, serializeListGzip().length);
+    }
+
+    @Benchmark
+    public byte[] serializeList() throws IOException {
+        return writer.writeValueAsBytes(properties);
+    }
+
+    @Benchmark
+    public byte[] serializeListGzip() throws IOException {
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        try (GZIPOutputStream gzip = new GZIPOutputStream(out)) {
+            writer.writeValue(gzip, properties);
+        }
+        return out.toByteArray();
+    }
+
+    private static PropertyDto project(PropertyDto dto, PropertyFields fields) {
+        PropertyDto projected = new PropertyDto();
+        projected.setId(dto.getId());
+        projected.setVersion(dto.getVersion());
+        if (fields.names().contains("city")) {
+            projected.setCity(dto.getCity());
+        }
+        if (fields.names().contains("price")) {
+            projected.setPrice(dto.getPrice());
+        }
+        if (fields.names().contains("imageUrl")) {
+            projected.setImageUrl(dto.getImageUrl());
+        }
+        return projected;
+    }
+}
@@ -0,0 +1,154 @@
+package com.devsenior.cdiaz.property.service.benchmark;
+
+import com.devsenior.cdiaz.property.service.PropertyServiceApplication;
+import com.devsenior.cdiaz.property.service.mapper.PropertyMapper;
+import com.devsenior.cdiaz.property.service.model.dto.CreatePropertyDto;
+import com.devsenior.cdiaz.property.service.model.dto.PropertyDto;
+import com.devsenior.cdiaz.property.service.model.dto.PropertyFields;
+import com.devsenior.cdiaz.property.service.model.dto.PropertyPageDto;
+import com.devsenior.cdiaz.property.service.model.dto.UpdatePropertyDto;
+import com.devsenior.cdiaz.property.service.repository.PropertyRepository;
+import com.devsenior.cdiaz.property.service.service.PropertyImportService;
+import com.devsenior.cdiaz.property.service.service.PropertyService;
+import io.zonky.test.db.postgres.embedded.EmbeddedPostgres;
+import org.openjdk.jmh.annotations.*;
+import org.springframework.boot.WebApplicationType;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+
+import java.io.IOException;
+import java.util.List;
+import java.util.SplittableRandom;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Stream;
+
+/**
+ * Caminos CRUD de {@link PropertyService} y {@link PropertyRepository} contra un PostgreSQL embebido.
+ *
+ * <p>El contexto de Spring se levanta una vez por fork con el catálogo sembrado mediante la
+ * importación masiva. Los métodos {@code repository*} miden la consulta sin la caché de lectura.</p>
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+@State(Scope.Benchmark)
+public class PropertyServiceBenchmark {
+
+    // Lo que necesita una pantalla de listado
+    private static final PropertyFields LIST_FIELDS = PropertyFields.parse("city,price,imageUrl");
+
+    @Param({"10000"})
+    public int catalogSize;
+
+    private EmbeddedPostgres postgres;
+    private ConfigurableApplicationContext context;
+    private PropertyService propertyService;
+    private PropertyRepository propertyRepository;
+    private PropertyMapper propertyMapper;
+    private long minId;
+    private long maxId;
+
+    @Setup(Level.Trial)
+    public void setUp() throws IOException {
+        postgres = EmbeddedPostgres.builder().start();
+        // Como argumentos de línea de comandos para que prevalezcan sobre application.properties
+        context = new SpringApplicationBuilder(PropertyServiceApplication.class)
+                .web(WebApplicationType.NONE)
+                .run(
+                        "--spring.datasource.url=" + postgres.getJdbcUrl("postgres", "postgres"),
+                        "--spring.datasource.username=postgres",
+                        "--spring.datasource.password=postgres",
+                        "--spring.jpa.show-sql=false",
+                        "--logging.level.root=WARN",
+                        // El pipeline de miniaturas no debe descargar imágenes durante la medición
+                        "--property.images.source=local");
+        propertyService = context.getBean(PropertyService.class);
+        propertyRepository = context.getBean(PropertyRepository.class);
+        propertyMapper = context.getBean(PropertyMapper.class);
+
+        SplittableRandom random = new SplittableRandom(42);
+        List<CreatePropertyDto> rows = Stream.generate(() -> BenchmarkFixtures.createDto(random))
+                .limit(catalogSize)
+                .toList();
+        context.getBean(PropertyImportService.class).importAll(rows.iterator());
+        PropertyPageDto first = propertyService.findPage(null, 1, PropertyFields.ALL);
+        minId = first.items().get(0).getId();
+        maxId = minId + catalogSize - 1;
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() throws IOException {
+        context.close();
+        postgres.close();
+    }
+
+    private long randomId() {
+        return ThreadLocalRandom.current().nextLong(minId, maxId + 1);
+    }
+
+    private String randomCity() {
+        return BenchmarkFixtures.CITIES[ThreadLocalRandom.current().nextInt(BenchmarkFixtures.CITIES.length)];
+    }
+
+    @Benchmark
+    public PropertyDto serviceFindById() {
+        return propertyService.findById(randomId());
+    }
+
+    @Benchmark
+    public PropertyDto repositoryFindById() {
+        return propertyRepository.findById(randomId()).map(propertyMapper::toDto).orElseThrow();
+    }
+
+    @Benchmark
+    public List<PropertyDto> serviceFindByCity() {
+        return propertyService.findByCity(randomCity());
+    }
+
+    @Benchmark
+    public List<PropertyDto> repositoryFindByCity() {
+        return propertyRepository.findByCity(randomCity()).stream().map(propertyMapper::toDto).toList();
+    }
+
+    @Benchmark
+    public PropertyPageDto serviceFindPage() {
+        return propertyService.findPage(null, PropertyService.DEFAULT_PAGE_SIZE, PropertyFields.ALL);
+    }
+
+    @Benchmark
+    public PropertyPageDto serviceFindPageProjected() {
+        return propertyService.findPage(null, PropertyService.DEFAULT_PAGE_SIZE, LIST_FIELDS);
+    }
+
+    @Benchmark
+    public boolean serviceExistsById() {
+        return propertyService.existsById(randomId());
+    }
+
+    @Benchmark
+    public PropertyDto serviceUpdate() {
+        CreatePropertyDto data = BenchmarkFixtures.createDto(new SplittableRandom(ThreadLocalRandom.current().nextLong()));
+        UpdatePropertyDto update = new UpdatePropertyDto(data.getAddress(), data.getCity(), data.getPrice(),
+                data.getBedrooms(), data.getBathrooms(), data.getImageUrl(), data.getDescription(),
+                data.getLatitude(), data.getLongitude());
+        return propertyService.update(randomId(), update, null);
+    }
+
+    @Benchmark
+    public PropertyDto servicePatchPrice() {
+        UpdatePropertyDto patch = new UpdatePropertyDto();
+        patch.setPrice(1_000_000 + ThreadLocalRandom.current().nextInt(1_000_000) * 1.0);
+        return propertyService.patch(randomId(), patch, null);
+    }
+
+    @Benchmark
+    public Long serviceSaveAndDelete() {
+        CreatePropertyDto data = BenchmarkFixtures.createDto(new SplittableRandom(ThreadLocalRandom.current().nextLong()));
+        PropertyDto saved = propertyService.save(data);
+        propertyService.deleteById(saved.getId(), null);
+        return saved.getId();
+    }
+}
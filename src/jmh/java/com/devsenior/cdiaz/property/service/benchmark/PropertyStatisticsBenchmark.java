@@ -0,0 +1,115 @@
+package com.devsenior.cdiaz.property.service.benchmark;
+
+import com.devsenior.cdiaz.property.service.model.dto.PropertyStatisticsDto;
+import com.devsenior.cdiaz.property.service.model.entity.Property;
+import com.devsenior.cdiaz.property.service.service.PropertyStatistics;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.Arrays;
+import java.util.SplittableRandom;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Estadísticas de una ciudad leídas de {@link PropertyStatistics} frente a calcularlas
+ * recorriendo todo el catálogo (lo que hacían los tableros con {@code GET /api/properties}),
+ * y coste de mantenerlas con cada modificación. Antes de medir, el setup comprueba que los
+ * acumulados coinciden con el cálculo completo para todas las ciudades y aborta si difieren.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Benchmark)
+public class PropertyStatisticsBenchmark {
+
+    @Param({"10000", "100000"})
+    public int size;
+
+    private final PropertyStatistics statistics = new PropertyStatistics();
+
+    private String[] cities;
+    private double[] prices;
+    private int[] bedrooms;
+    private SplittableRandom random;
+    private int next;
+
+    @Setup
+    public void setUp() {
+        random = new SplittableRandom(42);
+        cities = new String[size];
+        prices = new double[size];
+        bedrooms = new int[size];
+        for (int i = 0; i < size; i++) {
+            Property property = BenchmarkFixtures.property(i + 1, random);
+            cities[i] = property.getCity();
+            prices[i] = property.getPrice();
+            bedrooms[i] = property.getBedrooms();
+        }
+        statistics.rebuild(sink -> {
+            for (int i = 0; i < size; i++) {
+                sink.add(i + 1L, cities[i], prices[i], bedrooms[i]);
+            }
+        });
+        verifyAgainstFullScan();
+    }
+
+    @Benchmark
+    public PropertyStatisticsDto readCity() {
+        return statistics.city(nextCity()).orElseThrow();
+    }
+
+    @Benchmark
+    public double[] fullScanCity() {
+        return fullScan(nextCity());
+    }
+
+    // Cambia el precio de una propiedad al azar: quita el precio anterior e inserta el nuevo
+    @Benchmark
+    public int updatePrice() {
+        int index = random.nextInt(size);
+        prices[index] = 500_000 + random.nextInt(0, 9_500_000) * 1.0;
+        statistics.index(index + 1L, cities[index], prices[index], bedrooms[index]);
+        return index;
+    }
+
+    private String nextCity() {
+        String city = BenchmarkFixtures.CITIES[next];
+        next = (next + 1) % BenchmarkFixtures.CITIES.length;
+        return city;
+    }
+
+    // count, media, mínimo, máximo y mediana (percentile_cont) ordenando los precios de la ciudad
+    private double[] fullScan(String city) {
+        double[] cityPrices = new double[size];
+        int count = 0;
+        double sum = 0;
+        for (int i = 0; i < size; i++) {
+            if (cities[i].equals(city)) {
+                cityPrices[count++] = prices[i];
+                sum += prices[i];
+            }
+        }
+        Arrays.sort(cityPrices, 0, count);
+        double position = 0.5 * (count - 1);
+        int lower = (int) Math.floor(position);
+        int upper = Math.min(lower + 1, count - 1);
+        double median = cityPrices[lower] + (cityPrices[upper] - cityPrices[lower]) * (position - lower);
+        return new double[] {count, sum / count, cityPrices[0], cityPrices[count - 1], median};
+    }
+
+    private void verifyAgainstFullScan() {
+        for (String city : BenchmarkFixtures.CITIES) {
+            PropertyStatisticsDto rollup = statistics.city(city).orElseThrow();
+            double[] expected = fullScan(city);
+            double[] actual = {rollup.count(), rollup.averagePrice(), rollup.minPrice(), rollup.maxPrice(),
+                rollup.medianPrice()};
+            for (int i = 0; i < expected.length; i++) {
+                if (Math.abs(expected[i] - actual[i]) > 1e-6 * Math.max(1.0, Math.abs(expected[i]))) {
+                    throw new IllegalStateException("Las estadísticas de " + city + " difieren del recorrido completo: "
+                            + Arrays.toString(actual) + " frente a " + Arrays.toString(expected));
+                }
+            }
+        }
+    }
+}
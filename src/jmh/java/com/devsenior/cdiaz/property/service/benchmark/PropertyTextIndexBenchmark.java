@@ -0,0 +1,122 @@
+package com.devsenior.cdiaz.property.service.benchmark;
+
+import com.devsenior.cdiaz.property.service.model.entity.Property;
+import com.devsenior.cdiaz.property.service.service.PropertyTextIndex;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.SplittableRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Collectors;
+
+/**
+ * Búsqueda por palabras clave con {@link PropertyTextIndex} frente a recorrer todo el catálogo
+ * (el equivalente en memoria de {@code LIKE '%x%'}). Antes de medir, el setup comprueba que el
+ * índice encuentra exactamente las mismas propiedades que el recorrido y aborta si difieren.
+ *
+ * <p>{@code selective} usa consultas con un término poco frecuente (número de calle), como las
+ * búsquedas habituales; {@code broad} usa características presentes en ~16% del catálogo, donde
+ * el índice también debe puntuar muchas coincidencias.</p>
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Benchmark)
+public class PropertyTextIndexBenchmark {
+
+    private static final String[] FEATURES = {
+        "terraza", "piscina", "jardín", "estacionamiento", "gimnasio", "chimenea", "balcón",
+        "vigilancia", "elevador", "bodega", "cocina integral", "vista al mar", "roof garden",
+        "cuarto de servicio", "estudio", "amueblado", "mascotas", "calentador solar"
+    };
+
+    private static final String[] SELECTIVE_QUERIES = {
+        "calle 123", "Oaxaca 77 terraza", "calle 250 piscina", "Bogotá 401", "jardin 12"
+    };
+
+    private static final String[] BROAD_QUERIES = {
+        "piscina", "Jardin terraza", "vista mar", "chimenea estudio amueblado", "Bogotá gimnasio"
+    };
+
+    @Param({"10000", "100000"})
+    public int size;
+
+    @Param({"selective", "broad"})
+    public String queries;
+
+    private final PropertyTextIndex index = new PropertyTextIndex();
+
+    private long[] ids;
+    private List<Set<String>> terms;
+    private String[] queryTexts;
+    private int next;
+
+    @Setup
+    public void setUp() {
+        SplittableRandom random = new SplittableRandom(42);
+        queryTexts = "selective".equals(queries) ? SELECTIVE_QUERIES : BROAD_QUERIES;
+        ids = new long[size];
+        terms = new ArrayList<>(size);
+        for (int i = 0; i < size; i++) {
+            Property property = BenchmarkFixtures.property(i + 1, random);
+            StringBuilder description = new StringBuilder("Propiedad con");
+            for (int f = 0; f < 3; f++) {
+                description.append(' ').append(FEATURES[random.nextInt(FEATURES.length)]);
+            }
+            ids[i] = property.getId();
+            index.index(property.getId(), property.getCity(), property.getAddress(), description.toString());
+            Set<String> documentTerms = new HashSet<>();
+            documentTerms.addAll(PropertyTextIndex.tokenize(property.getCity()));
+            documentTerms.addAll(PropertyTextIndex.tokenize(property.getAddress()));
+            documentTerms.addAll(PropertyTextIndex.tokenize(description.toString()));
+            terms.add(documentTerms);
+        }
+        verifyAgainstBruteForce();
+    }
+
+    @Benchmark
+    public List<PropertyTextIndex.Match> searchIndexed() {
+        return index.search(nextQuery(), 20);
+    }
+
+    @Benchmark
+    public List<Long> searchBruteForce() {
+        List<Long> matches = bruteForce(nextQuery());
+        return matches.size() > 20 ? matches.subList(0, 20) : matches;
+    }
+
+    private String nextQuery() {
+        String query = queryTexts[next];
+        next = (next + 1) % queryTexts.length;
+        return query;
+    }
+
+    private List<Long> bruteForce(String query) {
+        List<String> queryTerms = PropertyTextIndex.tokenize(query);
+        List<Long> matches = new ArrayList<>();
+        for (int i = 0; i < ids.length; i++) {
+            if (terms.get(i).containsAll(queryTerms)) {
+                matches.add(ids[i]);
+            }
+        }
+        return matches;
+    }
+
+    private void verifyAgainstBruteForce() {
+        for (String query : queryTexts) {
+            Set<Long> indexed = index.search(query, size).stream()
+                    .map(PropertyTextIndex.Match::id)
+                    .collect(Collectors.toSet());
+            Set<Long> expected = new HashSet<>(bruteForce(query));
+            if (!indexed.equals(expected)) {
+                throw new IllegalStateException("El índice difiere del recorrido completo para \"" + query
+                        + "\": " + indexed.size() + " resultados frente a " + expected.size());
+            }
+        }
+    }
+}
@@ -0,0 +1,54 @@
+package com.devsenior.cdiaz.property.service.loadtest;
+
+import org.HdrHistogram.ConcurrentHistogram;
+import org.HdrHistogram.Histogram;
+
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Latencias y códigos de respuesta de un endpoint durante la medición.
+ *
+ * <p>La latencia se cuenta desde el instante en que la petición debía salir según el ritmo
+ * fijado, no desde que salió: si el cliente se retrasa porque el servidor está saturado, ese
+ * retraso también se mide (sin omisión coordinada).</p>
+ */
+final class EndpointStats {
+
+    // Estado de las peticiones que no obtuvieron respuesta (timeout, conexión rechazada)
+    static final int NO_RESPONSE = 0;
+
+    // Estado de las peticiones que no se enviaron por exceso de peticiones en vuelo
+    static final int NOT_SENT = -1;
+
+    private static final long MAX_LATENCY_MICROS = TimeUnit.MINUTES.toMicros(1);
+
+    private final Histogram latencies = new ConcurrentHistogram(MAX_LATENCY_MICROS, 3);
+    private final Map<Integer, LongAdder> statuses = new ConcurrentHashMap<>();
+
+    void record(long latencyNanos, int status) {
+        latencies.recordValue(Math.min(TimeUnit.NANOSECONDS.toMicros(latencyNanos), MAX_LATENCY_MICROS));
+        count(status);
+    }
+
+    void notSent() {
+        count(NOT_SENT);
+    }
+
+    Histogram latencies() {
+        return latencies;
+    }
+
+    Map<Integer, Long> statuses() {
+        Map<Integer, Long> counts = new TreeMap<>();
+        statuses.forEach((status, count) -> counts.put(status, count.sum()));
+        return counts;
+    }
+
+    private void count(int status) {
+        statuses.computeIfAbsent(status, key -> new LongAdder()).increment();
+    }
+}
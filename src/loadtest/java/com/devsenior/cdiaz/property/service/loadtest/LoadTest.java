@@ -0,0 +1,194 @@
+package com.devsenior.cdiaz.property.service.loadtest;
+
+import com.devsenior.cdiaz.property.service.PropertyServiceApplication;
+import com.devsenior.cdiaz.property.service.model.dto.BulkImportResultDto;
+import com.devsenior.cdiaz.property.service.model.dto.BulkImportRowResultDto;
+import com.devsenior.cdiaz.property.service.model.dto.CreatePropertyDto;
+import com.devsenior.cdiaz.property.service.service.AuthService;
+import com.devsenior.cdiaz.property.service.service.PropertyImportService;
+import io.zonky.test.db.postgres.embedded.EmbeddedPostgres;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.boot.web.context.WebServerApplicationContext;
+import org.springframework.context.ConfigurableApplicationContext;
+
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.SplittableRandom;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.LockSupport;
+import java.util.stream.IntStream;
+import java.util.stream.Stream;
+
+/**
+ * Prueba de carga reproducible de la API: arranca el servicio contra un PostgreSQL embebido (o
+ * una base de datos local dedicada), siembra el catálogo y los usuarios y envía las cargas de
+ * lectura, escritura y login, cada una a su ritmo constante, durante un calentamiento y una
+ * medición.
+ *
+ * <p>Es un modelo abierto: las peticiones salen en su instante programado aunque el servidor
+ * no haya respondido a las anteriores, como ocurre con tráfico real. Si se acumulan más de
+ * {@link #MAX_IN_FLIGHT} peticiones sin respuesta, las siguientes se cuentan como no enviadas.</p>
+ *
+ * <p>El limitador de intentos de login se amplía para que la carga de login mida el hashing y
+ * la creación de sesiones, no los rechazos.</p>
+ */
+public final class LoadTest {
+
+    static final int MAX_IN_FLIGHT = 2_000;
+
+    private final LoadTestConfig config;
+    private final HttpClient client = HttpClient.newBuilder().connectTimeout(Duration.ofSeconds(5)).build();
+    private final Semaphore inFlight = new Semaphore(MAX_IN_FLIGHT);
+    private final Map<String, EndpointStats> stats = new ConcurrentHashMap<>();
+
+    private LoadTest(LoadTestConfig config) {
+        this.config = config;
+    }
+
+    public static void main(String[] args) throws Exception {
+        LoadTestConfig config = LoadTestConfig.fromSystemProperties();
+        EmbeddedPostgres postgres = config.databaseUrl() == null ? EmbeddedPostgres.builder().start() : null;
+        try {
+            String url = postgres != null ? postgres.getJdbcUrl("postgres", "postgres") : config.databaseUrl();
+            try (ConfigurableApplicationContext context = start(url, config)) {
+                new LoadTest(config).run(context, postgres != null ? "embedded" : url);
+            }
+        } finally {
+            if (postgres != null) {
+                postgres.close();
+            }
+        }
+    }
+
+    // Como argumentos de línea de comandos para que prevalezcan sobre application.properties
+    private static ConfigurableApplicationContext start(String url, LoadTestConfig config) {
+        return new SpringApplicationBuilder(PropertyServiceApplication.class).run(
+                "--spring.datasource.url=" + url,
+                "--spring.datasource.username=" + (config.databaseUrl() == null ? "postgres" : config.databaseUsername()),
+                "--spring.datasource.password=" + (config.databaseUrl() == null ? "postgres" : config.databasePassword()),
+                "--server.port=0",
+                "--management.server.port=0",
+                "--spring.jpa.show-sql=false",
+                "--logging.level.root=WARN",
+                "--property.auth.rate-limit.email.capacity=" + Integer.MAX_VALUE,
+                "--property.auth.rate-limit.ip.capacity=" + Integer.MAX_VALUE,
+                // Ninguna imageUrl de la carga debe acabar en una descarga por la red
+                "--property.images.source=local");
+    }
+
+    private void run(ConfigurableApplicationContext context, String database) throws Exception {
+        URI base = URI.create("http://localhost:" + ((WebServerApplicationContext) context).getWebServer().getPort());
+        List<Long> ids = seed(context);
+        List<Workload> workloads = LoadTestFixtures.workloads(base, config, ids);
+
+        System.out.printf("Carga: %.1f lecturas/s, %.1f escrituras/s, %.1f logins/s; calentamiento %s, medición %s%n",
+                config.readRate(), config.writeRate(), config.loginRate(), config.warmUp(), config.duration());
+        long start = System.nanoTime();
+        long measureFrom = start + config.warmUp().toNanos();
+        long end = measureFrom + config.duration().toNanos();
+        Instant startedAt = Instant.now().plus(config.warmUp());
+        List<Thread> drivers = new ArrayList<>();
+        for (int i = 0; i < workloads.size(); i++) {
+            Workload workload = workloads.get(i);
+            // Un generador por carga: la secuencia de cada una no depende del ritmo de las demás
+            SplittableRandom random = new SplittableRandom(config.seed() + i + 1);
+            drivers.add(Thread.ofPlatform().name("load-" + workload.name())
+                    .start(() -> drive(workload, random, start, measureFrom, end)));
+        }
+        for (Thread driver : drivers) {
+            driver.join();
+        }
+        // Espera a las respuestas pendientes; las que no llegan se cuentan como sin respuesta por timeout
+        inFlight.tryAcquire(MAX_IN_FLIGHT, Workload.REQUEST_TIMEOUT.toSeconds() + 5, TimeUnit.SECONDS);
+
+        LoadTestReport report = LoadTestReport.of(startedAt, settings(database), stats, config.duration());
+        report.write(config.result());
+        System.out.println();
+        System.out.print(report.table());
+        System.out.println("Informe: " + config.result().toAbsolutePath());
+        if (config.baseline() != null) {
+            System.out.println();
+            System.out.print(report.comparedWith(LoadTestReport.read(config.baseline())));
+        }
+    }
+
+    // Catálogo por importación masiva y usuarios registrados con el servicio; devuelve los IDs creados
+    private List<Long> seed(ConfigurableApplicationContext context) {
+        long seedStart = System.nanoTime();
+        SplittableRandom random = new SplittableRandom(config.seed());
+        List<CreatePropertyDto> rows = Stream.generate(() -> LoadTestFixtures.property(random))
+                .limit(config.catalogSize())
+                .toList();
+        BulkImportResultDto imported = context.getBean(PropertyImportService.class).importAll(rows.iterator());
+        List<Long> ids = imported.rows().stream()
+                .map(BulkImportRowResultDto::id)
+                .filter(Objects::nonNull)
+                .toList();
+        if (ids.isEmpty()) {
+            throw new IllegalStateException("No se pudo sembrar el catálogo: " + imported.rows().get(0).error());
+        }
+        AuthService authService = context.getBean(AuthService.class);
+        IntStream.range(0, config.users()).forEach(index -> {
+            try {
+                authService.register(LoadTestFixtures.user(index));
+            } catch (RuntimeException ex) {
+                // Ya registrado en una ejecución anterior contra la misma base de datos local
+            }
+        });
+        System.out.printf("Sembradas %d propiedades y %d usuarios en %d ms%n", ids.size(), config.users(),
+                TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - seedStart));
+        return ids;
+    }
+
+    private void drive(Workload workload, SplittableRandom random, long start, long measureFrom, long end) {
+        if (workload.rate() <= 0) {
+            return;
+        }
+        long interval = (long) (TimeUnit.SECONDS.toNanos(1) / workload.rate());
+        for (long i = 0; ; i++) {
+            long scheduled = start + i * interval;
+            if (scheduled >= end) {
+                return;
+            }
+            long wait;
+            while ((wait = scheduled - System.nanoTime()) > 0) {
+                LockSupport.parkNanos(wait);
+            }
+            Workload.Operation operation = workload.pick(random);
+            HttpRequest request = operation.request().apply(random);
+            EndpointStats endpoint = scheduled >= measureFrom
+                    ? stats.computeIfAbsent(operation.endpoint(), key -> new EndpointStats())
+                    : null;
+            if (!inFlight.tryAcquire()) {
+                if (endpoint != null) {
+                    endpoint.notSent();
+                }
+                continue;
+            }
+            client.sendAsync(request, HttpResponse.BodyHandlers.discarding()).whenComplete((response, error) -> {
+                inFlight.release();
+                if (endpoint != null) {
+                    endpoint.record(System.nanoTime() - scheduled,
+                            response != null ? response.statusCode() : EndpointStats.NO_RESPONSE);
+                }
+            });
+        }
+    }
+
+    private LoadTestReport.Settings settings(String database) {
+        return new LoadTestReport.Settings(database, config.catalogSize(), config.users(), config.readRate(),
+                config.writeRate(), config.loginRate(), config.warmUp().toMillis() / 1000.0,
+                config.duration().toMillis() / 1000.0, config.seed(), Runtime.version().toString(),
+                Runtime.getRuntime().availableProcessors());
+    }
+}
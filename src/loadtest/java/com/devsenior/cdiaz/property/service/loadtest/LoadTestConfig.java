@@ -0,0 +1,68 @@
+package com.devsenior.cdiaz.property.service.loadtest;
+
+import org.springframework.boot.convert.DurationStyle;
+
+import java.nio.file.Path;
+import java.time.Duration;
+
+/**
+ * Parámetros de una prueba de carga, leídos de las propiedades de sistema {@code load-test.*}
+ * que pasa el perfil de Maven {@code load-test}.
+ *
+ * @param databaseUrl URL JDBC de una base de datos local dedicada, o {@code null} para un PostgreSQL embebido
+ * @param databaseUsername usuario de la base de datos local
+ * @param databasePassword contraseña de la base de datos local
+ * @param catalogSize propiedades que se siembran antes de la prueba
+ * @param users usuarios que se registran para la carga de login
+ * @param readRate lecturas por segundo
+ * @param writeRate escrituras por segundo
+ * @param loginRate logins por segundo
+ * @param warmUp duración del calentamiento, que no entra en el informe
+ * @param duration duración de la medición
+ * @param seed semilla de los datos sembrados y de la secuencia de peticiones
+ * @param result archivo JSON del informe
+ * @param baseline informe anterior con el que comparar, o {@code null}
+ */
+record LoadTestConfig(
+        String databaseUrl,
+        String databaseUsername,
+        String databasePassword,
+        int catalogSize,
+        int users,
+        double readRate,
+        double writeRate,
+        double loginRate,
+        Duration warmUp,
+        Duration duration,
+        long seed,
+        Path result,
+        Path baseline) {
+
+    static LoadTestConfig fromSystemProperties() {
+        return new LoadTestConfig(
+                optional("load-test.database-url"),
+                property("load-test.database-username", "postgres"),
+                property("load-test.database-password", "postgres"),
+                Integer.parseInt(property("load-test.catalog-size", "10000")),
+                Integer.parseInt(property("load-test.users", "50")),
+                Double.parseDouble(property("load-test.read-rate", "200")),
+                Double.parseDouble(property("load-test.write-rate", "20")),
+                Double.parseDouble(property("load-test.login-rate", "2")),
+                DurationStyle.detectAndParse(property("load-test.warm-up", "15s")),
+                DurationStyle.detectAndParse(property("load-test.duration", "60s")),
+                Long.parseLong(property("load-test.seed", "42")),
+                Path.of(property("load-test.result", "target/load-test-result.json")),
+                optional("load-test.baseline") == null ? null : Path.of(optional("load-test.baseline")));
+    }
+
+    private static String property(String name, String defaultValue) {
+        String value = optional(name);
+        return value == null ? defaultValue : value;
+    }
+
+    // Maven pasa las propiedades vacías como cadena vacía
+    private static String optional(String name) {
+        String value = System.getProperty(name);
+        return value == null || value.isBlank() ? null : value.trim();
+    }
+}
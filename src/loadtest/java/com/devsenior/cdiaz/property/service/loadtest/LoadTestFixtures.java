@@ -0,0 +1,126 @@
+package com.devsenior.cdiaz.property.service.loadtest;
+
+import com.devsenior.cdiaz.property.service.model.dto.CreatePropertyDto;
+import com.devsenior.cdiaz.property.service.model.dto.UserDto;
+
+import java.net.URI;
+import java.net.URLEncoder;
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+import java.util.Locale;
+import java.util.SplittableRandom;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
+
+/**
+ * Catálogo, usuarios y mezcla de peticiones de la prueba de carga, todos deterministas.
+ *
+ * <p>Las propiedades se siembran sin imagen para que el pipeline de miniaturas no descargue
+ * nada durante la prueba.</p>
+ */
+final class LoadTestFixtures {
+
+    static final String[] CITIES = {
+        "Ciudad de México", "Guadalajara", "Monterrey", "Puebla", "Querétaro",
+        "Mérida", "Tijuana", "León", "Cancún", "Oaxaca",
+        "Madrid", "Barcelona", "Valencia", "Sevilla", "Bilbao",
+        "Bogotá", "Medellín", "Lima", "Santiago", "Buenos Aires"
+    };
+
+    // Palabras presentes en direcciones y descripciones, para la búsqueda de texto
+    private static final String[] TERMS = {"terraza", "luminosa", "centro", "escuelas", "jardín", "Madrid"};
+
+    private static final String DESCRIPTION = "Casa amplia y luminosa con terraza, cocina integral, "
+            + "estacionamiento para dos autos y áreas verdes. Cerca de escuelas, transporte y centros comerciales.";
+
+    static final String PASSWORD = "carga-secreta";
+
+    private static final int BATCH_IDS = 10;
+
+    private LoadTestFixtures() {
+    }
+
+    static CreatePropertyDto property(SplittableRandom random) {
+        return new CreatePropertyDto(
+                "Calle " + random.nextInt(1, 500) + ", Colonia Centro",
+                CITIES[random.nextInt(CITIES.length)],
+                500_000 + random.nextInt(0, 9_500_000) * 1.0,
+                random.nextInt(1, 6),
+                random.nextInt(1, 4),
+                null,
+                DESCRIPTION,
+                // Puntos repartidos en un área de ~2° alrededor de la Ciudad de México
+                19.43 + random.nextDouble(-1.0, 1.0),
+                -99.13 + random.nextDouble(-1.0, 1.0));
+    }
+
+    static UserDto user(int index) {
+        return new UserDto(null, "Usuario Carga " + index, email(index), PASSWORD);
+    }
+
+    static String email(int index) {
+        return "carga" + index + "@example.com";
+    }
+
+    /**
+     * Cargas de lectura, escritura y login sobre el catálogo sembrado.
+     *
+     * @param ids IDs de las propiedades sembradas; las lecturas y modificaciones eligen entre ellos
+     */
+    static List<Workload> workloads(URI base, LoadTestConfig config, List<Long> ids) {
+        Workload read = new Workload("read", config.readRate(), List.of(
+                new Workload.Operation("GET /api/properties/{id}", 40,
+                        random -> Workload.get(base, "/api/properties/" + anyId(random, ids))),
+                new Workload.Operation("GET /api/properties", 10,
+                        random -> Workload.get(base, "/api/properties?size=20&fields=city,price,imageUrl")),
+                new Workload.Operation("GET /api/properties/city/{city}", 10,
+                        random -> Workload.get(base, "/api/properties/city/"
+                                + encode(anyCity(random)).replace("+", "%20"))),
+                new Workload.Operation("GET /api/properties/search", 15,
+                        random -> Workload.get(base, "/api/properties/search?city=" + encode(anyCity(random))
+                                + "&minPrice=" + random.nextInt(1, 5) * 1_000_000
+                                + "&minBedrooms=" + random.nextInt(1, 4) + "&sort=price,desc")),
+                new Workload.Operation("GET /api/properties/search/text", 10,
+                        random -> Workload.get(base, "/api/properties/search/text?q="
+                                + encode(TERMS[random.nextInt(TERMS.length)]))),
+                new Workload.Operation("GET /api/properties/near", 10,
+                        random -> Workload.get(base, String.format(Locale.ROOT,
+                                "/api/properties/near?lat=%.4f&lon=%.4f&radiusKm=5&limit=20",
+                                19.43 + random.nextDouble(-1.0, 1.0), -99.13 + random.nextDouble(-1.0, 1.0)))),
+                new Workload.Operation("GET /api/properties/batch", 5,
+                        random -> Workload.get(base, "/api/properties/batch?ids=" + IntStream.range(0, BATCH_IDS)
+                                .mapToObj(i -> String.valueOf(anyId(random, ids)))
+                                .collect(Collectors.joining(","))))));
+        Workload write = new Workload("write", config.writeRate(), List.of(
+                new Workload.Operation("POST /api/properties", 1,
+                        random -> Workload.send(base, "POST", "/api/properties", json(property(random)))),
+                new Workload.Operation("PATCH /api/properties/{id}", 4,
+                        random -> Workload.send(base, "PATCH", "/api/properties/" + anyId(random, ids),
+                                "{\"price\":" + (500_000 + random.nextInt(0, 9_500_000)) + "}"))));
+        Workload login = new Workload("login", config.loginRate(), List.of(
+                new Workload.Operation("POST /api/auth/login", 1,
+                        random -> Workload.send(base, "POST", "/api/auth/login",
+                                "{\"email\":\"" + email(random.nextInt(config.users())) + "\",\"password\":\""
+                                        + PASSWORD + "\"}"))));
+        return List.of(read, write, login);
+    }
+
+    private static long anyId(SplittableRandom random, List<Long> ids) {
+        return ids.get(random.nextInt(ids.size()));
+    }
+
+    private static String anyCity(SplittableRandom random) {
+        return CITIES[random.nextInt(CITIES.length)];
+    }
+
+    private static String encode(String value) {
+        return URLEncoder.encode(value, StandardCharsets.UTF_8);
+    }
+
+    private static String json(CreatePropertyDto dto) {
+        return String.format(Locale.ROOT, "{\"address\":\"%s\",\"city\":\"%s\",\"price\":%.1f,\"bedrooms\":%d,"
+                        + "\"bathrooms\":%d,\"description\":\"%s\",\"latitude\":%.6f,\"longitude\":%.6f}",
+                dto.getAddress(), dto.getCity(), dto.getPrice(), dto.getBedrooms(), dto.getBathrooms(),
+                dto.getDescription(), dto.getLatitude(), dto.getLongitude());
+    }
+}
@@ -0,0 +1,188 @@
+package com.devsenior.cdiaz.property.service.loadtest;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import org.HdrHistogram.Histogram;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+/**
+ * Informe de una prueba de carga: throughput, percentiles de latencia y tasa de error por
+ * endpoint y en total.
+ *
+ * <p>Se guarda como JSON para compararlo con el de otra ejecución (por ejemplo, la de la rama
+ * base con la misma semilla y los mismos ritmos).</p>
+ *
+ * @param startedAt inicio de la medición
+ * @param settings parámetros de la ejecución
+ * @param endpoints resultados por endpoint, en orden alfabético
+ * @param total resultados de todas las peticiones
+ */
+record LoadTestReport(
+        String startedAt,
+        Settings settings,
+        List<EndpointResult> endpoints,
+        EndpointResult total) {
+
+    private static final ObjectMapper MAPPER = new ObjectMapper().enable(SerializationFeature.INDENT_OUTPUT);
+
+    /**
+     * Parámetros y entorno de la ejecución; dos informes solo son comparables si coinciden.
+     */
+    record Settings(
+            String database,
+            int catalogSize,
+            int users,
+            double readRate,
+            double writeRate,
+            double loginRate,
+            double warmUpSeconds,
+            double durationSeconds,
+            long seed,
+            String javaVersion,
+            int processors) {
+    }
+
+    /**
+     * Resultados de un endpoint.
+     *
+     * @param endpoint método y ruta con variables
+     * @param requests peticiones programadas durante la medición
+     * @param errors peticiones sin respuesta 2xx (incluidas las no enviadas o sin respuesta)
+     * @param errorRate errores / peticiones
+     * @param throughput respuestas por segundo
+     * @param latencyMs latencia en milisegundos desde el instante programado
+     * @param statuses peticiones por código de respuesta
+     */
+    record EndpointResult(
+            String endpoint,
+            long requests,
+            long errors,
+            double errorRate,
+            double throughput,
+            Latency latencyMs,
+            Map<String, Long> statuses) {
+    }
+
+    record Latency(double mean, double p50, double p90, double p99, double p999, double max) {
+    }
+
+    static LoadTestReport of(Instant startedAt, Settings settings, Map<String, EndpointStats> stats,
+                             Duration measured) {
+        List<EndpointResult> endpoints = new ArrayList<>();
+        Histogram all = new Histogram(3);
+        Map<Integer, Long> allStatuses = new LinkedHashMap<>();
+        stats.entrySet().stream()
+                .sorted(Map.Entry.comparingByKey())
+                .forEach(entry -> {
+                    endpoints.add(result(entry.getKey(), entry.getValue().latencies(),
+                            entry.getValue().statuses(), measured));
+                    all.add(entry.getValue().latencies());
+                    entry.getValue().statuses().forEach((status, count) -> allStatuses.merge(status, count, Long::sum));
+                });
+        return new LoadTestReport(startedAt.toString(), settings, endpoints,
+                result("TOTAL", all, allStatuses, measured));
+    }
+
+    static LoadTestReport read(Path path) throws IOException {
+        return MAPPER.readValue(path.toFile(), LoadTestReport.class);
+    }
+
+    void write(Path path) throws IOException {
+        if (path.getParent() != null) {
+            Files.createDirectories(path.getParent());
+        }
+        MAPPER.writeValue(path.toFile(), this);
+    }
+
+    String table() {
+        StringBuilder out = new StringBuilder(String.format(Locale.ROOT, "%-34s %10s %9s %8s %9s %9s %9s %9s%n",
+                "Endpoint", "Peticiones", "Req/s", "Error %", "p50 ms", "p90 ms", "p99 ms", "máx ms"));
+        for (EndpointResult result : rows()) {
+            out.append(String.format(Locale.ROOT, "%-34s %10d %9.1f %8.2f %9.2f %9.2f %9.2f %9.2f%n",
+                    result.endpoint(), result.requests(), result.throughput(), result.errorRate() * 100,
+                    result.latencyMs().p50(), result.latencyMs().p90(), result.latencyMs().p99(),
+                    result.latencyMs().max()));
+        }
+        return out.toString();
+    }
+
+    // Throughput, p99 y errores frente a otro informe; los endpoints nuevos o desaparecidos se omiten
+    String comparedWith(LoadTestReport baseline) {
+        Map<String, EndpointResult> before = baseline.rows().stream()
+                .collect(Collectors.toMap(EndpointResult::endpoint, Function.identity()));
+        StringBuilder out = new StringBuilder();
+        if (!settings.equals(baseline.settings())) {
+            out.append("Aviso: los parámetros difieren de los de la referencia; los resultados no son comparables\n");
+        }
+        out.append(String.format(Locale.ROOT, "%-34s %19s %23s %17s%n",
+                "Endpoint", "Req/s (ref → act)", "p99 ms (ref → act)", "Error % (ref → act)"));
+        for (EndpointResult result : rows()) {
+            EndpointResult previous = before.get(result.endpoint());
+            if (previous == null) {
+                continue;
+            }
+            out.append(String.format(Locale.ROOT, "%-34s %8.1f → %8.1f %9.2f → %9.2f %+6.1f%% %6.2f → %6.2f%n",
+                    result.endpoint(), previous.throughput(), result.throughput(),
+                    previous.latencyMs().p99(), result.latencyMs().p99(),
+                    change(previous.latencyMs().p99(), result.latencyMs().p99()),
+                    previous.errorRate() * 100, result.errorRate() * 100));
+        }
+        return out.toString();
+    }
+
+    private List<EndpointResult> rows() {
+        List<EndpointResult> rows = new ArrayList<>(endpoints);
+        rows.add(total);
+        return rows;
+    }
+
+    private static double change(double before, double after) {
+        return before == 0 ? 0 : (after - before) * 100 / before;
+    }
+
+    private static EndpointResult result(String endpoint, Histogram latencies, Map<Integer, Long> statuses,
+                                         Duration measured) {
+        long requests = statuses.values().stream().mapToLong(Long::longValue).sum();
+        long ok = statuses.entrySet().stream()
+                .filter(entry -> entry.getKey() >= 200 && entry.getKey() < 300)
+                .mapToLong(Map.Entry::getValue)
+                .sum();
+        long answered = statuses.entrySet().stream()
+                .filter(entry -> entry.getKey() > EndpointStats.NO_RESPONSE)
+                .mapToLong(Map.Entry::getValue)
+                .sum();
+        Map<String, Long> labels = new LinkedHashMap<>();
+        statuses.forEach((status, count) -> labels.put(label(status), count));
+        return new EndpointResult(endpoint, requests, requests - ok,
+                requests == 0 ? 0 : (double) (requests - ok) / requests,
+                answered / (measured.toNanos() / 1e9),
+                new Latency(millis(latencies.getMean()), millis(latencies.getValueAtPercentile(50)),
+                        millis(latencies.getValueAtPercentile(90)), millis(latencies.getValueAtPercentile(99)),
+                        millis(latencies.getValueAtPercentile(99.9)), millis(latencies.getMaxValue())),
+                labels);
+    }
+
+    private static String label(int status) {
+        return switch (status) {
+            case EndpointStats.NO_RESPONSE -> "no-response";
+            case EndpointStats.NOT_SENT -> "not-sent";
+            default -> String.valueOf(status);
+        };
+    }
+
+    private static double millis(double micros) {
+        return Math.round(micros / 10.0) / 100.0;
+    }
+}
@@ -0,0 +1,66 @@
+package com.devsenior.cdiaz.property.service.loadtest;
+
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
+
+import java.net.URI;
+import java.net.http.HttpRequest;
+import java.time.Duration;
+import java.util.List;
+import java.util.SplittableRandom;
+import java.util.function.Function;
+
+/**
+ * Carga a ritmo constante: cada petición elige una operación según su peso.
+ *
+ * <p>Las operaciones y sus parámetros salen de un generador con semilla propio de cada carga,
+ * así que dos ejecuciones con la misma semilla envían exactamente la misma secuencia de
+ * peticiones, con independencia de lo que tarde el servidor en responder.</p>
+ *
+ * @param name nombre de la carga (read, write, login)
+ * @param rate peticiones por segundo
+ * @param operations operaciones posibles con su peso relativo
+ */
+record Workload(String name, double rate, List<Operation> operations) {
+
+    static final Duration REQUEST_TIMEOUT = Duration.ofSeconds(10);
+
+    /**
+     * Una operación de la carga.
+     *
+     * @param endpoint nombre con el que aparece en el informe (método y ruta con variables)
+     * @param weight peso relativo dentro de la carga
+     * @param request construye la petición a partir del generador de la carga
+     */
+    record Operation(String endpoint, int weight, Function<SplittableRandom, HttpRequest> request) {
+    }
+
+    Operation pick(SplittableRandom random) {
+        int total = operations.stream().mapToInt(Operation::weight).sum();
+        int target = random.nextInt(total);
+        for (Operation operation : operations) {
+            target -= operation.weight();
+            if (target < 0) {
+                return operation;
+            }
+        }
+        throw new IllegalStateException("Carga sin operaciones: " + name);
+    }
+
+    static HttpRequest get(URI base, String path) {
+        return HttpRequest.newBuilder(base.resolve(path))
+                .header(HttpHeaders.ACCEPT, MediaType.APPLICATION_JSON_VALUE)
+                .timeout(REQUEST_TIMEOUT)
+                .GET()
+                .build();
+    }
+
+    static HttpRequest send(URI base, String method, String path, String json) {
+        return HttpRequest.newBuilder(base.resolve(path))
+                .header(HttpHeaders.ACCEPT, MediaType.APPLICATION_JSON_VALUE)
+                .header(HttpHeaders.CONTENT_TYPE, MediaType.APPLICATION_JSON_VALUE)
+                .timeout(REQUEST_TIMEOUT)
+                .method(method, HttpRequest.BodyPublishers.ofString(json))
+                .build();
+    }
+}
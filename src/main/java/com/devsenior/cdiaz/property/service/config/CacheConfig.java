@@ -0,0 +1,48 @@
+package com.devsenior.cdiaz.property.service.config;
+
+import com.github.benmanes.caffeine.cache.Caffeine;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.cache.CacheManager;
+import org.springframework.cache.annotation.EnableCaching;
+import org.springframework.cache.caffeine.CaffeineCacheManager;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import java.time.Duration;
+import java.util.List;
+
+/**
+ * Caché en memoria para las lecturas de propiedades.
+ *
+ * <p>Cada región tiene su propio límite de tamaño y TTL. Las estadísticas de
+ * aciertos, fallos y desalojos quedan habilitadas para poder exponerlas.</p>
+ */
+@Configuration
+@EnableCaching
+public class CacheConfig {
+
+    public static final String PROPERTIES_BY_ID = "propertiesById";
+    public static final String PROPERTIES_BY_CITY = "propertiesByCity";
+
+    @Bean
+    public CacheManager cacheManager(
+            @Value("${property.cache.by-id.max-size:10000}") long byIdMaxSize,
+            @Value("${property.cache.by-id.ttl:10m}") Duration byIdTtl,
+            @Value("${property.cache.by-city.max-size:1000}") long byCityMaxSize,
+            @Value("${property.cache.by-city.ttl:2m}") Duration byCityTtl) {
+        CaffeineCacheManager cacheManager = new CaffeineCacheManager();
+        // Solo existen las regiones registradas aquí
+        cacheManager.setCacheNames(List.of());
+        cacheManager.registerCustomCache(PROPERTIES_BY_ID, Caffeine.newBuilder()
+                .maximumSize(byIdMaxSize)
+                .expireAfterWrite(byIdTtl)
+                .recordStats()
+                .build());
+        cacheManager.registerCustomCache(PROPERTIES_BY_CITY, Caffeine.newBuilder()
+                .maximumSize(byCityMaxSize)
+                .expireAfterWrite(byCityTtl)
+                .recordStats()
+                .build());
+        return cacheManager;
+    }
+}
@@ -0,0 +1,81 @@
+package com.devsenior.cdiaz.property.service.config;
+
+import com.zaxxer.hikari.HikariDataSource;
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.config.BeanPostProcessor;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.core.env.Environment;
+
+import javax.sql.DataSource;
+import java.sql.SQLException;
+import java.time.Duration;
+
+/**
+ * Activa {@link ConcurrencyLimitedDataSource} sobre el pool Hikari y publica su ocupación
+ * como métricas {@code db.concurrency.*}.
+ *
+ * <p>Está pensado para el modo de hilos virtuales ({@code spring.threads.virtual.enabled=true}),
+ * donde el número de hilos deja de limitar la concurrencia; por defecto se activa junto con él.</p>
+ */
+@Configuration
+@ConditionalOnProperty(name = "property.db.concurrency-guard.enabled", havingValue = "true")
+@Slf4j
+public class DatabaseConcurrencyConfig {
+
+    @Bean
+    public static BeanPostProcessor concurrencyLimitedDataSourcePostProcessor(Environment environment) {
+        Duration acquireTimeout = environment.getProperty(
+                "property.db.concurrency-guard.acquire-timeout", Duration.class, Duration.ofSeconds(2));
+        return new BeanPostProcessor() {
+            @Override
+            public Object postProcessAfterInitialization(Object bean, String beanName) {
+                // El pool puede llegar ya envuelto por otro post-procesador (p. ej. el de métricas)
+                HikariDataSource hikari = bean instanceof DataSource dataSource ? unwrapHikari(dataSource) : null;
+                if (hikari != null) {
+                    int poolSize = hikari.getMaximumPoolSize();
+                    log.info("Limitando el acceso concurrente a base de datos a {} conexiones (espera máx. {})",
+                            poolSize, acquireTimeout);
+                    return new ConcurrencyLimitedDataSource((DataSource) bean, poolSize, acquireTimeout);
+                }
+                return bean;
+            }
+        };
+    }
+
+    @Bean
+    public MeterBinder concurrencyLimitedDataSourceMetrics(DataSource dataSource) {
+        return registry -> {
+            ConcurrencyLimitedDataSource guard;
+            try {
+                guard = dataSource.unwrap(ConcurrencyLimitedDataSource.class);
+            } catch (SQLException ex) {
+                return;
+            }
+            Gauge.builder("db.concurrency.active", guard, ConcurrencyLimitedDataSource::getActive)
+                    .description("Conexiones en uso bajo el guardián de concurrencia")
+                    .register(registry);
+            Gauge.builder("db.concurrency.max", guard, ConcurrencyLimitedDataSource::getMaxConcurrency)
+                    .description("Conexiones simultáneas permitidas por el guardián")
+                    .register(registry);
+            Gauge.builder("db.concurrency.waiting", guard, ConcurrencyLimitedDataSource::getWaiting)
+                    .description("Hilos esperando turno para obtener conexión")
+                    .register(registry);
+            FunctionCounter.builder("db.concurrency.rejected", guard, ConcurrencyLimitedDataSource::getRejected)
+                    .description("Peticiones rechazadas por superar la espera máxima")
+                    .register(registry);
+        };
+    }
+
+    private static HikariDataSource unwrapHikari(DataSource dataSource) {
+        try {
+            return dataSource.isWrapperFor(HikariDataSource.class) ? dataSource.unwrap(HikariDataSource.class) : null;
+        } catch (SQLException ex) {
+            return null;
+        }
+    }
+}
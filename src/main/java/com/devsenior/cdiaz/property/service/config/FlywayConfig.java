@@ -0,0 +1,28 @@
+package com.devsenior.cdiaz.property.service.config;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.flyway.FlywayMigrationStrategy;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+/**
+ * Migraciones del esquema con Flyway al arrancar.
+ *
+ * <p>Con AOT la condición {@code spring.flyway.enabled} se evalúa en el build y el bean de
+ * migración queda siempre registrado. La estrategia vuelve a leer la propiedad al arrancar, para
+ * que la ejecución de entrenamiento del archivo CDS ({@code -Pfast-start}), que arranca sin base
+ * de datos, pueda omitir la migración.</p>
+ */
+@Configuration
+public class FlywayConfig {
+
+    @Bean
+    public FlywayMigrationStrategy flywayMigrationStrategy(
+            @Value("${spring.flyway.enabled:true}") boolean enabled) {
+        return flyway -> {
+            if (enabled) {
+                flyway.migrate();
+            }
+        };
+    }
+}
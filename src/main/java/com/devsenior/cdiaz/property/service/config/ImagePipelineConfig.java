@@ -0,0 +1,91 @@
+package com.devsenior.cdiaz.property.service.config;
+
+import com.devsenior.cdiaz.property.service.repository.PropertyRepository;
+import com.devsenior.cdiaz.property.service.service.HttpImageSource;
+import com.devsenior.cdiaz.property.service.service.ImageSource;
+import com.devsenior.cdiaz.property.service.service.ImageThumbnailer;
+import com.devsenior.cdiaz.property.service.service.ImageVariantStore;
+import com.devsenior.cdiaz.property.service.service.LocalFileImageSource;
+import com.devsenior.cdiaz.property.service.service.PropertyCacheInvalidator;
+import com.devsenior.cdiaz.property.service.service.PropertyEventRecorder;
+import com.devsenior.cdiaz.property.service.service.PropertyImagePipeline;
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.transaction.support.TransactionTemplate;
+import org.springframework.util.unit.DataSize;
+
+import java.nio.file.Path;
+import java.time.Duration;
+
+/**
+ * Pipeline de miniaturas: origen de las imágenes (http | local), almacenamiento en disco y
+ * tamaño del pool de trabajo.
+ */
+@Configuration
+public class ImagePipelineConfig {
+
+    @Bean
+    @ConditionalOnProperty(name = "property.images.source", havingValue = "http", matchIfMissing = true)
+    public ImageSource httpImageSource(
+            @Value("${property.images.http.timeout:10s}") Duration timeout,
+            @Value("${property.images.http.allow-private-hosts:false}") boolean allowPrivateHosts) {
+        return new HttpImageSource(timeout, allowPrivateHosts);
+    }
+
+    @Bean
+    @ConditionalOnProperty(name = "property.images.source", havingValue = "local")
+    public ImageSource localFileImageSource(
+            @Value("${property.images.local.base-dir:./data/image-sources}") Path baseDirectory) {
+        return new LocalFileImageSource(baseDirectory);
+    }
+
+    @Bean
+    public ImageVariantStore imageVariantStore(
+            @Value("${property.images.storage-dir:./data/images}") Path directory) {
+        return new ImageVariantStore(directory);
+    }
+
+    @Bean(destroyMethod = "close")
+    public PropertyImagePipeline propertyImagePipeline(
+            ImageSource imageSource,
+            ImageVariantStore imageVariantStore,
+            PropertyRepository propertyRepository,
+            PropertyCacheInvalidator cacheInvalidator,
+            PropertyEventRecorder eventRecorder,
+            TransactionTemplate transactionTemplate,
+            @Value("${property.images.threads:2}") int threads,
+            @Value("${property.images.queue-capacity:1000}") int queueCapacity,
+            @Value("${property.images.max-source-size:10MB}") DataSize maxSourceSize,
+            @Value("${property.images.max-pixels:40000000}") long maxPixels,
+            @Value("${property.images.sweep-batch-size:500}") int sweepBatchSize) {
+        return new PropertyImagePipeline(imageSource, imageVariantStore, new ImageThumbnailer(maxPixels),
+                propertyRepository, cacheInvalidator, eventRecorder, transactionTemplate, threads, queueCapacity,
+                Math.toIntExact(maxSourceSize.toBytes()), sweepBatchSize);
+    }
+
+    @Bean
+    public MeterBinder propertyImagePipelineMetrics(PropertyImagePipeline pipeline) {
+        return registry -> {
+            Gauge.builder("property.images.queue", pipeline, PropertyImagePipeline::getQueueSize)
+                    .description("Imágenes esperando a generar miniaturas")
+                    .register(registry);
+            Gauge.builder("property.images.active", pipeline, PropertyImagePipeline::getActive)
+                    .description("Imágenes procesándose")
+                    .register(registry);
+            FunctionCounter.builder("property.images.processed", pipeline, PropertyImagePipeline::getProcessed)
+                    .description("Imágenes con miniaturas generadas")
+                    .register(registry);
+            FunctionCounter.builder("property.images.failed", pipeline, PropertyImagePipeline::getFailures)
+                    .description("Imágenes que no se pudieron procesar")
+                    .register(registry);
+            FunctionCounter.builder("property.images.dropped", pipeline, PropertyImagePipeline::getDropped)
+                    .description("Imágenes descartadas por cola llena (las recupera el barrido)")
+                    .register(registry);
+        };
+    }
+}
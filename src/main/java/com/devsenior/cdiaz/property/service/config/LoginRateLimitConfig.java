@@ -0,0 +1,59 @@
+package com.devsenior.cdiaz.property.service.config;
+
+import com.devsenior.cdiaz.property.service.security.LoginRateLimiter;
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import java.time.Duration;
+
+/**
+ * Límites de intentos de login por email y por IP de origen, con sus contadores publicados como
+ * métricas {@code auth.login.rate-limit.*} en el puerto de gestión.
+ */
+@Configuration
+public class LoginRateLimitConfig {
+
+    @Bean
+    public LoginRateLimiter loginRateLimiter(
+            @Value("${property.auth.rate-limit.email.capacity:5}") int emailCapacity,
+            @Value("${property.auth.rate-limit.email.refill-period:5m}") Duration emailRefill,
+            @Value("${property.auth.rate-limit.ip.capacity:20}") int ipCapacity,
+            @Value("${property.auth.rate-limit.ip.refill-period:1m}") Duration ipRefill,
+            @Value("${property.auth.rate-limit.max-keys:100000}") long maxKeys,
+            @Value("${property.auth.rate-limit.idle-expiry:15m}") Duration idleExpiry) {
+        return new LoginRateLimiter(
+                new LoginRateLimiter.Limit(emailCapacity, emailRefill),
+                new LoginRateLimiter.Limit(ipCapacity, ipRefill),
+                maxKeys,
+                idleExpiry);
+    }
+
+    @Bean
+    public MeterBinder loginRateLimiterMetrics(LoginRateLimiter limiter) {
+        return registry -> {
+            FunctionCounter.builder("auth.login.rate-limit.allowed", limiter, LoginRateLimiter::getAllowed)
+                    .description("Intentos de login admitidos por el limitador")
+                    .register(registry);
+            FunctionCounter.builder("auth.login.rate-limit.rejected", limiter, LoginRateLimiter::getRejectedByEmail)
+                    .description("Intentos de login rechazados por agotar el cupo del email")
+                    .tag("key", "email")
+                    .register(registry);
+            FunctionCounter.builder("auth.login.rate-limit.rejected", limiter, LoginRateLimiter::getRejectedByIp)
+                    .description("Intentos de login rechazados por agotar el cupo de la IP")
+                    .tag("key", "ip")
+                    .register(registry);
+            Gauge.builder("auth.login.rate-limit.tracked", limiter, LoginRateLimiter::getTrackedEmails)
+                    .description("Emails con bucket en seguimiento")
+                    .tag("key", "email")
+                    .register(registry);
+            Gauge.builder("auth.login.rate-limit.tracked", limiter, LoginRateLimiter::getTrackedIps)
+                    .description("IPs con bucket en seguimiento")
+                    .tag("key", "ip")
+                    .register(registry);
+        };
+    }
+}
@@ -0,0 +1,61 @@
+package com.devsenior.cdiaz.property.service.config;
+
+import com.devsenior.cdiaz.property.service.security.PasswordHasher;
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.FunctionTimer;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.TimeGauge;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import java.time.Duration;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Hashing de contraseñas: coste de bcrypt, tamaño del ejecutor dedicado y sus métricas
+ * {@code auth.hashing.*}.
+ */
+@Configuration
+public class PasswordHashingConfig {
+
+    @Bean(destroyMethod = "close")
+    public PasswordHasher passwordHasher(
+            @Value("${property.auth.hashing.bcrypt-strength:10}") int strength,
+            @Value("${property.auth.hashing.threads:0}") int threads,
+            @Value("${property.auth.hashing.queue-capacity:64}") int queueCapacity,
+            @Value("${property.auth.hashing.timeout:3s}") Duration timeout) {
+        // 0 = un hilo por CPU: bcrypt no se beneficia de más hilos que núcleos
+        int poolSize = threads > 0 ? threads : Runtime.getRuntime().availableProcessors();
+        return new PasswordHasher(strength, poolSize, queueCapacity, timeout);
+    }
+
+    @Bean
+    public MeterBinder passwordHasherMetrics(PasswordHasher hasher) {
+        return registry -> {
+            Gauge.builder("auth.hashing.threads", hasher, PasswordHasher::getThreads)
+                    .description("Hilos del ejecutor de hashing")
+                    .register(registry);
+            Gauge.builder("auth.hashing.active", hasher, PasswordHasher::getActive)
+                    .description("Hashes calculándose")
+                    .register(registry);
+            Gauge.builder("auth.hashing.queued", hasher, PasswordHasher::getQueued)
+                    .description("Solicitudes esperando un hilo de hashing")
+                    .register(registry);
+            Gauge.builder("auth.hashing.queue.capacity", hasher, PasswordHasher::getQueueCapacity)
+                    .description("Solicitudes en espera admitidas antes de responder 429")
+                    .register(registry);
+            FunctionCounter.builder("auth.hashing.rejected", hasher, PasswordHasher::getRejected)
+                    .description("Solicitudes rechazadas por cola llena o espera agotada")
+                    .register(registry);
+            FunctionTimer.builder("auth.hashing.duration", hasher, PasswordHasher::getCompleted,
+                            PasswordHasher::getTotalNanos, TimeUnit.NANOSECONDS)
+                    .description("Hashes calculados o verificados y tiempo total empleado")
+                    .register(registry);
+            TimeGauge.builder("auth.hashing.duration.max", hasher, TimeUnit.NANOSECONDS, PasswordHasher::getMaxNanos)
+                    .description("Hash más lento desde el arranque")
+                    .register(registry);
+        };
+    }
+}
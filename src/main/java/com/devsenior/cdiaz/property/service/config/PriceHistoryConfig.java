@@ -0,0 +1,43 @@
+package com.devsenior.cdiaz.property.service.config;
+
+import com.devsenior.cdiaz.property.service.repository.PropertyPriceHistoryRepository;
+import com.devsenior.cdiaz.property.service.service.PropertyPriceHistoryRecorder;
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import java.time.Clock;
+
+/**
+ * Histórico de precios: tamaño de la cola de escritura diferida y de los lotes de inserción.
+ */
+@Configuration
+public class PriceHistoryConfig {
+
+    @Bean(destroyMethod = "close")
+    public PropertyPriceHistoryRecorder propertyPriceHistoryRecorder(
+            PropertyPriceHistoryRepository repository,
+            Clock clock,
+            @Value("${property.price-history.queue-capacity:100000}") int queueCapacity,
+            @Value("${property.price-history.batch-size:1000}") int batchSize) {
+        return new PropertyPriceHistoryRecorder(repository, clock, queueCapacity, batchSize);
+    }
+
+    @Bean
+    public MeterBinder propertyPriceHistoryMetrics(PropertyPriceHistoryRecorder recorder) {
+        return registry -> {
+            Gauge.builder("property.price-history.queue", recorder, PropertyPriceHistoryRecorder::getQueueSize)
+                    .description("Cambios de precio pendientes de guardar")
+                    .register(registry);
+            FunctionCounter.builder("property.price-history.written", recorder, PropertyPriceHistoryRecorder::getWritten)
+                    .description("Cambios de precio guardados en el histórico")
+                    .register(registry);
+            FunctionCounter.builder("property.price-history.dropped", recorder, PropertyPriceHistoryRecorder::getDropped)
+                    .description("Cambios de precio descartados por cola llena")
+                    .register(registry);
+        };
+    }
+}
@@ -0,0 +1,46 @@
+package com.devsenior.cdiaz.property.service.config;
+
+import com.devsenior.cdiaz.property.service.mapper.PropertyMapper;
+import com.devsenior.cdiaz.property.service.repository.PropertyEventRepository;
+import com.devsenior.cdiaz.property.service.service.PropertyEventBroadcaster;
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import java.time.Duration;
+
+/**
+ * Flujo de eventos de propiedades: tamaño del buffer por suscriptor, límite de suscriptores
+ * y tiempos del flujo SSE.
+ */
+@Configuration
+public class PropertyEventsConfig {
+
+    @Bean
+    public PropertyEventBroadcaster propertyEventBroadcaster(
+            PropertyEventRepository eventRepository,
+            PropertyMapper propertyMapper,
+            @Value("${property.events.buffer-size:256}") int bufferSize,
+            @Value("${property.events.max-subscribers:200}") int maxSubscribers,
+            @Value("${property.events.replay-batch-size:200}") int replayBatchSize,
+            @Value("${property.events.heartbeat:15s}") Duration heartbeat,
+            @Value("${property.events.emitter-timeout:30m}") Duration emitterTimeout) {
+        return new PropertyEventBroadcaster(eventRepository, propertyMapper, bufferSize, maxSubscribers,
+                replayBatchSize, heartbeat, emitterTimeout);
+    }
+
+    @Bean
+    public MeterBinder propertyEventMetrics(PropertyEventBroadcaster broadcaster) {
+        return registry -> {
+            Gauge.builder("property.events.subscribers", broadcaster, PropertyEventBroadcaster::getSubscribers)
+                    .description("Suscriptores conectados al flujo de eventos")
+                    .register(registry);
+            FunctionCounter.builder("property.events.overflows", broadcaster, PropertyEventBroadcaster::getOverflows)
+                    .description("Desbordes del buffer de un suscriptor (pasa a leer de la base de datos)")
+                    .register(registry);
+        };
+    }
+}
@@ -0,0 +1,54 @@
+package com.devsenior.cdiaz.property.service.config;
+
+import com.devsenior.cdiaz.property.service.repository.PropertyRepository;
+import com.devsenior.cdiaz.property.service.service.PropertyGeoIndex;
+import com.devsenior.cdiaz.property.service.service.PropertyIndexer;
+import com.devsenior.cdiaz.property.service.service.PropertyStatistics;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.ApplicationArguments;
+import org.springframework.boot.ApplicationRunner;
+import org.springframework.core.Ordered;
+import org.springframework.core.annotation.Order;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Construye los índices en memoria (geográfico y de texto) y las estadísticas de mercado al
+ * arrancar, en una sola pasada con cursor sobre el catálogo. A partir de ahí se mantienen con
+ * cada alta, modificación y borrado a través de {@link PropertyIndexer}.
+ *
+ * <p>El relay de eventos ya está en marcha durante la carga: si una fila llega más antigua que
+ * un evento ya aplicado, el índice conserva la versión del evento.</p>
+ */
+@Component
+@Order(Ordered.HIGHEST_PRECEDENCE)
+@RequiredArgsConstructor
+@Slf4j
+public class PropertyIndexLoader implements ApplicationRunner {
+
+    private final PropertyRepository propertyRepository;
+    private final PropertyIndexer indexer;
+    private final PropertyGeoIndex geoIndex;
+    private final PropertyStatistics statistics;
+
+    @Override
+    @Transactional(readOnly = true)
+    public void run(ApplicationArguments args) {
+        long start = System.nanoTime();
+        AtomicInteger loaded = new AtomicInteger();
+        statistics.rebuild(sink -> {
+            try (var rows = propertyRepository.streamAllAsDto()) {
+                rows.forEach(row -> {
+                    indexer.load(row);
+                    sink.add(row.getId(), row.getCity(), row.getPrice(), row.getBedrooms());
+                    loaded.incrementAndGet();
+                });
+            }
+        });
+        log.info("Índices de búsqueda cargados: {} propiedades ({} geolocalizadas) en {} ms",
+                loaded.get(), geoIndex.size(), (System.nanoTime() - start) / 1_000_000);
+    }
+}
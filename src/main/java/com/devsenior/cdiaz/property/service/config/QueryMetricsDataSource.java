@@ -0,0 +1,162 @@
+package com.devsenior.cdiaz.property.service.config;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.jdbc.datasource.DelegatingDataSource;
+
+import javax.sql.DataSource;
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
+import java.lang.reflect.Proxy;
+import java.sql.CallableStatement;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.time.Duration;
+import java.util.Locale;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * {@link DataSource} que mide cada ejecución de sentencia JDBC.
+ *
+ * <p>Registra el tiempo en el timer {@code db.query} (etiquetado por operación: select,
+ * insert, update, delete u other), suma la consulta al contador de la petición en curso
+ * ({@link RequestQueryCounter}) y escribe en el log de consultas lentas las que superan el
+ * umbral, con su duración y el SQL sin parámetros. Al medir en JDBC cubre por igual a
+ * Hibernate, los repositorios y {@code JdbcTemplate}.</p>
+ *
+ * <p>El registro de métricas se resuelve en la primera consulta: el pool se crea antes que
+ * él y no debe forzar su inicialización.</p>
+ */
+@Slf4j
+public class QueryMetricsDataSource extends DelegatingDataSource {
+
+    private static final int MAX_LOGGED_SQL_LENGTH = 2000;
+
+    private final ObjectProvider<MeterRegistry> meterRegistry;
+    private final long slowQueryThresholdNanos;
+    private final Map<String, Timer> timers = new ConcurrentHashMap<>();
+
+    public QueryMetricsDataSource(DataSource target, ObjectProvider<MeterRegistry> meterRegistry,
+                                  Duration slowQueryThreshold) {
+        super(target);
+        this.meterRegistry = meterRegistry;
+        this.slowQueryThresholdNanos = slowQueryThreshold.toNanos();
+    }
+
+    @Override
+    public Connection getConnection() throws SQLException {
+        return instrument(super.getConnection());
+    }
+
+    @Override
+    public Connection getConnection(String username, String password) throws SQLException {
+        return instrument(super.getConnection(username, password));
+    }
+
+    // Las sentencias creadas por la conexión devuelven proxies que miden sus execute*
+    private Connection instrument(Connection connection) {
+        return (Connection) Proxy.newProxyInstance(
+                Connection.class.getClassLoader(),
+                new Class<?>[] {Connection.class},
+                (proxy, method, args) -> {
+                    if (isWrapperMethod(method) && ((Class<?>) args[0]).isInstance(proxy)) {
+                        return "unwrap".equals(method.getName()) ? proxy : true;
+                    }
+                    Object result = invoke(connection, method, args);
+                    return switch (method.getName()) {
+                        case "createStatement" -> instrument((Statement) result, Statement.class, null);
+                        case "prepareStatement" -> instrument((Statement) result, PreparedStatement.class,
+                                (String) args[0]);
+                        case "prepareCall" -> instrument((Statement) result, CallableStatement.class,
+                                (String) args[0]);
+                        default -> result;
+                    };
+                });
+    }
+
+    private Statement instrument(Statement statement, Class<? extends Statement> type, String preparedSql) {
+        return (Statement) Proxy.newProxyInstance(
+                Statement.class.getClassLoader(),
+                new Class<?>[] {type},
+                (proxy, method, args) -> {
+                    if (isWrapperMethod(method) && ((Class<?>) args[0]).isInstance(proxy)) {
+                        return "unwrap".equals(method.getName()) ? proxy : true;
+                    }
+                    if (!method.getName().startsWith("execute")) {
+                        return invoke(statement, method, args);
+                    }
+                    // Statement.execute*(sql) recibe el SQL; las sentencias preparadas lo traen de antes
+                    String sql = args != null && args.length > 0 && args[0] instanceof String text
+                            ? text : preparedSql;
+                    long start = System.nanoTime();
+                    try {
+                        return invoke(statement, method, args);
+                    } finally {
+                        record(sql, System.nanoTime() - start);
+                    }
+                });
+    }
+
+    private void record(String sql, long elapsedNanos) {
+        String operation = operation(sql);
+        RequestQueryCounter.increment();
+        MeterRegistry registry = meterRegistry.getIfAvailable();
+        if (registry != null) {
+            timers.computeIfAbsent(operation, key -> Timer.builder("db.query")
+                            .description("Ejecuciones de sentencias JDBC")
+                            .tag("operation", key)
+                            .register(registry))
+                    .record(elapsedNanos, TimeUnit.NANOSECONDS);
+        }
+        if (elapsedNanos >= slowQueryThresholdNanos) {
+            log.warn("slow_query duration_ms={} operation={} sql=\"{}\"",
+                    TimeUnit.NANOSECONDS.toMillis(elapsedNanos), operation, abbreviate(sql));
+        }
+    }
+
+    private static String operation(String sql) {
+        if (sql == null) {
+            return "other";
+        }
+        String trimmed = sql.stripLeading();
+        int end = 0;
+        while (end < trimmed.length() && Character.isLetter(trimmed.charAt(end))) {
+            end++;
+        }
+        return switch (trimmed.substring(0, end).toLowerCase(Locale.ROOT)) {
+            case "select", "with" -> "select";
+            case "insert" -> "insert";
+            case "update" -> "update";
+            case "delete" -> "delete";
+            default -> "other";
+        };
+    }
+
+    // Una sola línea y longitud acotada; los valores van como parámetros y no se registran
+    private static String abbreviate(String sql) {
+        if (sql == null) {
+            return "";
+        }
+        String compact = sql.replaceAll("\\s+", " ").trim().replace('"', '\'');
+        return compact.length() <= MAX_LOGGED_SQL_LENGTH
+                ? compact : compact.substring(0, MAX_LOGGED_SQL_LENGTH) + "...";
+    }
+
+    private static boolean isWrapperMethod(Method method) {
+        return "unwrap".equals(method.getName()) || "isWrapperFor".equals(method.getName());
+    }
+
+    private static Object invoke(Object target, Method method, Object[] args) throws Throwable {
+        try {
+            return method.invoke(target, args);
+        } catch (InvocationTargetException ex) {
+            throw ex.getTargetException();
+        }
+    }
+}
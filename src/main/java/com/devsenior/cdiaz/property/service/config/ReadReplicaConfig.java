@@ -0,0 +1,152 @@
+package com.devsenior.cdiaz.property.service.config;
+
+import com.zaxxer.hikari.HikariDataSource;
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.beans.factory.config.DestructionAwareBeanPostProcessor;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.web.servlet.FilterRegistrationBean;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.core.Ordered;
+import org.springframework.core.env.Environment;
+import org.springframework.scheduling.annotation.Scheduled;
+
+import javax.sql.DataSource;
+import java.sql.SQLException;
+import java.time.Clock;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Réplicas de lectura: envuelve el pool principal en {@link ReplicaRoutingDataSource}, crea un
+ * pool por réplica, comprueba su salud periódicamente y publica el reparto como métricas
+ * {@code db.replicas.*}.
+ *
+ * <p>Las réplicas comparten usuario y contraseña con la primaria salvo que se indiquen otros.
+ * Se desactiva por defecto: sin réplicas todo va a la primaria como hasta ahora.</p>
+ */
+@Configuration
+@ConditionalOnProperty(name = "property.db.replicas.enabled", havingValue = "true")
+@Slf4j
+public class ReadReplicaConfig {
+
+    private final DataSource dataSource;
+
+    public ReadReplicaConfig(DataSource dataSource) {
+        this.dataSource = dataSource;
+    }
+
+    @Bean
+    public static DestructionAwareBeanPostProcessor replicaRoutingDataSourcePostProcessor(Environment environment) {
+        return new DestructionAwareBeanPostProcessor() {
+            @Override
+            public Object postProcessAfterInitialization(Object bean, String beanName) {
+                if (bean instanceof DataSource dataSource && unwrapRouting(dataSource) == null) {
+                    List<HikariDataSource> replicas = replicaPools(environment);
+                    log.info("Enrutando las transacciones de solo lectura a {} réplicas", replicas.size());
+                    return new ReplicaRoutingDataSource(dataSource, replicas, environment.getProperty(
+                            "property.db.replicas.max-lag", Duration.class, Duration.ofSeconds(5)));
+                }
+                return bean;
+            }
+
+            @Override
+            public void postProcessBeforeDestruction(Object bean, String beanName) {
+                ReplicaRoutingDataSource routing = unwrapRouting((DataSource) bean);
+                if (routing != null) {
+                    routing.close();
+                }
+            }
+
+            @Override
+            public boolean requiresDestruction(Object bean) {
+                return bean instanceof DataSource dataSource && unwrapRouting(dataSource) != null;
+            }
+        };
+    }
+
+    @Bean
+    public FilterRegistrationBean<ReadYourWritesFilter> readYourWritesFilter(
+            Clock clock,
+            @Value("${property.db.replicas.read-your-writes-window:5s}") Duration window) {
+        FilterRegistrationBean<ReadYourWritesFilter> registration =
+                new FilterRegistrationBean<>(new ReadYourWritesFilter(clock, window));
+        registration.addUrlPatterns("/api/*");
+        registration.setOrder(Ordered.HIGHEST_PRECEDENCE + 1);
+        return registration;
+    }
+
+    @Scheduled(fixedDelayString = "${property.db.replicas.health-check-interval:5s}")
+    public void checkReplicaHealth() {
+        ReplicaRoutingDataSource routing = unwrapRouting(dataSource);
+        if (routing != null) {
+            routing.checkHealth();
+        }
+    }
+
+    @Bean
+    public MeterBinder replicaRoutingMetrics() {
+        return registry -> {
+            ReplicaRoutingDataSource routing = unwrapRouting(dataSource);
+            if (routing == null) {
+                return;
+            }
+            Gauge.builder("db.replicas.configured", routing, ReplicaRoutingDataSource::getReplicaCount)
+                    .description("Réplicas de lectura configuradas")
+                    .register(registry);
+            Gauge.builder("db.replicas.healthy", routing, ReplicaRoutingDataSource::getHealthyReplicas)
+                    .description("Réplicas de lectura en servicio")
+                    .register(registry);
+            FunctionCounter.builder("db.replicas.reads", routing, ReplicaRoutingDataSource::getReplicaReads)
+                    .description("Conexiones de solo lectura servidas por una réplica")
+                    .tag("target", "replica")
+                    .register(registry);
+            FunctionCounter.builder("db.replicas.reads", routing, ReplicaRoutingDataSource::getPrimaryReads)
+                    .description("Conexiones de solo lectura servidas por la primaria")
+                    .tag("target", "primary")
+                    .register(registry);
+            FunctionCounter.builder("db.replicas.failovers", routing, ReplicaRoutingDataSource::getFailovers)
+                    .description("Lecturas desviadas porque una réplica no respondió")
+                    .register(registry);
+        };
+    }
+
+    // Pools de réplica: arrancan sin conectar para que una réplica caída no impida el arranque
+    private static List<HikariDataSource> replicaPools(Environment environment) {
+        String[] urls = environment.getProperty("property.db.replicas.urls", String[].class, new String[0]);
+        if (urls.length == 0) {
+            throw new IllegalStateException("property.db.replicas.urls es obligatorio con las réplicas activadas");
+        }
+        List<HikariDataSource> pools = new ArrayList<>(urls.length);
+        for (int i = 0; i < urls.length; i++) {
+            HikariDataSource pool = new HikariDataSource();
+            pool.setPoolName("replica-" + (i + 1));
+            pool.setJdbcUrl(urls[i].trim());
+            pool.setUsername(environment.getProperty("property.db.replicas.username",
+                    environment.getProperty("spring.datasource.username")));
+            pool.setPassword(environment.getProperty("property.db.replicas.password",
+                    environment.getProperty("spring.datasource.password")));
+            pool.setMaximumPoolSize(environment.getProperty("property.db.replicas.pool-size", Integer.class, 10));
+            pool.setConnectionTimeout(environment.getProperty(
+                    "property.db.replicas.connection-timeout", Duration.class, Duration.ofSeconds(1)).toMillis());
+            pool.setReadOnly(true);
+            pool.setInitializationFailTimeout(-1);
+            pools.add(pool);
+        }
+        return pools;
+    }
+
+    private static ReplicaRoutingDataSource unwrapRouting(DataSource dataSource) {
+        try {
+            return dataSource.isWrapperFor(ReplicaRoutingDataSource.class)
+                    ? dataSource.unwrap(ReplicaRoutingDataSource.class) : null;
+        } catch (SQLException ex) {
+            return null;
+        }
+    }
+}
@@ -0,0 +1,57 @@
+package com.devsenior.cdiaz.property.service.config;
+
+/**
+ * Estado de enrutado de lecturas de la petición HTTP del hilo actual.
+ *
+ * <p>{@link ReadYourWritesFilter} lo abre y lo cierra; {@link ReplicaRoutingDataSource} lo
+ * consulta para decidir si una lectura puede ir a una réplica y lo avisa cuando la petición
+ * escribe en la primaria; {@code PropertyReadCoalescer} no agrupa las lecturas que deben ir a
+ * la primaria con las demás. Fuera de una petición (tareas programadas, arranque) las lecturas
+ * de solo lectura van siempre a las réplicas.</p>
+ */
+public final class ReadRoutingContext {
+
+    private static final ThreadLocal<State> STATE = new ThreadLocal<>();
+
+    private ReadRoutingContext() {
+    }
+
+    /**
+     * @param primaryOnly el cliente escribió hace poco y debe leer de la primaria
+     * @param onFirstWrite se ejecuta la primera vez que la petición escribe
+     */
+    static void start(boolean primaryOnly, Runnable onFirstWrite) {
+        STATE.set(new State(primaryOnly, onFirstWrite));
+    }
+
+    public static boolean isPrimaryOnly() {
+        State state = STATE.get();
+        return state != null && state.primaryOnly;
+    }
+
+    // Tras escribir, el resto de la petición también lee de la primaria
+    static void wrote() {
+        State state = STATE.get();
+        if (state != null && !state.wrote) {
+            state.wrote = true;
+            state.primaryOnly = true;
+            state.onFirstWrite.run();
+        }
+    }
+
+    static void stop() {
+        STATE.remove();
+    }
+
+    private static final class State {
+
+        private final Runnable onFirstWrite;
+        private boolean primaryOnly;
+        private boolean wrote;
+
+        private State(boolean primaryOnly, Runnable onFirstWrite) {
+            this.primaryOnly = primaryOnly;
+            this.onFirstWrite = onFirstWrite;
+        }
+    }
+}
@@ -0,0 +1,75 @@
+package com.devsenior.cdiaz.property.service.config;
+
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.Cookie;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.ResponseCookie;
+import org.springframework.web.filter.OncePerRequestFilter;
+
+import java.io.IOException;
+import java.time.Clock;
+import java.time.Duration;
+
+/**
+ * Garantiza que un cliente lea sus propias escrituras aunque las réplicas vayan retrasadas.
+ *
+ * <p>Cuando una petición escribe en la primaria se le devuelve una cookie con el instante
+ * hasta el que sus lecturas deben ir también a la primaria (la ventana configurada). Al ser
+ * la cookie quien guarda el estado, funciona igual con varias instancias del servicio.</p>
+ */
+public class ReadYourWritesFilter extends OncePerRequestFilter {
+
+    static final String COOKIE_NAME = "primary-until";
+
+    private final Clock clock;
+    private final Duration window;
+
+    public ReadYourWritesFilter(Clock clock, Duration window) {
+        this.clock = clock;
+        this.window = window;
+    }
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain chain)
+            throws ServletException, IOException {
+        long now = clock.millis();
+        ReadRoutingContext.start(primaryUntil(request) > now, () -> {
+            // La escritura ocurre antes de serializar la respuesta, así que aún admite cabeceras
+            if (!response.isCommitted()) {
+                ResponseCookie cookie = ResponseCookie.from(COOKIE_NAME, Long.toString(now + window.toMillis()))
+                        .path("/api")
+                        .maxAge(window)
+                        .httpOnly(true)
+                        .sameSite("Lax")
+                        .build();
+                response.addHeader(HttpHeaders.SET_COOKIE, cookie.toString());
+            }
+        });
+        try {
+            chain.doFilter(request, response);
+        } finally {
+            ReadRoutingContext.stop();
+        }
+    }
+
+    // Un valor manipulado no puede alargar la ventana más allá de lo configurado
+    private long primaryUntil(HttpServletRequest request) {
+        Cookie[] cookies = request.getCookies();
+        if (cookies == null) {
+            return 0;
+        }
+        for (Cookie cookie : cookies) {
+            if (COOKIE_NAME.equals(cookie.getName())) {
+                try {
+                    return Math.min(Long.parseLong(cookie.getValue()), clock.millis() + window.toMillis());
+                } catch (NumberFormatException ex) {
+                    return 0;
+                }
+            }
+        }
+        return 0;
+    }
+}
@@ -0,0 +1,195 @@
+package com.devsenior.cdiaz.property.service.config;
+
+import com.zaxxer.hikari.HikariDataSource;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.jdbc.datasource.AbstractDataSource;
+import org.springframework.jdbc.datasource.DelegatingDataSource;
+import org.springframework.jdbc.datasource.LazyConnectionDataSourceProxy;
+
+import javax.sql.DataSource;
+import java.sql.Connection;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * {@link DataSource} que envía las transacciones de solo lectura a las réplicas y el resto a
+ * la primaria.
+ *
+ * <p>La conexión real se obtiene en la primera sentencia ({@link LazyConnectionDataSourceProxy}),
+ * cuando el gestor de transacciones ya la ha marcado como de solo lectura. Las réplicas se
+ * reparten en turno rotatorio entre las sanas; una réplica que falla al conectar se descarta
+ * al momento y la comprobación periódica ({@link #checkHealth()}) la recupera cuando vuelve a
+ * responder con un retraso de replicación aceptable. Sin réplicas sanas se lee de la primaria.</p>
+ *
+ * <p>Las réplicas arrancan fuera de servicio: hasta que la primera comprobación confirma que
+ * responden y que su retraso es aceptable, se lee de la primaria. Una réplica muy retrasada o
+ * todavía sin esquema no sirve lecturas durante el arranque.</p>
+ *
+ * <p>Dentro de una petición que acaba de escribir, o de un cliente en su ventana de
+ * lectura de sus escrituras ({@link ReadYourWritesFilter}), todo va a la primaria.</p>
+ */
+@Slf4j
+public class ReplicaRoutingDataSource extends LazyConnectionDataSourceProxy implements AutoCloseable {
+
+    // Retraso de replicación en segundos; 0 si la réplica ya aplicó todo lo recibido o no es réplica.
+    // Tras reiniciar la réplica, la posición recibida vuelve al inicio del segmento y queda por
+    // detrás de la aplicada hasta la siguiente escritura: también cuenta como al día
+    private static final String LAG_QUERY = "SELECT CASE WHEN NOT pg_is_in_recovery() "
+            + "OR pg_last_wal_receive_lsn() <= pg_last_wal_replay_lsn() THEN 0 "
+            + "ELSE COALESCE(EXTRACT(EPOCH FROM now() - pg_last_xact_replay_timestamp()), 0) END";
+
+    private final DataSource primary;
+    private final List<Replica> replicas;
+    private final double maxLagSeconds;
+    private final AtomicInteger next = new AtomicInteger();
+
+    private final LongAdder replicaReads = new LongAdder();
+    private final LongAdder primaryReads = new LongAdder();
+    private final LongAdder failovers = new LongAdder();
+
+    public ReplicaRoutingDataSource(DataSource primary, List<HikariDataSource> replicaPools, Duration maxLag) {
+        this.primary = primary;
+        this.replicas = replicaPools.stream().map(Replica::new).toList();
+        this.maxLagSeconds = maxLag.toMillis() / 1000.0;
+        setTargetDataSource(new PrimaryDataSource(primary));
+        setReadOnlyDataSource(new ReadOnlyDataSource());
+    }
+
+    /**
+     * Comprueba cada réplica: conexión y retraso de replicación. Marca como sanas las que
+     * responden dentro del retraso máximo y descarta el resto.
+     */
+    public void checkHealth() {
+        for (Replica replica : replicas) {
+            try (Connection connection = replica.pool.getConnection();
+                 Statement statement = connection.createStatement();
+                 ResultSet result = statement.executeQuery(LAG_QUERY)) {
+                result.next();
+                double lagSeconds = result.getDouble(1);
+                if (lagSeconds <= maxLagSeconds) {
+                    replica.markUp();
+                } else {
+                    replica.markDown("retraso de replicación de " + lagSeconds + " s");
+                }
+            } catch (SQLException | RuntimeException ex) {
+                replica.markDown(ex.getMessage());
+            }
+        }
+    }
+
+    public int getReplicaCount() {
+        return replicas.size();
+    }
+
+    public int getHealthyReplicas() {
+        return (int) replicas.stream().filter(replica -> replica.healthy).count();
+    }
+
+    public long getReplicaReads() {
+        return replicaReads.sum();
+    }
+
+    public long getPrimaryReads() {
+        return primaryReads.sum();
+    }
+
+    public long getFailovers() {
+        return failovers.sum();
+    }
+
+    @Override
+    public void close() {
+        replicas.forEach(replica -> replica.pool.close());
+    }
+
+    // Lecturas: primera réplica sana en turno rotatorio; si ninguna conecta, la primaria
+    private Connection readConnection() throws SQLException {
+        if (!ReadRoutingContext.isPrimaryOnly()) {
+            int start = Math.floorMod(next.getAndIncrement(), Math.max(replicas.size(), 1));
+            for (int i = 0; i < replicas.size(); i++) {
+                Replica replica = replicas.get((start + i) % replicas.size());
+                if (!replica.healthy) {
+                    continue;
+                }
+                try {
+                    Connection connection = replica.pool.getConnection();
+                    replicaReads.increment();
+                    return connection;
+                } catch (SQLException ex) {
+                    replica.markDown(ex.getMessage());
+                    failovers.increment();
+                }
+            }
+        }
+        primaryReads.increment();
+        return primary.getConnection();
+    }
+
+    private final class ReadOnlyDataSource extends AbstractDataSource {
+
+        @Override
+        public Connection getConnection() throws SQLException {
+            return readConnection();
+        }
+
+        @Override
+        public Connection getConnection(String username, String password) throws SQLException {
+            return readConnection();
+        }
+    }
+
+    // Escrituras (y lecturas fuera de transacciones de solo lectura): avisa a la petición en curso
+    private static final class PrimaryDataSource extends DelegatingDataSource {
+
+        private PrimaryDataSource(DataSource primary) {
+            super(primary);
+        }
+
+        @Override
+        public Connection getConnection() throws SQLException {
+            Connection connection = super.getConnection();
+            ReadRoutingContext.wrote();
+            return connection;
+        }
+
+        @Override
+        public Connection getConnection(String username, String password) throws SQLException {
+            Connection connection = super.getConnection(username, password);
+            ReadRoutingContext.wrote();
+            return connection;
+        }
+    }
+
+    private static final class Replica {
+
+        private final HikariDataSource pool;
+        private volatile boolean healthy;
+        private volatile boolean checked;
+
+        private Replica(HikariDataSource pool) {
+            this.pool = pool;
+        }
+
+        private void markUp() {
+            if (!healthy) {
+                healthy = true;
+                log.info(checked ? "Réplica {} disponible de nuevo" : "Réplica {} disponible", pool.getPoolName());
+            }
+            checked = true;
+        }
+
+        // También avisa si la réplica ya no responde en la primera comprobación
+        private void markDown(String reason) {
+            if (healthy || !checked) {
+                healthy = false;
+                log.warn("Réplica {} fuera de servicio: {}", pool.getPoolName(), reason);
+            }
+            checked = true;
+        }
+    }
+}
@@ -0,0 +1,68 @@
+package com.devsenior.cdiaz.property.service.config;
+
+import com.devsenior.cdiaz.property.service.service.PropertyReadCoalescer;
+import com.devsenior.cdiaz.property.service.service.SingleFlight;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.http.MediaType;
+import org.springframework.http.converter.cbor.MappingJackson2CborHttpMessageConverter;
+import org.springframework.http.converter.json.MappingJackson2HttpMessageConverter;
+import org.springframework.http.converter.smile.MappingJackson2SmileHttpMessageConverter;
+
+import java.time.Duration;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * Agrupación de peticiones idénticas simultáneas de {@code GET /api/properties/{id}} y
+ * {@code GET /api/properties/city/{city}}.
+ *
+ * <p>Los cuerpos se serializan con los mismos {@code ObjectMapper} que los convertidores HTTP, en
+ * el mismo orden de preferencia que Spring MVC (JSON, Smile, CBOR).</p>
+ */
+@Configuration
+public class RequestCoalescingConfig {
+
+    @Bean
+    public PropertyReadCoalescer propertyReadCoalescer(
+            MappingJackson2HttpMessageConverter jsonConverter,
+            MappingJackson2SmileHttpMessageConverter smileConverter,
+            MappingJackson2CborHttpMessageConverter cborConverter,
+            @Value("${property.coalescing.enabled:true}") boolean enabled,
+            @Value("${property.coalescing.max-wait:5s}") Duration maxWait) {
+        Map<MediaType, ObjectMapper> formats = new LinkedHashMap<>();
+        formats.put(MediaType.APPLICATION_JSON, jsonConverter.getObjectMapper());
+        formats.put(new MediaType("application", "x-jackson-smile"), smileConverter.getObjectMapper());
+        formats.put(MediaType.APPLICATION_CBOR, cborConverter.getObjectMapper());
+        return new PropertyReadCoalescer(formats, enabled, maxWait);
+    }
+
+    @Bean
+    public MeterBinder propertyReadCoalescingMetrics(PropertyReadCoalescer coalescer) {
+        return registry -> {
+            for (SingleFlight<?, ?> flight : coalescer.flights()) {
+                FunctionCounter.builder("property.coalescing.executed", flight, SingleFlight::getExecuted)
+                        .tag("read", flight.getName())
+                        .description("Lecturas ejecutadas, una por grupo de peticiones idénticas")
+                        .register(registry);
+                FunctionCounter.builder("property.coalescing.collapsed", flight, SingleFlight::getCollapsed)
+                        .tag("read", flight.getName())
+                        .description("Peticiones que recibieron el resultado de una lectura en curso")
+                        .register(registry);
+                FunctionCounter.builder("property.coalescing.timeouts", flight, SingleFlight::getTimeouts)
+                        .tag("read", flight.getName())
+                        .description("Peticiones que agotaron la espera de una lectura en curso")
+                        .register(registry);
+                Gauge.builder("property.coalescing.in-flight", flight, SingleFlight::getInFlight)
+                        .tag("read", flight.getName())
+                        .description("Lecturas en curso a las que se pueden unir peticiones")
+                        .register(registry);
+            }
+        };
+    }
+}
@@ -0,0 +1,34 @@
+package com.devsenior.cdiaz.property.service.config;
+
+/**
+ * Cuenta las sentencias JDBC ejecutadas por la petición HTTP del hilo actual.
+ *
+ * <p>{@link RequestQueryMetricsFilter} abre y cierra el conteo; {@link QueryMetricsDataSource}
+ * lo incrementa. Fuera de una petición (tareas programadas, arranque) no cuenta nada. El
+ * trabajo que la petición delega a otro hilo, como la exportación NDJSON, no se incluye.</p>
+ */
+final class RequestQueryCounter {
+
+    private static final ThreadLocal<int[]> COUNT = new ThreadLocal<>();
+
+    private RequestQueryCounter() {
+    }
+
+    static void start() {
+        COUNT.set(new int[1]);
+    }
+
+    static void increment() {
+        int[] count = COUNT.get();
+        if (count != null) {
+            count[0]++;
+        }
+    }
+
+    // Devuelve el total y deja de contar en el hilo
+    static int stop() {
+        int[] count = COUNT.get();
+        COUNT.remove();
+        return count == null ? 0 : count[0];
+    }
+}
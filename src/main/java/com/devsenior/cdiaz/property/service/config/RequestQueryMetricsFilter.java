@@ -0,0 +1,56 @@
+package com.devsenior.cdiaz.property.service.config;
+
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.web.filter.OncePerRequestFilter;
+import org.springframework.web.servlet.HandlerMapping;
+
+import java.io.IOException;
+
+/**
+ * Registra cuántas sentencias SQL ejecutó cada petición en el resumen
+ * {@code db.queries.per.request}, etiquetado por método y patrón de URI, y avisa en el
+ * log cuando una petición supera el umbral: es la señal de un N+1 o de consultas de más
+ * (p. ej. un {@code existsById} antes de cada escritura).
+ */
+@Slf4j
+public class RequestQueryMetricsFilter extends OncePerRequestFilter {
+
+    private final MeterRegistry meterRegistry;
+    private final int warnThreshold;
+
+    public RequestQueryMetricsFilter(MeterRegistry meterRegistry, int warnThreshold) {
+        this.meterRegistry = meterRegistry;
+        this.warnThreshold = warnThreshold;
+    }
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain chain)
+            throws ServletException, IOException {
+        RequestQueryCounter.start();
+        try {
+            chain.doFilter(request, response);
+        } finally {
+            int queries = RequestQueryCounter.stop();
+            // El patrón (/api/properties/{id}) existe tras pasar por el DispatcherServlet
+            Object pattern = request.getAttribute(HandlerMapping.BEST_MATCHING_PATTERN_ATTRIBUTE);
+            String uri = pattern != null ? pattern.toString() : "UNKNOWN";
+            DistributionSummary.builder("db.queries.per.request")
+                    .description("Sentencias SQL ejecutadas por petición")
+                    .serviceLevelObjectives(1, 2, 5, 10, 20, 50)
+                    .tag("method", request.getMethod())
+                    .tag("uri", uri)
+                    .register(meterRegistry)
+                    .record(queries);
+            if (queries > warnThreshold) {
+                log.warn("Petición con {} consultas SQL (umbral {}): {} {}",
+                        queries, warnThreshold, request.getMethod(), uri);
+            }
+        }
+    }
+}
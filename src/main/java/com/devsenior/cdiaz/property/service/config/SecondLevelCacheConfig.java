@@ -0,0 +1,79 @@
+package com.devsenior.cdiaz.property.service.config;
+
+import com.devsenior.cdiaz.property.service.model.entity.Property;
+import com.devsenior.cdiaz.property.service.model.entity.User;
+import com.devsenior.cdiaz.property.service.repository.PropertyRepository;
+import com.devsenior.cdiaz.property.service.repository.UserRepository;
+import com.github.benmanes.caffeine.jcache.configuration.CaffeineConfiguration;
+import com.github.benmanes.caffeine.jcache.spi.CaffeineCachingProvider;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import io.micrometer.core.instrument.binder.cache.JCacheMetrics;
+import org.hibernate.cache.jcache.ConfigSettings;
+import org.hibernate.cache.spi.RegionFactory;
+import org.springframework.boot.autoconfigure.orm.jpa.HibernatePropertiesCustomizer;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.core.env.Environment;
+
+import javax.cache.CacheManager;
+import javax.cache.Caching;
+import java.time.Duration;
+import java.util.List;
+import java.util.OptionalLong;
+
+/**
+ * Caché de segundo nivel y de consultas de Hibernate sobre JCache (Caffeine).
+ *
+ * <p>Cada región se crea aquí con su tamaño máximo y TTL
+ * ({@code property.cache.l2.<región>.max-size} y {@code .ttl}); Hibernate falla al arrancar si
+ * una entidad o consulta cacheable usa una región no declarada. La región de marcas de tiempo,
+ * que invalida las consultas cacheadas cuando cambian sus tablas, no caduca ni se desaloja.</p>
+ *
+ * <p>Las escrituras con SQL nativo que Hibernate no ve (los {@code UPDATE/DELETE ... RETURNING})
+ * se invalidan desde {@link com.devsenior.cdiaz.property.service.service.PropertyCacheInvalidator}.
+ * Los aciertos y fallos de cada región se publican como métricas {@code cache.*}.</p>
+ */
+@Configuration
+public class SecondLevelCacheConfig {
+
+    private static final List<String> REGIONS = List.of(
+            Property.CACHE_REGION,
+            User.CACHE_REGION,
+            PropertyRepository.QUERY_CACHE_REGION,
+            UserRepository.QUERY_CACHE_REGION,
+            RegionFactory.DEFAULT_QUERY_RESULTS_REGION_UNQUALIFIED_NAME);
+
+    @Bean(destroyMethod = "close")
+    public CacheManager hibernateCacheManager(Environment environment) {
+        CacheManager cacheManager = Caching.getCachingProvider(CaffeineCachingProvider.class.getName()).getCacheManager();
+        for (String region : REGIONS) {
+            CaffeineConfiguration<Object, Object> configuration = new CaffeineConfiguration<>();
+            configuration.setMaximumSize(OptionalLong.of(environment.getProperty(
+                    "property.cache.l2." + region + ".max-size", Long.class, 10_000L)));
+            configuration.setExpireAfterWrite(OptionalLong.of(environment.getProperty(
+                    "property.cache.l2." + region + ".ttl", Duration.class, Duration.ofMinutes(10)).toNanos()));
+            configuration.setStatisticsEnabled(true);
+            cacheManager.createCache(region, configuration);
+        }
+        CaffeineConfiguration<Object, Object> timestamps = new CaffeineConfiguration<>();
+        timestamps.setStatisticsEnabled(true);
+        cacheManager.createCache(RegionFactory.DEFAULT_UPDATE_TIMESTAMPS_REGION_UNQUALIFIED_NAME, timestamps);
+        return cacheManager;
+    }
+
+    @Bean
+    public HibernatePropertiesCustomizer secondLevelCacheCustomizer(CacheManager hibernateCacheManager) {
+        return properties -> properties.put(ConfigSettings.CACHE_MANAGER, hibernateCacheManager);
+    }
+
+    @Bean
+    public MeterBinder secondLevelCacheMetrics(CacheManager hibernateCacheManager) {
+        return registry -> {
+            for (String region : hibernateCacheManager.getCacheNames()) {
+                // Mismas etiquetas que las cachés de Spring: Prometheus exige el mismo conjunto por métrica
+                JCacheMetrics.monitor(registry, hibernateCacheManager.getCache(region),
+                        "cache.manager", "hibernate", "name", region);
+            }
+        };
+    }
+}
@@ -0,0 +1,86 @@
+package com.devsenior.cdiaz.property.service.config;
+
+import com.devsenior.cdiaz.property.service.repository.UserSessionRepository;
+import com.devsenior.cdiaz.property.service.security.InMemorySessionStore;
+import com.devsenior.cdiaz.property.service.security.PersistentSessionStore;
+import com.devsenior.cdiaz.property.service.security.SessionAuthenticationFilter;
+import com.devsenior.cdiaz.property.service.security.SessionManager;
+import com.devsenior.cdiaz.property.service.security.SessionStore;
+import com.devsenior.cdiaz.property.service.security.SessionTokenSigner;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnMissingBean;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.web.servlet.FilterRegistrationBean;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.scheduling.annotation.EnableScheduling;
+
+import java.security.SecureRandom;
+import java.time.Clock;
+import java.time.Duration;
+import java.util.Base64;
+import java.util.List;
+
+/**
+ * Sesiones de usuario: almacén (memoria o base de datos), barrido periódico y filtro de autenticación.
+ */
+@Configuration
+@EnableScheduling
+public class SessionConfig {
+
+    @Bean
+    @ConditionalOnMissingBean
+    public Clock clock() {
+        return Clock.systemUTC();
+    }
+
+    @Bean
+    @ConditionalOnProperty(name = "property.auth.session.store", havingValue = "memory", matchIfMissing = true)
+    public SessionStore inMemorySessionStore(Clock clock) {
+        return new InMemorySessionStore(clock);
+    }
+
+    @Bean
+    @ConditionalOnProperty(name = "property.auth.session.store", havingValue = "jdbc")
+    public SessionStore persistentSessionStore(
+            UserSessionRepository repository,
+            Clock clock,
+            @Value("${property.auth.session.cache.max-size:100000}") long cacheMaxSize,
+            @Value("${property.auth.session.cache.ttl:5m}") Duration cacheTtl) {
+        return new PersistentSessionStore(repository, clock, cacheMaxSize, cacheTtl);
+    }
+
+    /**
+     * Clave de firma de los tokens ({@code property.auth.session.token-key}, Base64 de al menos 32 bytes).
+     * Con el almacén {@code jdbc} es obligatoria: todas las instancias deben compartirla y conservarla
+     * entre reinicios para que las sesiones guardadas sigan siendo válidas. Con {@code memory} las
+     * sesiones ya se pierden al reiniciar, así que sin clave se genera una aleatoria por proceso.
+     */
+    @Bean
+    public SessionTokenSigner sessionTokenSigner(
+            @Value("${property.auth.session.token-key:}") String tokenKey,
+            @Value("${property.auth.session.store:memory}") String store) {
+        if (!tokenKey.isBlank()) {
+            return new SessionTokenSigner(Base64.getDecoder().decode(tokenKey.trim()));
+        }
+        if ("jdbc".equals(store)) {
+            throw new IllegalStateException("property.auth.session.token-key es obligatoria con "
+                    + "property.auth.session.store=jdbc");
+        }
+        byte[] key = new byte[32];
+        new SecureRandom().nextBytes(key);
+        return new SessionTokenSigner(key);
+    }
+
+    @Bean
+    public FilterRegistrationBean<SessionAuthenticationFilter> sessionAuthenticationFilter(
+            SessionManager sessionManager,
+            ObjectMapper objectMapper,
+            @Value("${property.auth.protected-paths:/api/auth/me,/api/auth/logout}") List<String> protectedPaths) {
+        FilterRegistrationBean<SessionAuthenticationFilter> registration =
+                new FilterRegistrationBean<>(new SessionAuthenticationFilter(sessionManager, objectMapper));
+        registration.setUrlPatterns(protectedPaths);
+        return registration;
+    }
+}
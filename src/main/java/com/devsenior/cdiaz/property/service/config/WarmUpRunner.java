@@ -0,0 +1,177 @@
+package com.devsenior.cdiaz.property.service.config;
+
+import com.devsenior.cdiaz.property.service.model.entity.Property;
+import com.devsenior.cdiaz.property.service.repository.PropertyRepository;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.ApplicationArguments;
+import org.springframework.boot.ApplicationRunner;
+import org.springframework.boot.web.context.WebServerApplicationContext;
+import org.springframework.core.Ordered;
+import org.springframework.core.annotation.Order;
+import org.springframework.data.domain.Limit;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
+import org.springframework.stereotype.Component;
+import org.springframework.web.util.UriUtils;
+
+import java.io.IOException;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.stream.Collectors;
+
+/**
+ * Calienta la aplicación antes de declararla lista para recibir tráfico.
+ *
+ * <p>Se ejecuta después de los demás {@link ApplicationRunner}: Tomcat ya escucha, pero el
+ * estado de readiness no pasa a {@code ACCEPTING_TRAFFIC} hasta que terminan todos. Mientras
+ * tanto envía al propio servidor, por HTTP, las lecturas de {@code PropertyController} y de
+ * {@code AuthController} (con el rechazo sin token y, en la primera ronda, las validaciones de
+ * login y registro), en rondas, hasta completar {@code property.warm-up.rounds} o agotar
+ * {@code property.warm-up.timeout}. Así se cargan
+ * las clases y se compilan con JIT los filtros, Spring MVC, Jackson, MapStruct, Hibernate y
+ * los índices en memoria, y se llenan las cachés con las propiedades consultadas.</p>
+ *
+ * <p>Solo se hacen peticiones sin efectos: ninguna escritura, y los logins no llegan al
+ * limitador de intentos porque no pasan la validación. Las peticiones del calentamiento
+ * cuentan en las métricas HTTP. Un fallo de conexión interrumpe el calentamiento, pero
+ * nunca el arranque.</p>
+ */
+@Component
+@Order(Ordered.LOWEST_PRECEDENCE)
+@Slf4j
+public class WarmUpRunner implements ApplicationRunner {
+
+    // Propiedades de muestra para las lecturas por ID, ciudad y lote
+    private static final int SAMPLE_SIZE = 10;
+
+    private static final String INVALID_AUTH_BODY = "{}";
+
+    private final PropertyRepository propertyRepository;
+    private final WebServerApplicationContext context;
+    private final boolean enabled;
+    private final int rounds;
+    private final Duration timeout;
+
+    public WarmUpRunner(PropertyRepository propertyRepository,
+                        WebServerApplicationContext context,
+                        @Value("${property.warm-up.enabled:false}") boolean enabled,
+                        @Value("${property.warm-up.rounds:200}") int rounds,
+                        @Value("${property.warm-up.timeout:20s}") Duration timeout) {
+        this.propertyRepository = propertyRepository;
+        this.context = context;
+        this.enabled = enabled;
+        this.rounds = rounds;
+        this.timeout = timeout;
+    }
+
+    @Override
+    public void run(ApplicationArguments args) {
+        if (!enabled || rounds <= 0) {
+            return;
+        }
+        URI base = URI.create("http://localhost:" + context.getWebServer().getPort());
+        List<HttpRequest> requests = requests(base);
+        // Las validaciones fallidas se registran como error en el log: basta con una vez para cargar sus clases
+        List<HttpRequest> firstRound = new ArrayList<>(requests);
+        firstRound.add(postInvalid(base, "/api/auth/login"));
+        firstRound.add(postInvalid(base, "/api/auth/register"));
+        HttpClient client = HttpClient.newBuilder().connectTimeout(Duration.ofSeconds(2)).build();
+        Set<String> serverErrors = new LinkedHashSet<>();
+        long start = System.nanoTime();
+        long deadline = start + timeout.toNanos();
+        long firstRoundNanos = 0;
+        long lastRoundNanos = 0;
+        int completed = 0;
+        try {
+            while (completed < rounds && System.nanoTime() < deadline) {
+                long roundStart = System.nanoTime();
+                for (HttpRequest request : completed == 0 ? firstRound : requests) {
+                    HttpResponse<Void> response = client.send(request, HttpResponse.BodyHandlers.discarding());
+                    if (response.statusCode() >= 500) {
+                        serverErrors.add(request.method() + " " + request.uri().getPath());
+                    }
+                }
+                lastRoundNanos = System.nanoTime() - roundStart;
+                if (completed == 0) {
+                    firstRoundNanos = lastRoundNanos;
+                }
+                completed++;
+            }
+        } catch (IOException ex) {
+            log.warn("Calentamiento interrumpido tras {} rondas: {}", completed, ex.getMessage());
+        } catch (InterruptedException ex) {
+            Thread.currentThread().interrupt();
+            return;
+        }
+        // La primera ronda refleja el coste en frío; la última, el de la aplicación ya caliente
+        log.info("Calentamiento: {} rondas de {} peticiones en {} ms (primera ronda {} ms, última {} ms)",
+                completed, requests.size(), (System.nanoTime() - start) / 1_000_000,
+                firstRoundNanos / 1_000_000, lastRoundNanos / 1_000_000);
+        if (!serverErrors.isEmpty()) {
+            log.warn("Peticiones del calentamiento con error 5xx: {}", serverErrors);
+        }
+    }
+
+    private List<HttpRequest> requests(URI base) {
+        List<Property> sample = propertyRepository.findByIdGreaterThanOrderByIdAsc(0L, Limit.of(SAMPLE_SIZE));
+        // Con el catálogo vacío se recorren igualmente los caminos de 404 y de resultados vacíos
+        Long id = sample.isEmpty() ? 1L : sample.get(0).getId();
+        String ids = sample.isEmpty() ? "1,2" : sample.stream()
+                .map(property -> property.getId().toString())
+                .collect(Collectors.joining(","));
+        String city = sample.isEmpty() ? "Madrid" : sample.get(0).getCity();
+        Property located = sample.stream()
+                .filter(property -> property.getLatitude() != null && property.getLongitude() != null)
+                .findFirst()
+                .orElse(null);
+        String point = located == null ? "lat=0&lon=0"
+                : "lat=" + located.getLatitude() + "&lon=" + located.getLongitude();
+        String cityPath = UriUtils.encodePathSegment(city, StandardCharsets.UTF_8);
+        String cityParam = UriUtils.encodeQueryParam(city, StandardCharsets.UTF_8);
+
+        List<HttpRequest> requests = new ArrayList<>();
+        requests.add(get(base, "/api/properties?size=20", MediaType.APPLICATION_JSON_VALUE));
+        requests.add(get(base, "/api/properties?size=20&fields=city,price,imageUrl", MediaType.APPLICATION_JSON_VALUE));
+        requests.add(get(base, "/api/properties?size=20", "application/cbor"));
+        requests.add(get(base, "/api/properties/" + id, MediaType.APPLICATION_JSON_VALUE));
+        requests.add(get(base, "/api/properties/city/" + cityPath, MediaType.APPLICATION_JSON_VALUE));
+        requests.add(get(base, "/api/properties/search?city=" + cityParam + "&sort=price,desc",
+                MediaType.APPLICATION_JSON_VALUE));
+        requests.add(get(base, "/api/properties/search/text?q=" + cityParam, MediaType.APPLICATION_JSON_VALUE));
+        requests.add(get(base, "/api/properties/near?" + point + "&limit=20", MediaType.APPLICATION_JSON_VALUE));
+        requests.add(get(base, "/api/properties/batch?ids=" + ids, MediaType.APPLICATION_JSON_VALUE));
+        requests.add(get(base, "/api/properties/exists?ids=" + ids, MediaType.APPLICATION_JSON_VALUE));
+        requests.add(get(base, "/api/properties/exists/" + id, MediaType.APPLICATION_JSON_VALUE));
+        requests.add(get(base, "/api/properties/stats", MediaType.APPLICATION_JSON_VALUE));
+        requests.add(get(base, "/api/properties/stats/" + cityPath, MediaType.APPLICATION_JSON_VALUE));
+        requests.add(get(base, "/api/properties/stats/" + cityPath + "/price-trend", MediaType.APPLICATION_JSON_VALUE));
+        requests.add(get(base, "/api/properties/" + id + "/price-history", MediaType.APPLICATION_JSON_VALUE));
+        requests.add(get(base, "/api/auth/me", MediaType.APPLICATION_JSON_VALUE));
+        return requests;
+    }
+
+    private static HttpRequest get(URI base, String path, String accept) {
+        return HttpRequest.newBuilder(base.resolve(path))
+                .header(HttpHeaders.ACCEPT, accept)
+                .header(HttpHeaders.ACCEPT_ENCODING, "gzip")
+                .GET()
+                .build();
+    }
+
+    // Cuerpo vacío: recorre la deserialización, Bean Validation y el manejador de errores (400)
+    private static HttpRequest postInvalid(URI base, String path) {
+        return HttpRequest.newBuilder(base.resolve(path))
+                .header(HttpHeaders.CONTENT_TYPE, MediaType.APPLICATION_JSON_VALUE)
+                .POST(HttpRequest.BodyPublishers.ofString(INVALID_AUTH_BODY))
+                .build();
+    }
+}
@@ -3,7 +3,10 @@ package com.devsenior.cdiaz.property.service.controller;
 import com.devsenior.cdiaz.property.service.model.dto.LoginRequestDto;
 import com.devsenior.cdiaz.property.service.model.dto.LoginResponseDto;
 import com.devsenior.cdiaz.property.service.model.dto.UserDto;
+import com.devsenior.cdiaz.property.service.security.AuthSession;
+import com.devsenior.cdiaz.property.service.security.SessionAuthenticationFilter;
 import com.devsenior.cdiaz.property.service.service.AuthService;
+import jakarta.servlet.http.HttpServletRequest;
 import jakarta.validation.Valid;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
@@ -21,9 +24,9 @@ public class AuthController {
     
     @PostMapping("/login")
     @ResponseStatus(HttpStatus.OK)
-    public LoginResponseDto login(@Valid @RequestBody LoginRequestDto loginRequest) {
+    public LoginResponseDto login(@Valid @RequestBody LoginRequestDto loginRequest, HttpServletRequest request) {
         log.info("Recibida solicitud de login para email: {}", loginRequest.email());
-        return authService.login(loginRequest);
+        return authService.login(loginRequest, request.getRemoteAddr());
     }
     
     @PostMapping("/register")
@@ -32,4 +35,18 @@ public class AuthController {
         log.info("Recibida solicitud de registro para email: {}", userDto.email());
         return authService.register(userDto);
     }
+    
+    // Ruta protegida: SessionAuthenticationFilter ya validó el token
+    @PostMapping("/logout")
+    @ResponseStatus(HttpStatus.NO_CONTENT)
+    public void logout(@RequestAttribute(SessionAuthenticationFilter.SESSION_ATTRIBUTE) AuthSession session) {
+        log.info("Recibida solicitud de logout para email: {}", session.email());
+        authService.logout(session.token());
+    }
+    
+    // Ruta protegida: datos del usuario de la sesión, sin consultar la base de datos
+    @GetMapping("/me")
+    public UserDto me(@RequestAttribute(SessionAuthenticationFilter.SESSION_ATTRIBUTE) AuthSession session) {
+        return new UserDto(session.userId(), session.fullName(), session.email(), null);
+    }
 }
@@ -0,0 +1,44 @@
+package com.devsenior.cdiaz.property.service.controller;
+
+import com.devsenior.cdiaz.property.service.model.dto.CacheStatsDto;
+import com.github.benmanes.caffeine.cache.stats.CacheStats;
+import lombok.RequiredArgsConstructor;
+import org.springframework.cache.CacheManager;
+import org.springframework.cache.caffeine.CaffeineCache;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RestController;
+
+import java.util.List;
+
+/**
+ * Expone las métricas de aciertos, fallos y desalojos de las cachés de lectura.
+ */
+@RestController
+@RequestMapping("/api/cache")
+@RequiredArgsConstructor
+public class CacheController {
+
+    private final CacheManager cacheManager;
+
+    @GetMapping("/stats")
+    public List<CacheStatsDto> getStats() {
+        return cacheManager.getCacheNames()
+                .stream()
+                .map(cacheManager::getCache)
+                .filter(CaffeineCache.class::isInstance)
+                .map(CaffeineCache.class::cast)
+                .map(cache -> {
+                    var nativeCache = cache.getNativeCache();
+                    CacheStats stats = nativeCache.stats();
+                    return new CacheStatsDto(
+                            cache.getName(),
+                            nativeCache.estimatedSize(),
+                            stats.hitCount(),
+                            stats.missCount(),
+                            stats.hitRate(),
+                            stats.evictionCount());
+                })
+                .toList();
+    }
+}
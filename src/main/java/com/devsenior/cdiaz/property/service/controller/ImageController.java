@@ -0,0 +1,68 @@
+package com.devsenior.cdiaz.property.service.controller;
+
+import com.devsenior.cdiaz.property.service.exception.ImageNotFoundException;
+import com.devsenior.cdiaz.property.service.model.dto.PropertyImageVariants;
+import com.devsenior.cdiaz.property.service.service.ImageVariantStore;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import lombok.RequiredArgsConstructor;
+import org.springframework.http.CacheControl;
+import org.springframework.http.HttpHeaders;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.context.request.ServletWebRequest;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+
+/**
+ * Sirve las miniaturas generadas por el pipeline de imágenes ({@code imageVariants} de
+ * {@link com.devsenior.cdiaz.property.service.model.dto.PropertyDto}).
+ *
+ * <p>La URL incluye la clave de contenido, así que la respuesta no cambia nunca y se marca
+ * como cacheable un año ({@code immutable}). El archivo se envía con sendfile de Tomcat: el
+ * kernel copia del disco al socket sin pasar por el heap; si el conector no lo soporta, se
+ * copia por el flujo de salida.</p>
+ */
+@RestController
+@RequestMapping("/api/images")
+@RequiredArgsConstructor
+public class ImageController {
+
+    private static final String SENDFILE_SUPPORT = "org.apache.tomcat.sendfile.support";
+    private static final String SENDFILE_FILENAME = "org.apache.tomcat.sendfile.filename";
+    private static final String SENDFILE_START = "org.apache.tomcat.sendfile.start";
+    private static final String SENDFILE_END = "org.apache.tomcat.sendfile.end";
+
+    private static final String CACHE_CONTROL = CacheControl.maxAge(Duration.ofDays(365))
+            .cachePublic()
+            .immutable()
+            .getHeaderValue();
+
+    private final ImageVariantStore store;
+
+    @GetMapping("/{key}/{fileName}")
+    public void getImage(@PathVariable String key, @PathVariable String fileName,
+                         HttpServletRequest request, HttpServletResponse response) throws IOException {
+        Path file = store.find(key, fileName).orElseThrow(() -> new ImageNotFoundException(key, fileName));
+        response.setHeader(HttpHeaders.CACHE_CONTROL, CACHE_CONTROL);
+        // Contenido inmutable: la clave y el nombre bastan como ETag
+        if (new ServletWebRequest(request, response).checkNotModified("\"" + key + "-" + fileName + "\"")) {
+            return;
+        }
+        long length = Files.size(file);
+        response.setContentType(PropertyImageVariants.formatOf(fileName).orElseThrow().mediaType());
+        response.setContentLengthLong(length);
+        if (Boolean.TRUE.equals(request.getAttribute(SENDFILE_SUPPORT))) {
+            request.setAttribute(SENDFILE_FILENAME, file.toString());
+            request.setAttribute(SENDFILE_START, 0L);
+            request.setAttribute(SENDFILE_END, length);
+        } else {
+            Files.copy(file, response.getOutputStream());
+        }
+    }
+}
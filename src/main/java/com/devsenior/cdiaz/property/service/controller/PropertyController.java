@@ -1,13 +1,43 @@
 package com.devsenior.cdiaz.property.service.controller;
 
+import com.devsenior.cdiaz.property.service.model.dto.BulkImportResultDto;
 import com.devsenior.cdiaz.property.service.model.dto.CreatePropertyDto;
+import com.devsenior.cdiaz.property.service.model.dto.NearbyPropertyDto;
+import com.devsenior.cdiaz.property.service.model.dto.PropertyBatchDto;
 import com.devsenior.cdiaz.property.service.model.dto.PropertyDto;
+import com.devsenior.cdiaz.property.service.model.dto.PropertyEventDto;
+import com.devsenior.cdiaz.property.service.model.dto.PropertyExistenceDto;
+import com.devsenior.cdiaz.property.service.model.dto.PropertyFields;
+import com.devsenior.cdiaz.property.service.model.dto.PropertyMarketStatsDto;
+import com.devsenior.cdiaz.property.service.model.dto.PropertyPageDto;
+import com.devsenior.cdiaz.property.service.model.dto.PropertyPriceHistoryDto;
+import com.devsenior.cdiaz.property.service.model.dto.PropertyPriceTrendDto;
+import com.devsenior.cdiaz.property.service.model.dto.PropertySearchCriteria;
+import com.devsenior.cdiaz.property.service.model.dto.PropertySearchResultDto;
+import com.devsenior.cdiaz.property.service.model.dto.PropertyStatisticsDto;
 import com.devsenior.cdiaz.property.service.model.dto.UpdatePropertyDto;
+import com.devsenior.cdiaz.property.service.service.PropertyEventBroadcaster;
+import com.devsenior.cdiaz.property.service.service.PropertyImportService;
+import com.devsenior.cdiaz.property.service.service.PropertyReadCoalescer;
 import com.devsenior.cdiaz.property.service.service.PropertyService;
+import com.fasterxml.jackson.databind.MappingIterator;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ser.impl.SimpleBeanPropertyFilter;
+import com.fasterxml.jackson.databind.ser.impl.SimpleFilterProvider;
 import lombok.RequiredArgsConstructor;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.http.converter.json.MappingJacksonValue;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.UncheckedIOException;
+import java.time.Instant;
 import java.util.List;
 
 /**
@@ -21,6 +51,16 @@ import java.util.List;
  * apropiadas para cada operación. El manejo de errores se realiza a través
  * del sistema global de excepciones.</p>
  * 
+ * <p>Los listados aceptan el parámetro {@code fields} (por ejemplo
+ * {@code fields=city,price,imageUrl}) para devolver solo esos campos; el ID
+ * se incluye siempre. Las respuestas se pueden pedir en JSON, CBOR
+ * ({@code application/cbor}) o Smile ({@code application/x-jackson-smile})
+ * con la cabecera {@code Accept}.</p>
+ * 
+ * <p>En lugar de consultar el listado periódicamente, los consumidores
+ * pueden suscribirse a {@code /events} para recibir los cambios en cuanto
+ * se confirman.</p>
+ * 
  * @author DevSenior
  * @version 1.0
  * @since 1.0
@@ -31,37 +71,116 @@ import java.util.List;
 @CrossOrigin(origins = "http://localhost:4200") //cors()
 public class PropertyController {
     
+    private static final MediaType APPLICATION_NDJSON = MediaType.parseMediaType("application/x-ndjson");
+    
     private final PropertyService propertyService;
+    private final PropertyImportService propertyImportService;
+    private final PropertyEventBroadcaster eventBroadcaster;
+    private final PropertyReadCoalescer readCoalescer;
+    private final ObjectMapper objectMapper;
     
     /**
-     * Obtiene todas las propiedades disponibles en el sistema.
+     * Obtiene una página de propiedades ordenadas por ID.
      * 
-     * <p>Este endpoint retorna una lista completa de todas las propiedades
-     * registradas, sin aplicar ningún filtro. La respuesta incluye todos
-     * los campos de cada propiedad.</p>
+     * <p>Este endpoint usa paginación por cursor (keyset): cada respuesta
+     * incluye un cursor opaco {@code next} que se envía en la siguiente
+     * solicitud para continuar. El tamaño de página está acotado a
+     * {@value PropertyService#MAX_PAGE_SIZE} elementos.</p>
      * 
-     * @return Lista de todas las propiedades como {@link PropertyDto}
-     * @throws Exception si ocurre un error interno en el servidor
+     * @param cursor Cursor opaco devuelto por la página anterior, o ausente para la primera
+     * @param size Número máximo de propiedades por página
+     * @param fields Campos a incluir separados por comas; solo se leen esas columnas
+     * @param accept Formato pedido (JSON, CBOR o Smile)
+     * @return La página solicitada como {@link PropertyPageDto}
+     * @throws com.devsenior.cdiaz.property.service.exception.InvalidRequestException si el cursor o los campos no son válidos
      * 
-     * @apiNote Ejemplo de respuesta:
+     * @apiNote Ejemplo de uso: GET /api/properties?size=2&amp;cursor=aWQ6Mg
+     * <br>Solo lo necesario para un listado: GET /api/properties?fields=city,price,imageUrl
+     * <br>Ejemplo de respuesta:
      * <pre>
-     * [
-     *   {
-     *     "id": 1,
-     *     "address": "Calle Mayor 123",
-     *     "city": "Madrid",
-     *     "price": 250000.0,
-     *     "bedrooms": 3,
-     *     "bathrooms": 2,
-     *     "imageUrl": "https://example.com/image.jpg",
-     *     "description": "Hermosa casa en el centro"
-     *   }
-     * ]
+     * {
+     *   "items": [
+     *     {
+     *       "id": 3,
+     *       "address": "Calle Mayor 123",
+     *       "city": "Madrid",
+     *       "price": 250000.0,
+     *       "bedrooms": 3,
+     *       "bathrooms": 2,
+     *       "imageUrl": "https://example.com/image.jpg",
+     *       "description": "Hermosa casa en el centro"
+     *     }
+     *   ],
+     *   "next": "aWQ6Mw"
+     * }
      * </pre>
      */
     @GetMapping
-    public List<PropertyDto> getAllProperties() {
-        return propertyService.findAll();
+    public ResponseEntity<MappingJacksonValue> getAllProperties(
+            @RequestParam(required = false) String cursor,
+            @RequestParam(defaultValue = "" + PropertyService.DEFAULT_PAGE_SIZE) int size,
+            @RequestParam(required = false) String fields,
+            @RequestHeader(value = HttpHeaders.ACCEPT, required = false) String accept) {
+        PropertyFields selected = PropertyFields.parse(fields);
+        PropertyPageDto page = propertyService.findPage(cursor, size, selected);
+        return ResponseEntity.ok()
+                .eTag(PropertyEtags.of(page.items(), selected, readCoalescer.negotiate(accept)))
+                .varyBy(HttpHeaders.ACCEPT)
+                .body(withFields(page, selected));
+    }
+    
+    /**
+     * Exporta el catálogo completo como NDJSON (un objeto JSON por línea).
+     * 
+     * <p>Las filas se escriben en la respuesta a medida que se leen del
+     * cursor de base de datos, por lo que el consumo de memoria es constante
+     * sin importar el tamaño del catálogo.</p>
+     * 
+     * @return Cuerpo en streaming con una {@link PropertyDto} por línea
+     * 
+     * @apiNote Ejemplo de uso: GET /api/properties/export
+     */
+    @GetMapping(value = "/export", produces = "application/x-ndjson")
+    public ResponseEntity<StreamingResponseBody> exportProperties() {
+        StreamingResponseBody body = out -> propertyService.exportAll(dto -> {
+            try {
+                out.write(objectMapper.writeValueAsBytes(dto));
+                out.write('\n');
+            } catch (IOException ex) {
+                throw new UncheckedIOException(ex);
+            }
+        });
+        return ResponseEntity.ok().contentType(APPLICATION_NDJSON).body(body);
+    }
+    
+    /**
+     * Flujo de cambios del catálogo como Server-Sent Events.
+     * 
+     * <p>Cada evento ({@code created}, {@code updated} o {@code deleted}) lleva
+     * como {@code id} su número de secuencia y como datos un
+     * {@link PropertyEventDto} con la propiedad tal como quedó tras el cambio.
+     * Para reanudar sin perder eventos se envía el último número recibido en
+     * {@code since} o en la cabecera {@code Last-Event-ID}, que los navegadores
+     * envían solos al reconectar. Sin ninguno de los dos se reciben solo los
+     * cambios nuevos.</p>
+     * 
+     * <p>Si el número pedido ya no se conserva, o es posterior al último evento,
+     * se recibe un evento {@code reset} y se cierra el flujo: hay que recargar
+     * el listado completo y volver a suscribirse.</p>
+     * 
+     * @param since Último número de secuencia recibido
+     * @param lastEventId Cabecera {@code Last-Event-ID}; tiene prioridad sobre {@code since}
+     * @return El flujo de eventos
+     * @throws com.devsenior.cdiaz.property.service.exception.EventStreamBusyException
+     *         si se alcanzó el máximo de suscriptores (503)
+     * 
+     * @apiNote Ejemplo de uso: GET /api/properties/events?since=120
+     */
+    @GetMapping(value = "/events", produces = MediaType.TEXT_EVENT_STREAM_VALUE)
+    public SseEmitter streamEvents(
+            @RequestParam(required = false) Long since,
+            @RequestHeader(value = "Last-Event-ID", required = false) Long lastEventId) {
+        return eventBroadcaster.subscribe(lastEventId != null ? lastEventId : since);
     }
     
     /**
@@ -71,7 +190,15 @@ public class PropertyController {
      * Si la propiedad no existe, se lanza una excepción que resulta en
      * una respuesta HTTP 404 (Not Found).</p>
      * 
+     * <p>La respuesta incluye un ETag basado en la versión de la propiedad y en el formato.
+     * Si el cliente lo envía en {@code If-None-Match} y no hubo cambios, se
+     * responde 304 (Not Modified) sin cuerpo.</p>
+     * 
+     * <p>Las peticiones simultáneas del mismo ID y formato comparten una
+     * sola lectura y un solo cuerpo serializado ({@link PropertyReadCoalescer}).</p>
+     * 
      * @param id Identificador único de la propiedad a buscar
+     * @param accept Formato pedido (JSON, CBOR o Smile)
      * @return La propiedad encontrada como {@link PropertyDto}
      * @throws com.devsenior.cdiaz.property.service.exception.PropertyNotFoundException 
      *         si la propiedad con el ID especificado no existe
@@ -91,8 +218,58 @@ public class PropertyController {
      * </pre>
      */
     @GetMapping("/{id}")
-    public PropertyDto getPropertyById(@PathVariable Long id) {
-        return propertyService.findById(id);
+    public ResponseEntity<?> getPropertyById(
+            @PathVariable Long id,
+            @RequestHeader(value = HttpHeaders.ACCEPT, required = false) String accept) {
+        MediaType format = readCoalescer.negotiate(accept);
+        if (format == null) {
+            // Spring compara el ETag con If-None-Match y responde 304 sin serializar el cuerpo
+            PropertyDto property = propertyService.findById(id);
+            return ResponseEntity.ok().eTag(PropertyEtags.of(property)).varyBy(HttpHeaders.ACCEPT).body(property);
+        }
+        return shared(readCoalescer.property(id, format, () -> propertyService.findById(id),
+                property -> PropertyEtags.of(property, format)));
+    }
+    
+    /**
+     * Obtiene varias propiedades en una sola petición.
+     * 
+     * <p>Sustituye a una serie de llamadas a {@code GET /{id}}: las propiedades
+     * se leen con una consulta {@code IN} por cada bloque de
+     * {@value com.devsenior.cdiaz.property.service.repository.PropertyRepository#ID_BATCH_SIZE}
+     * IDs, tras buscarlas en la caché de segundo nivel. Se devuelven en el orden
+     * pedido, sin repetidas; los IDs que no existen se listan en {@code missing}
+     * en lugar de responder 404.</p>
+     * 
+     * @param ids IDs separados por comas, como máximo {@value PropertyService#MAX_BATCH_IDS}
+     * @param fields Campos a incluir separados por comas; solo se leen esas columnas
+     * @param accept Formato pedido (JSON, CBOR o Smile)
+     * @return Propiedades encontradas e IDs inexistentes como {@link PropertyBatchDto}
+     * @throws com.devsenior.cdiaz.property.service.exception.InvalidRequestException si la lista está vacía, es demasiado larga o los campos no son válidos
+     * 
+     * @apiNote Ejemplo de uso: GET /api/properties/batch?ids=3,1,999
+     * <br>Ejemplo de respuesta:
+     * <pre>
+     * {
+     *   "items": [
+     *     { "id": 3, "address": "Calle Mayor 123", "city": "Madrid", ... },
+     *     { "id": 1, "address": "Av. Reforma 222", "city": "Ciudad de México", ... }
+     *   ],
+     *   "missing": [999]
+     * }
+     * </pre>
+     */
+    @GetMapping("/batch")
+    public ResponseEntity<MappingJacksonValue> getPropertiesByIds(
+            @RequestParam List<Long> ids,
+            @RequestParam(required = false) String fields,
+            @RequestHeader(value = HttpHeaders.ACCEPT, required = false) String accept) {
+        PropertyFields selected = PropertyFields.parse(fields);
+        PropertyBatchDto batch = propertyService.findByIds(ids, selected);
+        return ResponseEntity.ok()
+                .eTag(PropertyEtags.of(batch.items(), selected, readCoalescer.negotiate(accept)))
+                .varyBy(HttpHeaders.ACCEPT)
+                .body(withFields(batch, selected));
     }
     
     /**
@@ -102,7 +279,14 @@ public class PropertyController {
      * en la ciudad especificada. La búsqueda es case-sensitive y debe
      * coincidir exactamente con el nombre de la ciudad almacenado.</p>
      * 
+     * <p>La lista completa se guarda en caché, por lo que {@code fields} solo
+     * recorta la respuesta. Las peticiones simultáneas de la misma ciudad,
+     * campos y formato comparten una sola lectura y un solo cuerpo
+     * serializado ({@link PropertyReadCoalescer}).</p>
+     * 
      * @param city Nombre de la ciudad para filtrar las propiedades
+     * @param fields Campos a incluir separados por comas
+     * @param accept Formato pedido (JSON, CBOR o Smile)
      * @return Lista de propiedades encontradas en la ciudad especificada
      * @throws Exception si ocurre un error interno en el servidor
      * 
@@ -124,8 +308,292 @@ public class PropertyController {
      * </pre>
      */
     @GetMapping("/city/{city}")
-    public List<PropertyDto> getPropertiesByCity(@PathVariable String city) {
-        return propertyService.findByCity(city);
+    public ResponseEntity<?> getPropertiesByCity(
+            @PathVariable String city,
+            @RequestParam(required = false) String fields,
+            @RequestHeader(value = HttpHeaders.ACCEPT, required = false) String accept) {
+        PropertyFields selected = PropertyFields.parse(fields);
+        MediaType format = readCoalescer.negotiate(accept);
+        if (format == null) {
+            List<PropertyDto> properties = propertyService.findByCity(city);
+            return ResponseEntity.ok()
+                    .eTag(PropertyEtags.of(properties, selected))
+                    .varyBy(HttpHeaders.ACCEPT)
+                    .body(withFields(properties, selected));
+        }
+        return shared(readCoalescer.city(city, selected, format, () -> propertyService.findByCity(city),
+                properties -> PropertyEtags.of(properties, selected, format)));
+    }
+    
+    /**
+     * Busca propiedades combinando filtros opcionales.
+     * 
+     * <p>El filtrado, el orden y la paginación se resuelven en la base de datos
+     * usando los índices compuestos de la tabla. La ciudad se compara sin
+     * distinguir mayúsculas/minúsculas; los rangos de precio son inclusivos.</p>
+     * 
+     * @param criteria Filtros: {@code city}, {@code minPrice}, {@code maxPrice},
+     *        {@code minBedrooms}, {@code minBathrooms}
+     * @param sort Campo de orden y dirección, por ejemplo {@code price,desc}.
+     *        Campos permitidos: id, price, bedrooms, bathrooms, city
+     * @param page Número de página (base cero)
+     * @param size Tamaño de página
+     * @param fields Campos a incluir separados por comas; solo se leen esas columnas
+     * @return Resultado paginado como {@link PropertySearchResultDto}
+     * @throws com.devsenior.cdiaz.property.service.exception.InvalidRequestException si los filtros, el orden o los campos no son válidos
+     * 
+     * @apiNote Ejemplo de uso:
+     * GET /api/properties/search?city=madrid&amp;minPrice=100000&amp;maxPrice=300000&amp;minBedrooms=2&amp;sort=price,asc
+     */
+    @GetMapping("/search")
+    public MappingJacksonValue searchProperties(
+            @ModelAttribute PropertySearchCriteria criteria,
+            @RequestParam(required = false) String sort,
+            @RequestParam(defaultValue = "0") int page,
+            @RequestParam(defaultValue = "" + PropertyService.DEFAULT_PAGE_SIZE) int size,
+            @RequestParam(required = false) String fields) {
+        PropertyFields selected = PropertyFields.parse(fields);
+        return withFields(propertyService.search(criteria, sort, page, size, selected), selected);
+    }
+    
+    /**
+     * Busca propiedades por palabras clave.
+     * 
+     * <p>Busca en la ciudad, la dirección y la descripción con un índice
+     * invertido en memoria. No distingue mayúsculas ni tildes
+     * ("piscina" encuentra "Piscina" y "jardin" encuentra "jardín") y
+     * exige todas las palabras de la consulta. Los resultados se ordenan
+     * por relevancia: una coincidencia en la ciudad pesa más que en la
+     * dirección, y esta más que en la descripción.</p>
+     * 
+     * @param q Palabras a buscar
+     * @param page Número de página (base cero)
+     * @param size Tamaño de página
+     * @param fields Campos a incluir separados por comas; solo se leen esas columnas
+     * @return Resultado paginado como {@link PropertySearchResultDto}
+     * @throws com.devsenior.cdiaz.property.service.exception.InvalidRequestException si la consulta está vacía o la página o los campos no son válidos
+     * 
+     * @apiNote Ejemplo de uso: GET /api/properties/search/text?q=terraza%20piscina
+     */
+    @GetMapping("/search/text")
+    public MappingJacksonValue searchPropertiesByText(
+            @RequestParam String q,
+            @RequestParam(defaultValue = "0") int page,
+            @RequestParam(defaultValue = "" + PropertyService.DEFAULT_PAGE_SIZE) int size,
+            @RequestParam(required = false) String fields) {
+        PropertyFields selected = PropertyFields.parse(fields);
+        return withFields(propertyService.searchText(q, page, size, selected), selected);
+    }
+    
+    /**
+     * Busca propiedades cercanas a un punto.
+     * 
+     * <p>Con {@code radiusKm} devuelve las propiedades a esa distancia o menos;
+     * sin él, las {@code limit} más cercanas. Los resultados van ordenados de
+     * la más próxima a la más lejana e incluyen la distancia en kilómetros.
+     * Se resuelve con el índice espacial en memoria; solo participan las
+     * propiedades con latitud y longitud.</p>
+     * 
+     * @param lat Latitud del punto (-90 a 90)
+     * @param lon Longitud del punto (-180 a 180)
+     * @param radiusKm Radio máximo en kilómetros (opcional)
+     * @param limit Máximo de resultados, acotado a {@value PropertyService#MAX_GEO_RESULTS}
+     * @param fields Campos a incluir separados por comas; la distancia se incluye siempre
+     * @return Propiedades cercanas como {@link NearbyPropertyDto}
+     * @throws com.devsenior.cdiaz.property.service.exception.InvalidRequestException si las coordenadas, el radio o los campos no son válidos
+     * 
+     * @apiNote Ejemplo de uso: GET /api/properties/near?lat=19.4326&amp;lon=-99.1332&amp;radiusKm=5
+     * <br>Ejemplo de respuesta:
+     * <pre>
+     * [
+     *   {
+     *     "id": 7,
+     *     "address": "Av. Reforma 222",
+     *     "city": "Ciudad de México",
+     *     "price": 4500000.0,
+     *     "bedrooms": 2,
+     *     "bathrooms": 2,
+     *     "imageUrl": null,
+     *     "description": null,
+     *     "latitude": 19.4284,
+     *     "longitude": -99.1619,
+     *     "distanceKm": 3.05
+     *   }
+     * ]
+     * </pre>
+     */
+    @GetMapping("/near")
+    public MappingJacksonValue getPropertiesNear(
+            @RequestParam double lat,
+            @RequestParam double lon,
+            @RequestParam(required = false) Double radiusKm,
+            @RequestParam(defaultValue = "" + PropertyService.DEFAULT_PAGE_SIZE) int limit,
+            @RequestParam(required = false) String fields) {
+        PropertyFields selected = PropertyFields.parse(fields);
+        return withFields(propertyService.findNear(lat, lon, radiusKm, limit, selected), selected);
+    }
+    
+    /**
+     * Busca propiedades dentro de un rectángulo de coordenadas (vista de mapa).
+     * 
+     * <p>Los resultados se ordenan por ID. Si {@code minLon} es mayor que
+     * {@code maxLon}, el rectángulo cruza el antimeridiano.</p>
+     * 
+     * @param minLat Latitud del borde sur
+     * @param minLon Longitud del borde oeste
+     * @param maxLat Latitud del borde norte
+     * @param maxLon Longitud del borde este
+     * @param limit Máximo de resultados, acotado a {@value PropertyService#MAX_GEO_RESULTS}
+     * @param fields Campos a incluir separados por comas; solo se leen esas columnas
+     * @return Propiedades dentro del rectángulo
+     * @throws com.devsenior.cdiaz.property.service.exception.InvalidRequestException si las coordenadas o los campos no son válidos
+     * 
+     * @apiNote Ejemplo de uso:
+     * GET /api/properties/within?minLat=19.3&amp;minLon=-99.3&amp;maxLat=19.6&amp;maxLon=-99.0&amp;fields=price,latitude,longitude
+     */
+    @GetMapping("/within")
+    public MappingJacksonValue getPropertiesWithin(
+            @RequestParam double minLat,
+            @RequestParam double minLon,
+            @RequestParam double maxLat,
+            @RequestParam double maxLon,
+            @RequestParam(defaultValue = "" + PropertyService.MAX_GEO_RESULTS) int limit,
+            @RequestParam(required = false) String fields) {
+        PropertyFields selected = PropertyFields.parse(fields);
+        return withFields(propertyService.findWithin(minLat, minLon, maxLat, maxLon, limit, selected), selected);
+    }
+    
+    /**
+     * Obtiene las estadísticas de mercado del catálogo y de cada ciudad.
+     * 
+     * <p>Se sirven desde acumulados en memoria que se actualizan con cada
+     * alta, modificación y borrado, sin recorrer la tabla. Periódicamente se
+     * comparan con los agregados de la base de datos y se reconstruyen si
+     * difieren.</p>
+     * 
+     * @return Estadísticas globales y por ciudad como {@link PropertyMarketStatsDto}
+     * 
+     * @apiNote Ejemplo de uso: GET /api/properties/stats
+     * <br>Ejemplo de respuesta:
+     * <pre>
+     * {
+     *   "overall": {
+     *     "city": null,
+     *     "count": 3,
+     *     "averagePrice": 300000.0,
+     *     "minPrice": 200000.0,
+     *     "maxPrice": 450000.0,
+     *     "medianPrice": 250000.0,
+     *     "p25Price": 225000.0,
+     *     "p75Price": 350000.0,
+     *     "p90Price": 410000.0,
+     *     "bedrooms": { "2": 1, "3": 2 }
+     *   },
+     *   "cities": [ ... ]
+     * }
+     * </pre>
+     */
+    @GetMapping("/stats")
+    public PropertyMarketStatsDto getStatistics() {
+        return propertyService.getStatistics();
+    }
+    
+    /**
+     * Obtiene las estadísticas de mercado de una ciudad.
+     * 
+     * <p>La ciudad se compara sin distinguir mayúsculas/minúsculas. Si no
+     * tiene propiedades, se responde con {@code count} 0.</p>
+     * 
+     * @param city Nombre de la ciudad
+     * @return Estadísticas de la ciudad como {@link PropertyStatisticsDto}
+     * 
+     * @apiNote Ejemplo de uso: GET /api/properties/stats/madrid
+     */
+    @GetMapping("/stats/{city}")
+    public PropertyStatisticsDto getStatisticsByCity(@PathVariable String city) {
+        return propertyService.getStatistics(city);
+    }
+    
+    /**
+     * Obtiene la evolución del precio de los cambios registrados en una ciudad.
+     * 
+     * <p>Agrega por día, semana o mes (en UTC) los cambios de precio de las
+     * propiedades que estaban en la ciudad al cambiar, incluidas las altas. La
+     * ciudad se compara sin distinguir mayúsculas/minúsculas. Los cambios se
+     * guardan en segundo plano, así que los del último segundo pueden no
+     * aparecer todavía.</p>
+     * 
+     * @param city Nombre de la ciudad
+     * @param from Inicio de la ventana en ISO-8601 (incluido); por defecto,
+     *             {@value PropertyService#DEFAULT_PRICE_TREND_DAYS} días antes de {@code to}
+     * @param to Fin de la ventana en ISO-8601 (excluido); por defecto, ahora
+     * @param interval {@code day}, {@code week} o {@code month}
+     * @return Agregados por intervalo como {@link PropertyPriceTrendDto}
+     * @throws com.devsenior.cdiaz.property.service.exception.InvalidRequestException si el intervalo no es válido, la ventana está vacía o
+     *         abarca más de {@value PropertyService#MAX_PRICE_TREND_BUCKETS} intervalos
+     * 
+     * @apiNote Ejemplo de uso: GET /api/properties/stats/madrid/price-trend?from=2026-01-01T00:00:00Z&interval=month
+     * <br>Ejemplo de respuesta:
+     * <pre>
+     * {
+     *   "city": "madrid",
+     *   "interval": "MONTH",
+     *   "from": "2026-01-01T00:00:00Z",
+     *   "to": "2026-03-15T10:00:00Z",
+     *   "buckets": [
+     *     { "start": "2026-01-01T00:00:00Z", "changes": 42, "averagePrice": 251000.0,
+     *       "minPrice": 120000.0, "maxPrice": 480000.0, "averageChangePercent": -1.8 }
+     *   ]
+     * }
+     * </pre>
+     */
+    @GetMapping("/stats/{city}/price-trend")
+    public PropertyPriceTrendDto getPriceTrend(
+            @PathVariable String city,
+            @RequestParam(required = false) Instant from,
+            @RequestParam(required = false) Instant to,
+            @RequestParam(defaultValue = "day") String interval) {
+        return propertyService.getPriceTrend(city, from, to, interval);
+    }
+    
+    /**
+     * Obtiene el historial de precios de una propiedad.
+     * 
+     * <p>Incluye el precio de alta y cada cambio posterior, en orden
+     * cronológico. Si la ventana tiene más de
+     * {@value PropertyService#MAX_PRICE_HISTORY_POINTS} cambios se devuelven
+     * los más recientes y {@code truncated} es {@code true}. El historial de
+     * una propiedad borrada se conserva.</p>
+     * 
+     * @param id Identificador de la propiedad
+     * @param from Inicio de la ventana en ISO-8601 (incluido); por defecto, sin límite
+     * @param to Fin de la ventana en ISO-8601 (excluido); por defecto, ahora
+     * @return Cambios de precio como {@link PropertyPriceHistoryDto}
+     * @throws com.devsenior.cdiaz.property.service.exception.PropertyNotFoundException 
+     *         si la propiedad no existe ni tiene historial
+     * @throws com.devsenior.cdiaz.property.service.exception.InvalidRequestException si la ventana está vacía
+     * 
+     * @apiNote Ejemplo de uso: GET /api/properties/1/price-history?from=2026-01-01T00:00:00Z
+     * <br>Ejemplo de respuesta:
+     * <pre>
+     * {
+     *   "propertyId": 1,
+     *   "from": "2026-01-01T00:00:00Z",
+     *   "to": "2026-03-15T10:00:00Z",
+     *   "points": [
+     *     { "changedAt": "2026-01-10T09:30:00Z", "price": 250000.0, "previousPrice": null },
+     *     { "changedAt": "2026-02-02T16:12:41Z", "price": 240000.0, "previousPrice": 250000.0 }
+     *   ],
+     *   "truncated": false
+     * }
+     * </pre>
+     */
+    @GetMapping("/{id}/price-history")
+    public PropertyPriceHistoryDto getPriceHistory(
+            @PathVariable Long id,
+            @RequestParam(required = false) Instant from,
+            @RequestParam(required = false) Instant to) {
+        return propertyService.getPriceHistory(id, from, to);
     }
     
     /**
@@ -136,8 +604,9 @@ public class PropertyController {
      * La respuesta incluye la propiedad creada con su ID asignado.</p>
      * 
      * @param createPropertyDto DTO con los datos de la nueva propiedad
+     * @param accept Formato pedido (JSON, CBOR o Smile)
      * @return La propiedad creada como {@link PropertyDto} con su ID asignado
-     * @throws IllegalArgumentException si los datos proporcionados son inválidos
+     * @throws com.devsenior.cdiaz.property.service.exception.InvalidRequestException si los datos proporcionados son inválidos
      * @throws Exception si ocurre un error interno en el servidor
      * 
      * @apiNote Ejemplo de request body:
@@ -149,16 +618,58 @@ public class PropertyController {
      *   "bedrooms": 3,
      *   "bathrooms": 2,
      *   "imageUrl": "https://example.com/image.jpg",
-     *   "description": "Hermosa casa en el centro"
+     *   "description": "Hermosa casa en el centro",
+     *   "latitude": 40.4168,
+     *   "longitude": -3.7038
      * }
      * </pre>
      * 
      * @apiNote Código de respuesta: 201 Created
      */
     @PostMapping
-    @ResponseStatus(HttpStatus.CREATED)
-    public PropertyDto createProperty(@RequestBody CreatePropertyDto createPropertyDto) {
-        return propertyService.save(createPropertyDto);
+    public ResponseEntity<PropertyDto> createProperty(
+            @RequestBody CreatePropertyDto createPropertyDto,
+            @RequestHeader(value = HttpHeaders.ACCEPT, required = false) String accept) {
+        PropertyDto property = propertyService.save(createPropertyDto);
+        return ResponseEntity.status(HttpStatus.CREATED)
+                .eTag(PropertyEtags.of(property, readCoalescer.negotiate(accept)))
+                .body(property);
+    }
+    
+    /**
+     * Crea propiedades de forma masiva.
+     * 
+     * <p>Acepta un arreglo JSON ({@code application/json}) o un stream NDJSON
+     * ({@code application/x-ndjson}) de {@link CreatePropertyDto}. Las filas se
+     * leen de forma incremental y se insertan en bloques mediante batching JDBC.
+     * Una fila inválida no impide la creación de las demás: la respuesta
+     * informa el resultado de cada fila.</p>
+     * 
+     * @param body Cuerpo de la solicitud con las propiedades a crear
+     * @return Resumen de la importación con el resultado por fila
+     * @throws IOException si no se puede leer el cuerpo de la solicitud
+     * 
+     * @apiNote Ejemplo de respuesta:
+     * <pre>
+     * {
+     *   "total": 2,
+     *   "created": 1,
+     *   "failed": 1,
+     *   "elapsedMillis": 12,
+     *   "rowsPerSecond": 83.3,
+     *   "rows": [
+     *     { "index": 0, "status": "CREATED", "id": 51, "error": null },
+     *     { "index": 1, "status": "FAILED", "id": null, "error": "La ciudad es obligatoria" }
+     *   ]
+     * }
+     * </pre>
+     */
+    @PostMapping(value = "/bulk", consumes = { MediaType.APPLICATION_JSON_VALUE, "application/x-ndjson" })
+    public BulkImportResultDto bulkCreateProperties(InputStream body) throws IOException {
+        // readValues recorre tanto los elementos de un arreglo raíz como valores separados por línea
+        try (MappingIterator<CreatePropertyDto> rows = objectMapper.readerFor(CreatePropertyDto.class).readValues(body)) {
+            return propertyImportService.importAll(rows);
+        }
     }
     
     /**
@@ -168,12 +679,20 @@ public class PropertyController {
      * existente. Si la propiedad no existe, se lanza una excepción que
      * resulta en una respuesta HTTP 404 (Not Found).</p>
      * 
+     * <p>Si se envía {@code If-Match} con el ETag leído previamente y la
+     * propiedad cambió desde entonces, se responde 412 (Precondition Failed)
+     * en lugar de sobrescribir la modificación concurrente.</p>
+     * 
      * @param id Identificador único de la propiedad a actualizar
+     * @param ifMatch ETag esperado (opcional)
      * @param updatePropertyDto DTO con los nuevos datos de la propiedad
-     * @return La propiedad actualizada como {@link PropertyDto}
+     * @param accept Formato pedido (JSON, CBOR o Smile)
+     * @return La propiedad actualizada como {@link PropertyDto}, con su nuevo ETag
      * @throws com.devsenior.cdiaz.property.service.exception.PropertyNotFoundException 
      *         si la propiedad con el ID especificado no existe
-     * @throws IllegalArgumentException si los datos proporcionados son inválidos
+     * @throws com.devsenior.cdiaz.property.service.exception.PropertyVersionConflictException 
+     *         si la versión no coincide con {@code If-Match}
+     * @throws com.devsenior.cdiaz.property.service.exception.InvalidRequestException si los datos proporcionados son inválidos
      * 
      * @apiNote Ejemplo de request body:
      * <pre>
@@ -189,8 +708,48 @@ public class PropertyController {
      * </pre>
      */
     @PutMapping("/{id}")
-    public PropertyDto updateProperty(@PathVariable Long id, @RequestBody UpdatePropertyDto updatePropertyDto) {
-        return propertyService.update(id, updatePropertyDto);
+    public ResponseEntity<PropertyDto> updateProperty(
+            @PathVariable Long id,
+            @RequestHeader(value = HttpHeaders.IF_MATCH, required = false) String ifMatch,
+            @RequestBody UpdatePropertyDto updatePropertyDto,
+            @RequestHeader(value = HttpHeaders.ACCEPT, required = false) String accept) {
+        PropertyDto property = propertyService.update(id, updatePropertyDto, PropertyEtags.expectedVersion(ifMatch));
+        return ResponseEntity.ok().eTag(PropertyEtags.of(property, readCoalescer.negotiate(accept))).body(property);
+    }
+    
+    /**
+     * Actualiza parcialmente una propiedad existente.
+     * 
+     * <p>Solo se modifican las columnas de los campos presentes (no nulos)
+     * en el cuerpo; el resto conserva su valor. La actualización se ejecuta
+     * en una única sentencia. Si la propiedad no existe, se responde con
+     * HTTP 404 (Not Found). Admite {@code If-Match} igual que PUT.</p>
+     * 
+     * @param id Identificador único de la propiedad a actualizar
+     * @param ifMatch ETag esperado (opcional)
+     * @param changes DTO con los campos a modificar
+     * @param accept Formato pedido (JSON, CBOR o Smile)
+     * @return La propiedad actualizada como {@link PropertyDto}, con su nuevo ETag
+     * @throws com.devsenior.cdiaz.property.service.exception.PropertyNotFoundException 
+     *         si la propiedad con el ID especificado no existe
+     * @throws com.devsenior.cdiaz.property.service.exception.PropertyVersionConflictException 
+     *         si la versión no coincide con {@code If-Match}
+     * 
+     * @apiNote Ejemplo de request body:
+     * <pre>
+     * {
+     *   "price": 245000.0
+     * }
+     * </pre>
+     */
+    @PatchMapping("/{id}")
+    public ResponseEntity<PropertyDto> patchProperty(
+            @PathVariable Long id,
+            @RequestHeader(value = HttpHeaders.IF_MATCH, required = false) String ifMatch,
+            @RequestBody UpdatePropertyDto changes,
+            @RequestHeader(value = HttpHeaders.ACCEPT, required = false) String accept) {
+        PropertyDto property = propertyService.patch(id, changes, PropertyEtags.expectedVersion(ifMatch));
+        return ResponseEntity.ok().eTag(PropertyEtags.of(property, readCoalescer.negotiate(accept))).body(property);
     }
     
     /**
@@ -198,18 +757,24 @@ public class PropertyController {
      * 
      * <p>Este endpoint elimina permanentemente una propiedad del sistema.
      * Si la propiedad no existe, se lanza una excepción que resulta en
-     * una respuesta HTTP 404 (Not Found).</p>
+     * una respuesta HTTP 404 (Not Found). Con {@code If-Match}, solo se
+     * elimina si la versión coincide; si no, se responde 412.</p>
      * 
      * @param id Identificador único de la propiedad a eliminar
+     * @param ifMatch ETag esperado (opcional)
      * @throws com.devsenior.cdiaz.property.service.exception.PropertyNotFoundException 
      *         si la propiedad con el ID especificado no existe
+     * @throws com.devsenior.cdiaz.property.service.exception.PropertyVersionConflictException 
+     *         si la versión no coincide con {@code If-Match}
      * 
      * @apiNote Código de respuesta: 204 No Content
      */
     @DeleteMapping("/{id}")
     @ResponseStatus(HttpStatus.NO_CONTENT)
-    public void deleteProperty(@PathVariable Long id) {
-        propertyService.deleteById(id);
+    public void deleteProperty(
+            @PathVariable Long id,
+            @RequestHeader(value = HttpHeaders.IF_MATCH, required = false) String ifMatch) {
+        propertyService.deleteById(id, PropertyEtags.expectedVersion(ifMatch));
     }
     
     /**
@@ -229,4 +794,43 @@ public class PropertyController {
     public boolean existsById(@PathVariable Long id) {
         return propertyService.existsById(id);
     }
+    
+    /**
+     * Verifica qué propiedades existen de una lista de identificadores.
+     * 
+     * <p>Equivale a varias llamadas a {@code /exists/{id}} resueltas con una
+     * consulta que solo lee IDs del índice de la clave primaria, una por cada
+     * bloque de {@value com.devsenior.cdiaz.property.service.repository.PropertyRepository#ID_BATCH_SIZE}
+     * IDs.</p>
+     * 
+     * @param ids IDs separados por comas, como máximo {@value PropertyService#MAX_BATCH_IDS}
+     * @return IDs existentes e inexistentes, en el orden pedido, como {@link PropertyExistenceDto}
+     * @throws com.devsenior.cdiaz.property.service.exception.InvalidRequestException si la lista está vacía o es demasiado larga
+     * 
+     * @apiNote Ejemplo de uso: GET /api/properties/exists?ids=1,2,999
+     * <br>Ejemplo de respuesta: { "existing": [1, 2], "missing": [999] }
+     */
+    @GetMapping("/exists")
+    public PropertyExistenceDto existsByIds(@RequestParam List<Long> ids) {
+        return propertyService.existsByIds(ids);
+    }
+    
+    // Cuerpo ya serializado: Spring lo escribe tal cual y sigue respondiendo 304 si coincide el ETag
+    private static ResponseEntity<byte[]> shared(PropertyReadCoalescer.SerializedResponse response) {
+        return ResponseEntity.ok()
+                .contentType(response.contentType())
+                .eTag(response.eTag())
+                .varyBy(HttpHeaders.ACCEPT)
+                .body(response.body());
+    }
+    
+    // Con una selección parcial, el filtro de PropertyDto deja pasar solo esos campos
+    private static MappingJacksonValue withFields(Object body, PropertyFields fields) {
+        MappingJacksonValue value = new MappingJacksonValue(body);
+        if (!fields.isAll()) {
+            value.setFilters(new SimpleFilterProvider().addFilter(PropertyDto.FIELDS_FILTER,
+                    SimpleBeanPropertyFilter.filterOutAllExcept(fields.names())));
+        }
+        return value;
+    }
 } 
\ No newline at end of file
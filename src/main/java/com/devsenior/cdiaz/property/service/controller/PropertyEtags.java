@@ -0,0 +1,117 @@
+package com.devsenior.cdiaz.property.service.controller;
+
+import com.devsenior.cdiaz.property.service.exception.PropertyVersionConflictException;
+import com.devsenior.cdiaz.property.service.model.dto.PropertyDto;
+import com.devsenior.cdiaz.property.service.model.dto.PropertyFields;
+import org.springframework.http.MediaType;
+
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Construcción y lectura de los ETag de propiedades.
+ *
+ * <p>El ETag de una propiedad es su versión. El de un listado se calcula a partir
+ * de los pares (ID, versión) de sus elementos, sin serializar el cuerpo: cualquier
+ * alta, baja o modificación de un elemento lo cambia. Es un ETag débil, porque identifica
+ * el contenido y no los bytes (comprimido o no con gzip); Tomcat no comprime las
+ * respuestas con ETag fuerte.</p>
+ *
+ * <p>JSON, CBOR y Smile son representaciones distintas del mismo recurso: los ETag de CBOR y Smile
+ * llevan el formato como sufijo ({@code "v3-cbor"}) para que una caché no confunda sus cuerpos.
+ * JSON conserva el ETag sin sufijo. {@code If-Match} admite el ETag de cualquiera de los
+ * formatos, porque todos identifican la misma versión.</p>
+ */
+final class PropertyEtags {
+
+    private static final long FNV_OFFSET = 0xcbf29ce484222325L;
+    private static final long FNV_PRIME = 0x100000001b3L;
+
+    private static final Map<MediaType, String> FORMAT_SUFFIXES = Map.of(
+            MediaType.APPLICATION_CBOR, "cbor",
+            new MediaType("application", "x-jackson-smile"), "smile");
+
+    private PropertyEtags() {
+    }
+
+    static String of(PropertyDto property) {
+        return "\"v" + property.getVersion() + "\"";
+    }
+
+    static String of(PropertyDto property, MediaType format) {
+        return inFormat(of(property), format);
+    }
+
+    static String of(List<PropertyDto> properties) {
+        long hash = FNV_OFFSET;
+        for (PropertyDto property : properties) {
+            hash = mix(hash, property.getId());
+            hash = mix(hash, property.getVersion());
+        }
+        return "W/\"l" + properties.size() + "-" + Long.toHexString(hash) + "\"";
+    }
+
+    // Una selección parcial de campos es otra representación del mismo listado: lleva otro ETag
+    static String of(List<PropertyDto> properties, PropertyFields fields) {
+        String tag = of(properties);
+        if (fields.isAll()) {
+            return tag;
+        }
+        return tag.substring(0, tag.length() - 1) + "-f" + Integer.toHexString(fields.names().hashCode()) + "\"";
+    }
+
+    static String of(List<PropertyDto> properties, PropertyFields fields, MediaType format) {
+        return inFormat(of(properties, fields), format);
+    }
+
+    /**
+     * Obtiene la versión esperada a partir de la cabecera {@code If-Match}.
+     *
+     * @return la versión, o {@code null} si la cabecera no está presente o es {@code *}
+     * @throws PropertyVersionConflictException si la cabecera no corresponde a una versión
+     */
+    static Long expectedVersion(String ifMatch) {
+        if (ifMatch == null || ifMatch.isBlank() || "*".equals(ifMatch.trim())) {
+            return null;
+        }
+        String tag = ifMatch.trim();
+        if (tag.startsWith("W/")) {
+            // Las comparaciones de If-Match son fuertes: un ETag débil nunca coincide
+            throw new PropertyVersionConflictException("If-Match no admite ETag débiles: " + ifMatch);
+        }
+        if (tag.length() < 4 || !tag.startsWith("\"v") || !tag.endsWith("\"")) {
+            throw new PropertyVersionConflictException("ETag no reconocido en If-Match: " + ifMatch);
+        }
+        String version = tag.substring(2, tag.length() - 1);
+        int suffix = version.indexOf('-');
+        if (suffix >= 0) {
+            if (!FORMAT_SUFFIXES.containsValue(version.substring(suffix + 1))) {
+                throw new PropertyVersionConflictException("ETag no reconocido en If-Match: " + ifMatch);
+            }
+            version = version.substring(0, suffix);
+        }
+        try {
+            return Long.parseLong(version);
+        } catch (NumberFormatException ex) {
+            throw new PropertyVersionConflictException("ETag no reconocido en If-Match: " + ifMatch);
+        }
+    }
+
+    // Sin formato (no se pudo negociar) o JSON: el ETag no lleva sufijo
+    private static String inFormat(String tag, MediaType format) {
+        String suffix = format == null ? null : FORMAT_SUFFIXES.get(format);
+        if (suffix == null) {
+            return tag;
+        }
+        return tag.substring(0, tag.length() - 1) + "-" + suffix + "\"";
+    }
+
+    private static long mix(long hash, Long value) {
+        long v = value == null ? 0L : value;
+        for (int i = 0; i < Long.BYTES; i++) {
+            hash ^= (v >>> (i * 8)) & 0xff;
+            hash *= FNV_PRIME;
+        }
+        return hash;
+    }
+}
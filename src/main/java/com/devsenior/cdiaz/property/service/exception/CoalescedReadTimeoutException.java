@@ -0,0 +1,12 @@
+package com.devsenior.cdiaz.property.service.exception;
+
+/**
+ * Indica que una lectura agrupada con otras idénticas no terminó dentro del tiempo máximo de
+ * espera. Es transitoria: el cliente puede reintentar.
+ */
+public class CoalescedReadTimeoutException extends RuntimeException {
+
+    public CoalescedReadTimeoutException(String message) {
+        super(message);
+    }
+}
@@ -0,0 +1,14 @@
+package com.devsenior.cdiaz.property.service.exception;
+
+import java.sql.SQLTransientConnectionException;
+
+/**
+ * Indica que no se obtuvo turno para usar una conexión de base de datos dentro del tiempo
+ * máximo de espera. Es transitoria: el cliente puede reintentar.
+ */
+public class DatabaseBusyException extends SQLTransientConnectionException {
+    
+    public DatabaseBusyException(String message) {
+        super(message);
+    }
+}
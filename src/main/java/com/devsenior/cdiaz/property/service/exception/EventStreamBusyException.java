@@ -0,0 +1,12 @@
+package com.devsenior.cdiaz.property.service.exception;
+
+/**
+ * Indica que se alcanzó el máximo de suscripciones simultáneas al flujo de eventos. El cliente
+ * puede reintentar más tarde.
+ */
+public class EventStreamBusyException extends RuntimeException {
+
+    public EventStreamBusyException(String message) {
+        super(message);
+    }
+}
@@ -3,9 +3,14 @@ package com.devsenior.cdiaz.property.service.exception;
 import java.util.HashMap;
 import java.util.Map;
 
+import org.springframework.core.NestedExceptionUtils;
+import org.springframework.dao.DataAccessResourceFailureException;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.validation.FieldError;
+import org.springframework.transaction.CannotCreateTransactionException;
 import org.springframework.web.bind.MethodArgumentNotValidException;
 import org.springframework.web.bind.annotation.ExceptionHandler;
 import org.springframework.web.bind.annotation.RestControllerAdvice;
@@ -18,7 +23,7 @@ public class GlobalExceptionHandler {
     
     @ExceptionHandler(AuthenticationException.class)
     public ResponseEntity<ErrorResponse> handleAuthenticationException(AuthenticationException ex) {
-        log.error("Error de autenticación: {}", ex.getMessage());
+        log.warn("Error de autenticación: {}", ex.getMessage());
         
         ErrorResponse error = new ErrorResponse(
             HttpStatus.UNAUTHORIZED.value(),
@@ -32,7 +37,7 @@ public class GlobalExceptionHandler {
     
     @ExceptionHandler(UserNotFoundException.class)
     public ResponseEntity<ErrorResponse> handleUserNotFoundException(UserNotFoundException ex) {
-        log.error("Usuario no encontrado: {}", ex.getMessage());
+        log.warn("Usuario no encontrado: {}", ex.getMessage());
         
         ErrorResponse error = new ErrorResponse(
             HttpStatus.NOT_FOUND.value(),
@@ -44,6 +49,149 @@ public class GlobalExceptionHandler {
         return ResponseEntity.status(HttpStatus.NOT_FOUND).body(error);
     }
     
+    @ExceptionHandler(PropertyNotFoundException.class)
+    public ResponseEntity<ErrorResponse> handlePropertyNotFoundException(PropertyNotFoundException ex) {
+        log.warn("Propiedad no encontrada: {}", ex.getMessage());
+        
+        ErrorResponse error = new ErrorResponse(
+            HttpStatus.NOT_FOUND.value(),
+            "Propiedad No Encontrada",
+            ex.getMessage(),
+            "N/A"
+        );
+        
+        return ResponseEntity.status(HttpStatus.NOT_FOUND).body(error);
+    }
+    
+    @ExceptionHandler(ImageNotFoundException.class)
+    public ResponseEntity<ErrorResponse> handleImageNotFoundException(ImageNotFoundException ex) {
+        log.debug("Imagen no encontrada: {}", ex.getMessage());
+        
+        ErrorResponse error = new ErrorResponse(
+            HttpStatus.NOT_FOUND.value(),
+            "Imagen No Encontrada",
+            ex.getMessage(),
+            "N/A"
+        );
+        
+        return ResponseEntity.status(HttpStatus.NOT_FOUND).body(error);
+    }
+    
+    @ExceptionHandler(PropertyVersionConflictException.class)
+    public ResponseEntity<ErrorResponse> handlePropertyVersionConflictException(PropertyVersionConflictException ex) {
+        log.warn("Conflicto de versión: {}", ex.getMessage());
+        
+        ErrorResponse error = new ErrorResponse(
+            HttpStatus.PRECONDITION_FAILED.value(),
+            "Precondición Fallida",
+            ex.getMessage(),
+            "N/A"
+        );
+        
+        return ResponseEntity.status(HttpStatus.PRECONDITION_FAILED).body(error);
+    }
+    
+    @ExceptionHandler({CannotCreateTransactionException.class, DataAccessResourceFailureException.class})
+    public ResponseEntity<ErrorResponse> handleDatabaseUnavailable(Exception ex) {
+        Throwable cause = NestedExceptionUtils.getMostSpecificCause(ex);
+        boolean busy = cause instanceof DatabaseBusyException;
+        if (busy) {
+            log.warn("Base de datos saturada: {}", cause.getMessage());
+        } else {
+            log.error("Base de datos no disponible: {}", cause.getMessage(), ex);
+        }
+        
+        ErrorResponse error = new ErrorResponse(
+            HttpStatus.SERVICE_UNAVAILABLE.value(),
+            "Servicio No Disponible",
+            busy ? "El servicio está saturado, intente de nuevo en unos segundos" : "Base de datos no disponible",
+            "N/A"
+        );
+        
+        return ResponseEntity.status(HttpStatus.SERVICE_UNAVAILABLE)
+                .header(HttpHeaders.RETRY_AFTER, "1")
+                .body(error);
+    }
+    
+    @ExceptionHandler(LoginRateLimitedException.class)
+    public ResponseEntity<ErrorResponse> handleLoginRateLimitedException(LoginRateLimitedException ex) {
+        // Sin log por rechazo: durante un ataque serían miles de líneas; ver /api/auth/rate-limit/stats
+        ErrorResponse error = new ErrorResponse(
+            HttpStatus.TOO_MANY_REQUESTS.value(),
+            "Demasiadas Solicitudes",
+            ex.getMessage(),
+            "N/A"
+        );
+        
+        return ResponseEntity.status(HttpStatus.TOO_MANY_REQUESTS)
+                .header(HttpHeaders.RETRY_AFTER, String.valueOf(ex.getRetryAfterSeconds()))
+                .body(error);
+    }
+    
+    @ExceptionHandler(PasswordHashingBusyException.class)
+    public ResponseEntity<ErrorResponse> handlePasswordHashingBusyException(PasswordHashingBusyException ex) {
+        log.warn("Hashing de contraseñas saturado: {}", ex.getMessage());
+        
+        ErrorResponse error = new ErrorResponse(
+            HttpStatus.TOO_MANY_REQUESTS.value(),
+            "Demasiadas Solicitudes",
+            ex.getMessage(),
+            "N/A"
+        );
+        
+        return ResponseEntity.status(HttpStatus.TOO_MANY_REQUESTS)
+                .header(HttpHeaders.RETRY_AFTER, "1")
+                .body(error);
+    }
+    
+    @ExceptionHandler(EventStreamBusyException.class)
+    public ResponseEntity<ErrorResponse> handleEventStreamBusyException(EventStreamBusyException ex) {
+        log.warn("Flujo de eventos saturado: {}", ex.getMessage());
+        
+        ErrorResponse error = new ErrorResponse(
+            HttpStatus.SERVICE_UNAVAILABLE.value(),
+            "Servicio No Disponible",
+            ex.getMessage(),
+            "N/A"
+        );
+        
+        // El cliente pidió text/event-stream: el tipo se fija para que el error se pueda escribir en JSON
+        return ResponseEntity.status(HttpStatus.SERVICE_UNAVAILABLE)
+                .header(HttpHeaders.RETRY_AFTER, "5")
+                .contentType(MediaType.APPLICATION_JSON)
+                .body(error);
+    }
+    
+    @ExceptionHandler(CoalescedReadTimeoutException.class)
+    public ResponseEntity<ErrorResponse> handleCoalescedReadTimeoutException(CoalescedReadTimeoutException ex) {
+        log.warn("Lectura agrupada sin respuesta: {}", ex.getMessage());
+        
+        ErrorResponse error = new ErrorResponse(
+            HttpStatus.SERVICE_UNAVAILABLE.value(),
+            "Servicio No Disponible",
+            "El servicio está saturado, intente de nuevo en unos segundos",
+            "N/A"
+        );
+        
+        return ResponseEntity.status(HttpStatus.SERVICE_UNAVAILABLE)
+                .header(HttpHeaders.RETRY_AFTER, "1")
+                .body(error);
+    }
+    
+    @ExceptionHandler(InvalidRequestException.class)
+    public ResponseEntity<ErrorResponse> handleInvalidRequestException(InvalidRequestException ex) {
+        log.warn("Solicitud inválida: {}", ex.getMessage());
+        
+        ErrorResponse error = new ErrorResponse(
+            HttpStatus.BAD_REQUEST.value(),
+            "Solicitud Inválida",
+            ex.getMessage(),
+            "N/A"
+        );
+        
+        return ResponseEntity.status(HttpStatus.BAD_REQUEST).body(error);
+    }
+    
     @ExceptionHandler(MethodArgumentNotValidException.class)
     public ResponseEntity<ErrorResponse> handleValidationExceptions(MethodArgumentNotValidException ex) {
         log.error("Error de validación: {}", ex.getMessage());
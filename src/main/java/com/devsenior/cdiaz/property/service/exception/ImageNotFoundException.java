@@ -0,0 +1,8 @@
+package com.devsenior.cdiaz.property.service.exception;
+
+public class ImageNotFoundException extends RuntimeException {
+    
+    public ImageNotFoundException(String key, String fileName) {
+        super("Imagen no encontrada: " + key + "/" + fileName);
+    }
+}
@@ -0,0 +1,20 @@
+package com.devsenior.cdiaz.property.service.exception;
+
+/**
+ * Indica que los parámetros de la petición no son válidos (cursor, página, IDs, campos,
+ * filtros...). Se responde 400 con el mensaje, que debe poder leerlo el cliente.
+ *
+ * <p>Las validaciones propias lanzan esta excepción y no {@link IllegalArgumentException}: una
+ * {@code IllegalArgumentException} de Spring, Hibernate o Jackson indica un error interno y no
+ * debe llegar al cliente como 400.</p>
+ */
+public class InvalidRequestException extends RuntimeException {
+
+    public InvalidRequestException(String message) {
+        super(message);
+    }
+
+    public InvalidRequestException(String message, Throwable cause) {
+        super(message, cause);
+    }
+}
@@ -0,0 +1,18 @@
+package com.devsenior.cdiaz.property.service.exception;
+
+import lombok.Getter;
+
+/**
+ * Intento de login rechazado por el limitador. No captura la traza de pila: durante un ataque
+ * se lanza miles de veces y la traza no aporta información.
+ */
+@Getter
+public class LoginRateLimitedException extends RuntimeException {
+
+    private final long retryAfterSeconds;
+
+    public LoginRateLimitedException(String message, long retryAfterSeconds) {
+        super(message, null, false, false);
+        this.retryAfterSeconds = retryAfterSeconds;
+    }
+}
@@ -0,0 +1,11 @@
+package com.devsenior.cdiaz.property.service.exception;
+
+/**
+ * Indica que el ejecutor de hashing de contraseñas está saturado. El cliente puede reintentar.
+ */
+public class PasswordHashingBusyException extends RuntimeException {
+
+    public PasswordHashingBusyException(String message) {
+        super(message);
+    }
+}
@@ -0,0 +1,12 @@
+package com.devsenior.cdiaz.property.service.exception;
+
+public class PropertyVersionConflictException extends RuntimeException {
+    
+    public PropertyVersionConflictException(String message) {
+        super(message);
+    }
+    
+    public PropertyVersionConflictException(Long id, Long expectedVersion) {
+        super("La propiedad con ID " + id + " fue modificada; versión esperada: " + expectedVersion);
+    }
+}
@@ -2,19 +2,34 @@ package com.devsenior.cdiaz.property.service.mapper;
 
 import com.devsenior.cdiaz.property.service.model.dto.CreatePropertyDto;
 import com.devsenior.cdiaz.property.service.model.dto.PropertyDto;
+import com.devsenior.cdiaz.property.service.model.dto.PropertyEventDto;
 import com.devsenior.cdiaz.property.service.model.dto.UpdatePropertyDto;
 import com.devsenior.cdiaz.property.service.model.entity.Property;
+import com.devsenior.cdiaz.property.service.model.entity.PropertyEvent;
 import org.mapstruct.Mapper;
 import org.mapstruct.Mapping;
 
 @Mapper(componentModel = "spring")
 public interface PropertyMapper {
     
+    // imageVariants se deriva de imageKey en el propio DTO
+    @Mapping(target = "imageVariants", ignore = true)
     PropertyDto toDto(Property property);
     
     @Mapping(target = "id", ignore = true)
+    @Mapping(target = "cityKey", ignore = true)
+    @Mapping(target = "version", ignore = true)
+    @Mapping(target = "imageKey", ignore = true)
     Property toEntity(CreatePropertyDto createPropertyDto);
     
     @Mapping(target = "id", ignore = true)
+    @Mapping(target = "cityKey", ignore = true)
+    @Mapping(target = "version", ignore = true)
+    @Mapping(target = "imageKey", ignore = true)
     Property toEntity(UpdatePropertyDto updatePropertyDto);
-} 
\ No newline at end of file
+    
+    // Solo para eventos ya publicados (con número de secuencia)
+    @Mapping(target = "occurredAt", source = "createdAt")
+    @Mapping(target = "property", source = "payload")
+    PropertyEventDto toEventDto(PropertyEvent event);
+}
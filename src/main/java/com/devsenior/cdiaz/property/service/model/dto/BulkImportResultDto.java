@@ -0,0 +1,22 @@
+package com.devsenior.cdiaz.property.service.model.dto;
+
+import java.util.List;
+
+/**
+ * Resumen de una importación masiva de propiedades.
+ *
+ * @param total filas recibidas
+ * @param created filas creadas
+ * @param failed filas rechazadas
+ * @param elapsedMillis duración total de la importación
+ * @param rowsPerSecond filas creadas por segundo
+ * @param rows resultado individual de cada fila, en el orden de entrada
+ */
+public record BulkImportResultDto(
+        int total,
+        int created,
+        int failed,
+        long elapsedMillis,
+        double rowsPerSecond,
+        List<BulkImportRowResultDto> rows) {
+}
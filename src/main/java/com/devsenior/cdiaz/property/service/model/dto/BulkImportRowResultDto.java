@@ -0,0 +1,24 @@
+package com.devsenior.cdiaz.property.service.model.dto;
+
+/**
+ * Resultado de una fila de la importación masiva.
+ *
+ * @param index posición de la fila en la entrada (base cero)
+ * @param status {@code CREATED} o {@code FAILED}
+ * @param id ID asignado si la fila se creó
+ * @param error motivo del fallo si la fila no se creó
+ */
+public record BulkImportRowResultDto(
+        int index,
+        String status,
+        Long id,
+        String error) {
+
+    public static BulkImportRowResultDto created(int index, Long id) {
+        return new BulkImportRowResultDto(index, "CREATED", id, null);
+    }
+
+    public static BulkImportRowResultDto failed(int index, String error) {
+        return new BulkImportRowResultDto(index, "FAILED", null, error);
+    }
+}
@@ -0,0 +1,13 @@
+package com.devsenior.cdiaz.property.service.model.dto;
+
+/**
+ * Estadísticas de una región de caché.
+ */
+public record CacheStatsDto(
+        String name,
+        long size,
+        long hitCount,
+        long missCount,
+        double hitRate,
+        long evictionCount) {
+}
@@ -0,0 +1,14 @@
+package com.devsenior.cdiaz.property.service.model.dto;
+
+import com.fasterxml.jackson.annotation.JsonUnwrapped;
+
+/**
+ * Propiedad encontrada en una búsqueda por cercanía, con su distancia al punto consultado.
+ *
+ * @param property datos de la propiedad (se serializan al mismo nivel que la distancia)
+ * @param distanceKm distancia de círculo máximo en kilómetros
+ */
+public record NearbyPropertyDto(
+        @JsonUnwrapped PropertyDto property,
+        double distanceKm) {
+}
@@ -0,0 +1,14 @@
+package com.devsenior.cdiaz.property.service.model.dto;
+
+import java.util.List;
+
+/**
+ * Resultado de una lectura de varias propiedades por ID.
+ *
+ * @param items propiedades encontradas, en el orden en que se pidieron (sin repetidas)
+ * @param missing IDs pedidos que no existen, también en el orden de la petición
+ */
+public record PropertyBatchDto(
+        List<PropertyDto> items,
+        List<Long> missing) {
+}
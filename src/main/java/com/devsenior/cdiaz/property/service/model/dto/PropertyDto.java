@@ -1,14 +1,22 @@
 package com.devsenior.cdiaz.property.service.model.dto;
 
+import com.fasterxml.jackson.annotation.JsonFilter;
+import com.fasterxml.jackson.annotation.JsonIgnore;
 import lombok.AllArgsConstructor;
 import lombok.Data;
 import lombok.NoArgsConstructor;
 
+import java.util.Map;
+
 @Data
 @NoArgsConstructor
 @AllArgsConstructor
+// Filtro para el parámetro fields; sin filtro registrado se serializan todos los campos
+@JsonFilter(PropertyDto.FIELDS_FILTER)
 public class PropertyDto {
     
+    public static final String FIELDS_FILTER = "propertyFields";
+    
     private Long id;
     private String address;
     private String city;
@@ -17,4 +25,19 @@ public class PropertyDto {
     private Integer bathrooms;
     private String imageUrl;
     private String description;
+    private Double latitude;
+    private Double longitude;
+    
+    // Se publica en la cabecera ETag, no en el cuerpo
+    @JsonIgnore
+    private Long version;
+    
+    // Clave de las miniaturas; en el cuerpo se publican sus URLs (imageVariants)
+    @JsonIgnore
+    private String imageKey;
+    
+    // URLs de las miniaturas por nombre de archivo; null hasta que el pipeline procesa la imagen
+    public Map<String, String> getImageVariants() {
+        return PropertyImageVariants.urls(imageKey);
+    }
 } 
\ No newline at end of file
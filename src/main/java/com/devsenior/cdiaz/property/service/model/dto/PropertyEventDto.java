@@ -0,0 +1,25 @@
+package com.devsenior.cdiaz.property.service.model.dto;
+
+import com.fasterxml.jackson.annotation.JsonRawValue;
+
+import java.time.Instant;
+
+/**
+ * Cambio de una propiedad publicado en el flujo de eventos.
+ *
+ * @param seq número de secuencia, creciente y sin huecos; sirve para reanudar el flujo
+ * @param type {@code CREATED}, {@code UPDATED} o {@code DELETED}
+ * @param propertyId ID de la propiedad
+ * @param version versión de la propiedad tras el cambio; {@code null} en los borrados
+ * @param occurredAt momento de la escritura
+ * @param property la propiedad tras el cambio, como en {@code GET /api/properties/{id}};
+ *                 {@code null} en los borrados
+ */
+public record PropertyEventDto(
+        long seq,
+        String type,
+        Long propertyId,
+        Long version,
+        Instant occurredAt,
+        @JsonRawValue String property) {
+}
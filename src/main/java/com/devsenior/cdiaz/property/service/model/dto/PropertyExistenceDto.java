@@ -0,0 +1,14 @@
+package com.devsenior.cdiaz.property.service.model.dto;
+
+import java.util.List;
+
+/**
+ * Resultado de una comprobación de existencia de varias propiedades.
+ *
+ * @param existing IDs que existen, en el orden de la petición (sin repetidos)
+ * @param missing IDs que no existen, en el orden de la petición
+ */
+public record PropertyExistenceDto(
+        List<Long> existing,
+        List<Long> missing) {
+}
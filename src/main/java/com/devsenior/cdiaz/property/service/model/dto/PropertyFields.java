@@ -0,0 +1,75 @@
+package com.devsenior.cdiaz.property.service.model.dto;
+
+import com.devsenior.cdiaz.property.service.exception.InvalidRequestException;
+
+import java.util.Collections;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Set;
+
+/**
+ * Campos de {@link PropertyDto} que se deben incluir en un listado (parámetro {@code fields}).
+ *
+ * <p>El ID se incluye siempre: lo necesitan el cursor de paginación y el ETag.
+ * {@code imageVariants} se calcula a partir del atributo {@code imageKey} de la entidad.</p>
+ *
+ * @param names campos seleccionados, en el orden de {@link #ALLOWED}
+ */
+public record PropertyFields(Set<String> names) {
+
+    public static final List<String> ALLOWED = List.of(
+            "id", "address", "city", "price", "bedrooms", "bathrooms",
+            "imageUrl", "imageVariants", "description", "latitude", "longitude");
+
+    public static final PropertyFields ALL = new PropertyFields(Set.copyOf(ALLOWED));
+
+    public PropertyFields {
+        names = Collections.unmodifiableSet(new LinkedHashSet<>(names));
+    }
+
+    /**
+     * Interpreta una lista separada por comas, por ejemplo {@code city,price,imageUrl}.
+     *
+     * @return los campos indicados, o {@link #ALL} si la lista es nula o vacía
+     * @throws InvalidRequestException si algún campo no existe
+     */
+    public static PropertyFields parse(String fields) {
+        if (fields == null || fields.isBlank()) {
+            return ALL;
+        }
+        Set<String> requested = new LinkedHashSet<>();
+        for (String field : fields.split(",")) {
+            String name = field.trim();
+            if (name.isEmpty()) {
+                continue;
+            }
+            if (!ALLOWED.contains(name)) {
+                throw new InvalidRequestException("Campo desconocido en fields: " + name
+                        + ". Campos permitidos: " + String.join(", ", ALLOWED));
+            }
+            requested.add(name);
+        }
+        Set<String> names = new LinkedHashSet<>();
+        for (String name : ALLOWED) {
+            if ("id".equals(name) || requested.contains(name)) {
+                names.add(name);
+            }
+        }
+        return names.size() == ALLOWED.size() ? ALL : new PropertyFields(names);
+    }
+
+    // Atributos de la entidad que hay que leer para estos campos
+    public Set<String> attributes() {
+        if (!names.contains("imageVariants")) {
+            return names;
+        }
+        Set<String> attributes = new LinkedHashSet<>(names);
+        attributes.remove("imageVariants");
+        attributes.add("imageKey");
+        return attributes;
+    }
+
+    public boolean isAll() {
+        return names.size() == ALLOWED.size();
+    }
+}
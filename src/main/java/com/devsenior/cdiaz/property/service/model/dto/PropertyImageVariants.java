@@ -0,0 +1,97 @@
+package com.devsenior.cdiaz.property.service.model.dto;
+
+import javax.imageio.ImageIO;
+import java.util.Arrays;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+
+/**
+ * Variantes (tamaño y formato) que genera el pipeline de imágenes y sus URLs públicas.
+ *
+ * <p>Los archivos se guardan bajo la clave de contenido de la imagen original
+ * ({@code /api/images/<clave>/thumb.jpg}); si la imagen cambia, cambia la clave y con ella la
+ * URL, así que pueden cachearse sin caducidad. WebP se genera solo si hay un codificador WebP
+ * registrado en {@link ImageIO}: el JDK no trae ninguno.</p>
+ */
+public final class PropertyImageVariants {
+
+    public static final String BASE_PATH = "/api/images/";
+
+    /**
+     * Tamaño de una variante; la altura mantiene la proporción del original.
+     */
+    public record Size(String name, int width) {
+    }
+
+    public enum Format {
+        JPEG("jpg", "image/jpeg"),
+        WEBP("webp", "image/webp");
+
+        private static final List<Format> AVAILABLE = Arrays.stream(values())
+                .filter(format -> ImageIO.getImageWritersByMIMEType(format.mediaType).hasNext())
+                .toList();
+
+        private final String extension;
+        private final String mediaType;
+
+        Format(String extension, String mediaType) {
+            this.extension = extension;
+            this.mediaType = mediaType;
+        }
+
+        public String extension() {
+            return extension;
+        }
+
+        public String mediaType() {
+            return mediaType;
+        }
+
+        // Formatos con codificador disponible en este proceso
+        public static List<Format> available() {
+            return AVAILABLE;
+        }
+    }
+
+    public static final List<Size> SIZES = List.of(new Size("thumb", 320), new Size("medium", 800));
+
+    private PropertyImageVariants() {
+    }
+
+    public static String fileName(Size size, Format format) {
+        return size.name() + "." + format.extension();
+    }
+
+    /**
+     * URLs de todas las variantes, por nombre de archivo ({@code thumb.jpg}, {@code medium.webp}...).
+     *
+     * @return las URLs, o {@code null} si la imagen aún no se ha procesado
+     */
+    public static Map<String, String> urls(String imageKey) {
+        if (imageKey == null) {
+            return null;
+        }
+        Map<String, String> urls = new LinkedHashMap<>();
+        for (Size size : SIZES) {
+            for (Format format : Format.available()) {
+                String fileName = fileName(size, format);
+                urls.put(fileName, BASE_PATH + imageKey + "/" + fileName);
+            }
+        }
+        return urls;
+    }
+
+    // Formato de un nombre de archivo de variante conocido; vacío para cualquier otro nombre
+    public static Optional<Format> formatOf(String fileName) {
+        for (Size size : SIZES) {
+            for (Format format : Format.available()) {
+                if (fileName(size, format).equals(fileName)) {
+                    return Optional.of(format);
+                }
+            }
+        }
+        return Optional.empty();
+    }
+}
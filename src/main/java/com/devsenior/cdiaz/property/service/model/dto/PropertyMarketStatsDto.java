@@ -0,0 +1,14 @@
+package com.devsenior.cdiaz.property.service.model.dto;
+
+import java.util.List;
+
+/**
+ * Estadísticas del catálogo completo y de cada ciudad.
+ *
+ * @param overall estadísticas de todas las propiedades
+ * @param cities estadísticas por ciudad, ordenadas por nombre
+ */
+public record PropertyMarketStatsDto(
+        PropertyStatisticsDto overall,
+        List<PropertyStatisticsDto> cities) {
+}
@@ -0,0 +1,14 @@
+package com.devsenior.cdiaz.property.service.model.dto;
+
+import java.util.List;
+
+/**
+ * Página de propiedades obtenida mediante paginación por cursor (keyset).
+ *
+ * @param items propiedades de la página, ordenadas por ID ascendente
+ * @param next cursor opaco para solicitar la página siguiente, o {@code null} si no hay más
+ */
+public record PropertyPageDto(
+        List<PropertyDto> items,
+        String next) {
+}
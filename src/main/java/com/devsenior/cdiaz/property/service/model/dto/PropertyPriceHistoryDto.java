@@ -0,0 +1,31 @@
+package com.devsenior.cdiaz.property.service.model.dto;
+
+import java.time.Instant;
+import java.util.List;
+
+/**
+ * Evolución del precio de una propiedad en una ventana de tiempo.
+ *
+ * @param propertyId ID de la propiedad
+ * @param from inicio de la ventana (incluido)
+ * @param to fin de la ventana (excluido)
+ * @param points cambios de precio en orden cronológico; el alta figura con {@code previousPrice} nulo
+ * @param truncated {@code true} si la ventana tiene más cambios que los devueltos (se omiten los más antiguos)
+ */
+public record PropertyPriceHistoryDto(
+        Long propertyId,
+        Instant from,
+        Instant to,
+        List<Point> points,
+        boolean truncated) {
+
+    /**
+     * Un cambio de precio.
+     *
+     * @param changedAt momento en que se confirmó el cambio
+     * @param price precio nuevo
+     * @param previousPrice precio anterior, o {@code null} en el alta
+     */
+    public record Point(Instant changedAt, Double price, Double previousPrice) {
+    }
+}
@@ -0,0 +1,80 @@
+package com.devsenior.cdiaz.property.service.model.dto;
+
+import com.devsenior.cdiaz.property.service.exception.InvalidRequestException;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.List;
+import java.util.Locale;
+
+/**
+ * Evolución de los precios de una ciudad: los cambios registrados en una ventana de tiempo,
+ * agregados por intervalo.
+ *
+ * <p>Los intervalos se alinean en UTC (día, semana ISO desde el lunes, mes natural); solo se
+ * devuelven los que tienen cambios.</p>
+ *
+ * @param city ciudad consultada
+ * @param interval tamaño de cada intervalo
+ * @param from inicio de la ventana (incluido)
+ * @param to fin de la ventana (excluido)
+ * @param buckets agregados por intervalo, en orden cronológico
+ */
+public record PropertyPriceTrendDto(
+        String city,
+        Interval interval,
+        Instant from,
+        Instant to,
+        List<Bucket> buckets) {
+
+    public enum Interval {
+        DAY(Duration.ofDays(1)),
+        WEEK(Duration.ofDays(7)),
+        // Duración del mes más corto: acota por arriba el número de intervalos de una ventana
+        MONTH(Duration.ofDays(28));
+
+        private final Duration minLength;
+
+        Interval(Duration minLength) {
+            this.minLength = minLength;
+        }
+
+        // Unidad de date_trunc de PostgreSQL
+        public String unit() {
+            return name().toLowerCase(Locale.ROOT);
+        }
+
+        // Máximo de intervalos que puede abarcar la ventana [from, to)
+        public long maxBuckets(Instant from, Instant to) {
+            return Duration.between(from, to).dividedBy(minLength) + 2;
+        }
+
+        public static Interval parse(String value) {
+            try {
+                return valueOf(value.trim().toUpperCase(Locale.ROOT));
+            } catch (IllegalArgumentException ex) {
+                throw new InvalidRequestException("Intervalo no válido: " + value + " (day, week o month)");
+            }
+        }
+    }
+
+    /**
+     * Cambios de precio de un intervalo.
+     *
+     * @param start inicio del intervalo
+     * @param changes número de cambios registrados (altas incluidas)
+     * @param averagePrice precio medio tras los cambios
+     * @param minPrice precio mínimo tras los cambios
+     * @param maxPrice precio máximo tras los cambios
+     * @param averageChangePercent variación media respecto al precio anterior, en porcentaje;
+     *                             {@code null} si el intervalo solo tiene altas
+     */
+    public record Bucket(
+            Instant start,
+            long changes,
+            Double averagePrice,
+            Double minPrice,
+            Double maxPrice,
+            Double averageChangePercent) {
+    }
+}
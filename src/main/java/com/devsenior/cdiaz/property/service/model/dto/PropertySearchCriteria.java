@@ -0,0 +1,18 @@
+package com.devsenior.cdiaz.property.service.model.dto;
+
+/**
+ * Filtros opcionales de la búsqueda de propiedades. Los campos nulos no se aplican.
+ *
+ * @param city ciudad, comparada sin distinguir mayúsculas/minúsculas
+ * @param minPrice precio mínimo (inclusive)
+ * @param maxPrice precio máximo (inclusive)
+ * @param minBedrooms número mínimo de habitaciones
+ * @param minBathrooms número mínimo de baños
+ */
+public record PropertySearchCriteria(
+        String city,
+        Double minPrice,
+        Double maxPrice,
+        Integer minBedrooms,
+        Integer minBathrooms) {
+}
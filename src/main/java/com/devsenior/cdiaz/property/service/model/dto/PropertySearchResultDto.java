@@ -0,0 +1,21 @@
+package com.devsenior.cdiaz.property.service.model.dto;
+
+import java.util.List;
+
+/**
+ * Resultado paginado de una búsqueda de propiedades.
+ *
+ * <p>No incluye el total de elementos: calcularlo exigiría una segunda consulta
+ * {@code COUNT} sobre el mismo filtro.</p>
+ *
+ * @param items propiedades de la página solicitada
+ * @param page número de página (base cero)
+ * @param size tamaño de página aplicado
+ * @param hasNext {@code true} si existe al menos una página más
+ */
+public record PropertySearchResultDto(
+        List<PropertyDto> items,
+        int page,
+        int size,
+        boolean hasNext) {
+}
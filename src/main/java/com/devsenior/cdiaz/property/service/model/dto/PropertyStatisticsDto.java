@@ -0,0 +1,33 @@
+package com.devsenior.cdiaz.property.service.model.dto;
+
+import java.util.Map;
+
+/**
+ * Estadísticas de precio y habitaciones de un conjunto de propiedades.
+ *
+ * <p>Los percentiles se interpolan linealmente entre los dos precios más cercanos, igual que
+ * {@code percentile_cont} de PostgreSQL. Sin propiedades, los precios son {@code null}.</p>
+ *
+ * @param city ciudad, o {@code null} para el catálogo completo
+ * @param count número de propiedades
+ * @param averagePrice precio medio
+ * @param minPrice precio mínimo
+ * @param maxPrice precio máximo
+ * @param medianPrice mediana del precio
+ * @param p25Price percentil 25 del precio
+ * @param p75Price percentil 75 del precio
+ * @param p90Price percentil 90 del precio
+ * @param bedrooms número de propiedades por cantidad de habitaciones, en orden ascendente
+ */
+public record PropertyStatisticsDto(
+        String city,
+        long count,
+        Double averagePrice,
+        Double minPrice,
+        Double maxPrice,
+        Double medianPrice,
+        Double p25Price,
+        Double p75Price,
+        Double p90Price,
+        Map<Integer, Long> bedrooms) {
+}
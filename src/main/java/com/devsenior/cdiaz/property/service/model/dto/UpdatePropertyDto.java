@@ -16,4 +16,6 @@ public class UpdatePropertyDto {
     private Integer bathrooms;
     private String imageUrl;
     private String description;
+    private Double latitude;
+    private Double longitude;
 } 
\ No newline at end of file
@@ -4,16 +4,41 @@ import jakarta.persistence.*;
 import lombok.AllArgsConstructor;
 import lombok.Data;
 import lombok.NoArgsConstructor;
+import org.hibernate.annotations.Cache;
+import org.hibernate.annotations.CacheConcurrencyStrategy;
+
+import java.util.Locale;
 
 @Entity
-@Table(name = "Propiedades")
+@Table(name = "Propiedades", indexes = {
+    // Búsqueda por ciudad (sin distinguir mayúsculas) con rango de precio u orden por precio
+    @Index(name = "idx_propiedades_city_key_price", columnList = "city_key, price"),
+    // Búsqueda por ciudad con mínimos de habitaciones y baños
+    @Index(name = "idx_propiedades_city_key_bedrooms", columnList = "city_key, bedrooms, bathrooms"),
+    // Búsqueda solo por rango de precio
+    @Index(name = "idx_propiedades_price", columnList = "price"),
+    // Listado exacto por ciudad (findByCity)
+    @Index(name = "idx_propiedades_city", columnList = "city")
+})
+@Cacheable
+@Cache(usage = CacheConcurrencyStrategy.READ_WRITE, region = Property.CACHE_REGION)
 @Data
 @NoArgsConstructor
 @AllArgsConstructor
 public class Property {
     
+    // Región de la caché de segundo nivel de Hibernate
+    public static final String CACHE_REGION = "property";
+    
+    public static final String ID_SEQUENCE = "propiedades_seq";
+    
+    // Debe coincidir con el INCREMENT BY de la secuencia (optimizador pooled)
+    public static final int ID_ALLOCATION_SIZE = 50;
+    
+    // Secuencia con asignación por bloques: evita un round trip por fila y permite el batching JDBC
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "propiedades_id_gen")
+    @SequenceGenerator(name = "propiedades_id_gen", sequenceName = ID_SEQUENCE, allocationSize = ID_ALLOCATION_SIZE)
     private Long id;
     
     @Column(nullable = false)
@@ -22,6 +47,10 @@ public class Property {
     @Column(nullable = false)
     private String city;
     
+    // Ciudad normalizada (minúsculas) para búsquedas indexadas sin distinguir mayúsculas
+    @Column(name = "city_key")
+    private String cityKey;
+    
     @Column(nullable = false)
     private Double price;
     
@@ -34,6 +63,32 @@ public class Property {
     @Column(name = "image_url")
     private String imageUrl;
     
+    // Clave de contenido de las miniaturas generadas para imageUrl; nula mientras no se procesen
+    @Column(name = "image_key")
+    private String imageKey;
+    
     @Column()
     private String description;
-} 
\ No newline at end of file
+    
+    // Coordenadas WGS84 en grados; opcionales, solo las propiedades con ambas entran en la búsqueda geográfica
+    @Column()
+    private Double latitude;
+    
+    @Column()
+    private Double longitude;
+    
+    // Control de concurrencia optimista; también respalda los ETag de la API
+    @Version
+    @Column(name = "version")
+    private Long version;
+    
+    public static String toCityKey(String city) {
+        return city == null ? null : city.trim().toLowerCase(Locale.ROOT);
+    }
+    
+    @PrePersist
+    @PreUpdate
+    protected void onSave() {
+        cityKey = toCityKey(city);
+    }
+}
@@ -0,0 +1,66 @@
+package com.devsenior.cdiaz.property.service.model.entity;
+
+import jakarta.persistence.*;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.Instant;
+
+/**
+ * Evento de cambio de una propiedad (outbox transaccional).
+ *
+ * <p>Se inserta en la misma transacción que la escritura que lo origina, así que existe si y
+ * solo si la escritura confirmó. El número de secuencia ({@code seq}) no se asigna al insertar
+ * sino cuando el relay lo publica, en el orden en que los eventos se hacen visibles: los IDs de
+ * una secuencia no siguen el orden de commit y un consumidor que reanuda por ID podría saltarse
+ * un evento confirmado tarde.</p>
+ */
+@Entity
+@Table(name = PropertyEvent.TABLE, indexes = {
+    // Reanudación por número de secuencia
+    @Index(name = "uk_property_events_seq", columnList = "seq", unique = true)
+})
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class PropertyEvent {
+    
+    public static final String TABLE = "property_events";
+    
+    public enum Type {
+        CREATED, UPDATED, DELETED
+    }
+    
+    @Id
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "property_events_id_gen")
+    @SequenceGenerator(name = "property_events_id_gen", sequenceName = "property_events_id_seq", allocationSize = 50)
+    private Long id;
+    
+    // Asignado por el relay al publicar; nulo mientras el evento está pendiente
+    @Column()
+    private Long seq;
+    
+    @Enumerated(EnumType.STRING)
+    @Column(name = "event_type", nullable = false, length = 16)
+    private Type type;
+    
+    @Column(name = "property_id", nullable = false)
+    private Long propertyId;
+    
+    // Versión de la propiedad tras el cambio; nula en los borrados
+    @Column()
+    private Long version;
+    
+    // PropertyDto serializado en JSON; nulo en los borrados
+    @Column(columnDefinition = "text")
+    private String payload;
+    
+    // Ciudad antes del cambio (en los borrados, la de la fila borrada); nula en las altas.
+    // Las demás instancias la usan para invalidar también la caché de la ciudad anterior
+    @Column(name = "previous_city")
+    private String previousCity;
+    
+    @Column(name = "created_at", nullable = false)
+    private Instant createdAt;
+}
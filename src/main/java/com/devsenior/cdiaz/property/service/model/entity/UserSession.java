@@ -0,0 +1,38 @@
+package com.devsenior.cdiaz.property.service.model.entity;
+
+import jakarta.persistence.*;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.Instant;
+
+@Entity
+@Table(name = "user_sessions", indexes = {
+    @Index(name = "idx_user_sessions_expires_at", columnList = "expires_at")
+})
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class UserSession {
+    
+    // SHA-256 del token: el token en claro nunca se persiste
+    @Id
+    @Column(name = "token_hash", length = 64)
+    private String tokenHash;
+    
+    @Column(name = "user_id", nullable = false)
+    private Long userId;
+    
+    @Column(nullable = false, length = 100)
+    private String email;
+    
+    @Column(name = "full_name", nullable = false, length = 100)
+    private String fullName;
+    
+    @Column(name = "created_at", nullable = false)
+    private Instant createdAt;
+    
+    @Column(name = "expires_at", nullable = false)
+    private Instant expiresAt;
+}
@@ -0,0 +1,32 @@
+package com.devsenior.cdiaz.property.service.repository;
+
+/**
+ * Acumulados de precio y habitaciones de las propiedades de una ciudad.
+ *
+ * @param cityKey ciudad normalizada (columna {@code city_key})
+ * @param count número de propiedades
+ * @param priceSum suma de los precios
+ * @param minPrice precio mínimo
+ * @param maxPrice precio máximo
+ * @param bedroomsSum suma de las habitaciones
+ */
+public record PropertyCityTotals(
+        String cityKey,
+        Long count,
+        Double priceSum,
+        Double minPrice,
+        Double maxPrice,
+        Long bedroomsSum) {
+
+    // La suma de precios depende del orden en que se acumula: se compara con tolerancia relativa
+    private static final double SUM_TOLERANCE = 1e-9;
+
+    public boolean matches(PropertyCityTotals other) {
+        return other != null
+                && count.equals(other.count)
+                && bedroomsSum.equals(other.bedroomsSum)
+                && minPrice.equals(other.minPrice)
+                && maxPrice.equals(other.maxPrice)
+                && Math.abs(priceSum - other.priceSum) <= SUM_TOLERANCE * Math.max(1.0, Math.abs(priceSum));
+    }
+}
@@ -0,0 +1,51 @@
+package com.devsenior.cdiaz.property.service.repository;
+
+import com.devsenior.cdiaz.property.service.model.entity.PropertyEvent;
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.HibernateHints;
+import org.springframework.data.domain.Limit;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
+import org.springframework.data.repository.query.Param;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.Instant;
+import java.util.List;
+
+public interface PropertyEventRepository extends JpaRepository<PropertyEvent, Long> {
+    
+    // Clave del lock advisory que serializa la asignación de números de secuencia entre instancias
+    long RELAY_LOCK_KEY = 0x70726f7065727479L;
+    
+    // Eventos publicados a partir de un número de secuencia, en orden
+    List<PropertyEvent> findBySeqGreaterThanOrderBySeqAsc(Long seq, Limit limit);
+    
+    @Query("SELECT COALESCE(MAX(e.seq), 0) FROM PropertyEvent e")
+    long findMaxSeq();
+    
+    @Query("SELECT COALESCE(MIN(e.seq), 0) FROM PropertyEvent e")
+    long findMinSeq();
+    
+    // Solo una instancia asigna números de secuencia a la vez; el lock se libera con la transacción
+    @Query(value = "SELECT pg_try_advisory_xact_lock(" + RELAY_LOCK_KEY + ")", nativeQuery = true)
+    boolean tryRelayLock();
+    
+    // Numera los pendientes a continuación del último publicado, en orden de inserción
+    @Modifying
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_NATIVE_SPACES, value = PropertyEvent.TABLE))
+    @Query(value = "WITH base AS (SELECT COALESCE(MAX(seq), 0) AS seq FROM property_events), "
+            + "pending AS (SELECT id, ROW_NUMBER() OVER (ORDER BY id) AS position FROM ("
+            + "SELECT id FROM property_events WHERE seq IS NULL ORDER BY id LIMIT :limit) batch) "
+            + "UPDATE property_events e SET seq = base.seq + pending.position "
+            + "FROM base, pending WHERE e.id = pending.id", nativeQuery = true)
+    int assignSequenceNumbers(@Param("limit") int limit);
+    
+    // Retención: borra los publicados anteriores a la fecha, pero nunca el último (ancla la numeración)
+    @Modifying
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_NATIVE_SPACES, value = PropertyEvent.TABLE))
+    @Query(value = "DELETE FROM property_events WHERE created_at < :before AND seq IS NOT NULL "
+            + "AND seq < (SELECT MAX(seq) FROM property_events)", nativeQuery = true)
+    int deletePublishedBefore(@Param("before") Instant before);
+}
@@ -0,0 +1,7 @@
+package com.devsenior.cdiaz.property.service.repository;
+
+/**
+ * Propiedad y la URL de la imagen que hay que procesar.
+ */
+public record PropertyImageRef(Long id, String imageUrl) {
+}
@@ -0,0 +1,20 @@
+package com.devsenior.cdiaz.property.service.repository;
+
+import java.time.Instant;
+
+/**
+ * Cambio de precio pendiente de guardar en el histórico.
+ *
+ * @param propertyId ID de la propiedad
+ * @param changedAt momento del cambio
+ * @param price precio nuevo
+ * @param previousPrice precio anterior, o {@code null} en el alta
+ * @param cityKey ciudad normalizada de la propiedad en el momento del cambio
+ */
+public record PropertyPriceChange(
+        Long propertyId,
+        Instant changedAt,
+        Double price,
+        Double previousPrice,
+        String cityKey) {
+}
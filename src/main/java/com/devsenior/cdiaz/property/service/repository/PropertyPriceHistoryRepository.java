@@ -0,0 +1,113 @@
+package com.devsenior.cdiaz.property.service.repository;
+
+import com.devsenior.cdiaz.property.service.model.dto.PropertyPriceHistoryDto;
+import com.devsenior.cdiaz.property.service.model.dto.PropertyPriceTrendDto;
+import lombok.RequiredArgsConstructor;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Repository;
+
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Types;
+import java.time.Instant;
+import java.time.OffsetDateTime;
+import java.time.YearMonth;
+import java.time.ZoneOffset;
+import java.util.List;
+import java.util.Set;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+import java.util.stream.Collectors;
+
+/**
+ * Histórico de precios en la tabla {@code property_price_history}: solo se insertan filas,
+ * nunca se modifican.
+ *
+ * <p>La tabla está particionada por mes sobre {@code changed_at} y no es una entidad JPA: la
+ * crea la migración {@code V5__create_property_price_history_table.sql}. Las consultas por
+ * ventana de tiempo solo recorren las particiones del rango, y cada partición tiene sus índices
+ * {@code (property_id, changed_at)} y {@code (city_key, changed_at)} con los precios incluidos,
+ * así que ambas consultas se resuelven con un recorrido solo de índice. Las columnas de ancho
+ * fijo van primero para que la fila no lleve relleno de alineación. Los cambios fuera de las
+ * particiones creadas caen en la partición {@code DEFAULT}.</p>
+ */
+@Repository
+@RequiredArgsConstructor
+public class PropertyPriceHistoryRepository {
+
+    public static final String TABLE = "property_price_history";
+
+    private static final Pattern PARTITION_NAME = Pattern.compile(TABLE + "_y(\\d{4})m(\\d{2})");
+
+    private static final String INSERT = "INSERT INTO " + TABLE
+            + " (property_id, changed_at, price, previous_price, city_key) VALUES (?, ?, ?, ?, ?)";
+
+    private final JdbcTemplate jdbcTemplate;
+
+    // Meses que ya tienen partición propia
+    public Set<YearMonth> findPartitions() {
+        List<String> names = jdbcTemplate.queryForList("SELECT c.relname FROM pg_inherits i "
+                + "JOIN pg_class c ON c.oid = i.inhrelid JOIN pg_class p ON p.oid = i.inhparent "
+                + "WHERE p.relname = ?", String.class, TABLE);
+        return names.stream()
+                .map(PARTITION_NAME::matcher)
+                .filter(Matcher::matches)
+                .map(m -> YearMonth.of(Integer.parseInt(m.group(1)), Integer.parseInt(m.group(2))))
+                .collect(Collectors.toSet());
+    }
+
+    // Falla si la partición DEFAULT ya tiene filas de ese mes
+    public void createPartition(YearMonth month) {
+        jdbcTemplate.execute(String.format("CREATE TABLE IF NOT EXISTS %s_y%04dm%02d PARTITION OF %s "
+                        + "FOR VALUES FROM ('%s') TO ('%s')", TABLE, month.getYear(), month.getMonthValue(), TABLE,
+                month.atDay(1).atStartOfDay().atOffset(ZoneOffset.UTC),
+                month.plusMonths(1).atDay(1).atStartOfDay().atOffset(ZoneOffset.UTC)));
+    }
+
+    // Un lote JDBC; con reWriteBatchedInserts el driver lo envía como INSERT de varias filas
+    public void insertAll(List<PropertyPriceChange> changes) {
+        jdbcTemplate.batchUpdate(INSERT, changes, changes.size(), (statement, change) -> {
+            statement.setLong(1, change.propertyId());
+            statement.setObject(2, OffsetDateTime.ofInstant(change.changedAt(), ZoneOffset.UTC));
+            statement.setDouble(3, change.price());
+            statement.setObject(4, change.previousPrice(), Types.DOUBLE);
+            statement.setString(5, change.cityKey());
+        });
+    }
+
+    // Los "limit" cambios más recientes de la ventana, del más nuevo al más antiguo
+    public List<PropertyPriceHistoryDto.Point> findByProperty(Long propertyId, Instant from, Instant to, int limit) {
+        return jdbcTemplate.query("SELECT changed_at, price, previous_price FROM " + TABLE
+                        + " WHERE property_id = ? AND changed_at >= ? AND changed_at < ?"
+                        + " ORDER BY changed_at DESC LIMIT ?",
+                (rs, rowNum) -> new PropertyPriceHistoryDto.Point(instant(rs, 1), rs.getDouble(2),
+                        nullableDouble(rs, 3)),
+                propertyId, utc(from), utc(to), limit);
+    }
+
+    // Agregados por intervalo de los cambios de una ciudad en la ventana, en orden cronológico
+    public List<PropertyPriceTrendDto.Bucket> findCityTrend(String cityKey, Instant from, Instant to,
+                                                            PropertyPriceTrendDto.Interval interval) {
+        return jdbcTemplate.query("SELECT date_trunc(?, changed_at, 'UTC') AS bucket, COUNT(*), AVG(price),"
+                        + " MIN(price), MAX(price), AVG(100.0 * (price - previous_price) / previous_price)"
+                        + " FILTER (WHERE previous_price > 0) FROM " + TABLE
+                        + " WHERE city_key = ? AND changed_at >= ? AND changed_at < ?"
+                        + " GROUP BY bucket ORDER BY bucket",
+                (rs, rowNum) -> new PropertyPriceTrendDto.Bucket(instant(rs, 1), rs.getLong(2), rs.getDouble(3),
+                        rs.getDouble(4), rs.getDouble(5), nullableDouble(rs, 6)),
+                interval.unit(), cityKey, utc(from), utc(to));
+    }
+
+    private static OffsetDateTime utc(Instant instant) {
+        return OffsetDateTime.ofInstant(instant, ZoneOffset.UTC);
+    }
+
+    private static Instant instant(ResultSet rs, int column) throws SQLException {
+        return rs.getObject(column, OffsetDateTime.class).toInstant();
+    }
+
+    private static Double nullableDouble(ResultSet rs, int column) throws SQLException {
+        double value = rs.getDouble(column);
+        return rs.wasNull() ? null : value;
+    }
+}
@@ -1,13 +1,91 @@
 package com.devsenior.cdiaz.property.service.repository;
 
+import com.devsenior.cdiaz.property.service.model.dto.PropertyDto;
 import com.devsenior.cdiaz.property.service.model.entity.Property;
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.HibernateHints;
+import org.springframework.data.domain.Limit;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.JpaSpecificationExecutor;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
+import org.springframework.data.repository.query.Param;
+import org.springframework.transaction.annotation.Transactional;
 
+import java.util.Collection;
 import java.util.List;
+import java.util.Optional;
+import java.util.stream.Stream;
 
-public interface PropertyRepository extends JpaRepository<Property, Long> {
+public interface PropertyRepository extends JpaRepository<Property, Long>, JpaSpecificationExecutor<Property>,
+        PropertyRepositoryCustom {
     
-    // Método para buscar propiedades por ciudad
+    // Filas que el driver JDBC trae por viaje al recorrer el cursor de exportación
+    int EXPORT_FETCH_SIZE = 500;
+    
+    // IDs por sentencia en las lecturas por lote: listas IN más largas se parten en bloques de este tamaño
+    int ID_BATCH_SIZE = 100;
+    
+    // Región de la caché de consultas de Hibernate para las consultas de propiedades
+    String QUERY_CACHE_REGION = "property-queries";
+    
+    // Método para buscar propiedades por ciudad; los IDs del resultado van a la caché de consultas
+    @QueryHints({
+        @QueryHint(name = HibernateHints.HINT_CACHEABLE, value = "true"),
+        @QueryHint(name = HibernateHints.HINT_CACHE_REGION, value = QUERY_CACHE_REGION)
+    })
     List<Property> findByCity(String city);
     
-} 
\ No newline at end of file
+    // Lee la fila aunque la entidad esté en la caché de segundo nivel (tras una escritura nativa)
+    @Query("SELECT p FROM Property p WHERE p.id = :id")
+    Optional<Property> findFreshById(@Param("id") Long id);
+    
+    // De los IDs indicados, los que existen (un único IN; quien llama limita el tamaño de la lista)
+    @Query("SELECT p.id FROM Property p WHERE p.id IN :ids")
+    List<Long> findExistingIds(@Param("ids") Collection<Long> ids);
+    
+    // Paginación keyset: siguiente bloque de propiedades con ID mayor al último entregado
+    List<Property> findByIdGreaterThanOrderByIdAsc(Long id, Limit limit);
+    
+    // Recorrido completo con cursor JDBC; proyecta a DTO para no llenar el contexto de persistencia
+    @Query("SELECT new com.devsenior.cdiaz.property.service.model.dto.PropertyDto("
+            + "p.id, p.address, p.city, p.price, p.bedrooms, p.bathrooms, p.imageUrl, p.description, "
+            + "p.latitude, p.longitude, p.version, p.imageKey) "
+            + "FROM Property p ORDER BY p.id")
+    @QueryHints({
+        @QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = "" + EXPORT_FETCH_SIZE),
+        @QueryHint(name = HibernateHints.HINT_READ_ONLY, value = "true")
+    })
+    Stream<PropertyDto> streamAllAsDto();
+    
+    // Borrado en una sola sentencia; devuelve la ciudad de la fila borrada o vacío si no existía
+    @Transactional
+    @Query(value = "DELETE FROM propiedades WHERE id = :id RETURNING city", nativeQuery = true)
+    Optional<String> deleteReturningCity(@Param("id") Long id);
+    
+    // Igual que deleteReturningCity, pero solo si la versión coincide (If-Match)
+    @Transactional
+    @Query(value = "DELETE FROM propiedades WHERE id = :id AND version = :version RETURNING city", nativeQuery = true)
+    Optional<String> deleteReturningCityIfVersion(@Param("id") Long id, @Param("version") Long version);
+    
+    // Propiedades con imagen cuyas miniaturas aún no se han generado
+    @Query("SELECT new com.devsenior.cdiaz.property.service.repository.PropertyImageRef(p.id, p.imageUrl) "
+            + "FROM Property p WHERE p.imageUrl IS NOT NULL AND p.imageKey IS NULL ORDER BY p.id")
+    List<PropertyImageRef> findPendingImages(Limit limit);
+    
+    // Asocia las miniaturas a la propiedad si su imagen sigue siendo la procesada; devuelve la ciudad
+    @Transactional
+    @Query(value = "UPDATE propiedades SET image_key = :imageKey, version = version + 1 "
+            + "WHERE id = :id AND image_url = :imageUrl AND image_key IS DISTINCT FROM :imageKey "
+            + "RETURNING city", nativeQuery = true)
+    Optional<String> assignImageKey(@Param("id") Long id, @Param("imageUrl") String imageUrl,
+                                    @Param("imageKey") String imageKey);
+    
+    // Agregados por ciudad normalizada para conciliar las estadísticas en memoria
+    @Query("SELECT new com.devsenior.cdiaz.property.service.repository.PropertyCityTotals("
+            + "p.cityKey, COUNT(p), SUM(p.price), MIN(p.price), MAX(p.price), SUM(p.bedrooms)) "
+            + "FROM Property p GROUP BY p.cityKey")
+    List<PropertyCityTotals> aggregateByCity();
+    
+}
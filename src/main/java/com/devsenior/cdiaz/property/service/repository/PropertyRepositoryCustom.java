@@ -0,0 +1,28 @@
+package com.devsenior.cdiaz.property.service.repository;
+
+import com.devsenior.cdiaz.property.service.model.dto.PropertyDto;
+import com.devsenior.cdiaz.property.service.model.entity.Property;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.jpa.domain.Specification;
+
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+
+public interface PropertyRepositoryCustom {
+    
+    // Actualiza solo los atributos indicados en una única sentencia e incrementa la versión;
+    // si expectedVersion no es nulo, solo actualiza cuando la versión coincide.
+    // Vacío si ninguna fila cumplió las condiciones
+    Optional<PropertyUpdateResult> updateReturning(Long id, Map<String, Object> changes, Long expectedVersion);
+    
+    // Carga por IDs en el mismo orden, con null en los que no existen: primero busca en la caché de
+    // segundo nivel y el resto lo lee con un IN por cada bloque de ID_BATCH_SIZE
+    List<Property> findAllByIdInOrder(List<Long> ids);
+    
+    // Lee solo las columnas de los atributos indicados (más el ID y la versión) y las proyecta a DTO;
+    // los demás atributos del DTO quedan nulos
+    List<PropertyDto> findProjected(Specification<Property> spec, Set<String> attributes,
+                                    Sort sort, int offset, int limit);
+}
@@ -0,0 +1,187 @@
+package com.devsenior.cdiaz.property.service.repository;
+
+import com.devsenior.cdiaz.property.service.model.dto.PropertyDto;
+import com.devsenior.cdiaz.property.service.model.entity.Property;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
+import jakarta.persistence.Tuple;
+import jakarta.persistence.criteria.CriteriaBuilder;
+import jakarta.persistence.criteria.CriteriaQuery;
+import jakarta.persistence.criteria.Predicate;
+import jakarta.persistence.criteria.Root;
+import jakarta.persistence.criteria.Selection;
+import org.hibernate.Session;
+import org.hibernate.query.NativeQuery;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.jpa.domain.Specification;
+import org.springframework.data.jpa.repository.query.QueryUtils;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.StringJoiner;
+import java.util.function.BiConsumer;
+
+/**
+ * Implementación de las consultas de {@link PropertyRepositoryCustom} que Spring Data no puede derivar.
+ */
+public class PropertyRepositoryImpl implements PropertyRepositoryCustom {
+
+    // Atributo de la entidad -> columna y tipo; solo estos atributos pueden actualizarse
+    private static final Map<String, Column> UPDATABLE = Map.of(
+            "address", new Column("address", String.class),
+            "city", new Column("city", String.class),
+            "price", new Column("price", Double.class),
+            "bedrooms", new Column("bedrooms", Integer.class),
+            "bathrooms", new Column("bathrooms", Integer.class),
+            "imageUrl", new Column("image_url", String.class),
+            "description", new Column("description", String.class),
+            "latitude", new Column("latitude", Double.class),
+            "longitude", new Column("longitude", Double.class));
+
+    // Atributo de la entidad -> campo del DTO; el ID y la versión se leen siempre
+    private static final Map<String, BiConsumer<PropertyDto, Object>> PROJECTABLE = Map.ofEntries(
+            Map.entry("address", (dto, value) -> dto.setAddress((String) value)),
+            Map.entry("city", (dto, value) -> dto.setCity((String) value)),
+            Map.entry("price", (dto, value) -> dto.setPrice((Double) value)),
+            Map.entry("bedrooms", (dto, value) -> dto.setBedrooms((Integer) value)),
+            Map.entry("bathrooms", (dto, value) -> dto.setBathrooms((Integer) value)),
+            Map.entry("imageUrl", (dto, value) -> dto.setImageUrl((String) value)),
+            Map.entry("imageKey", (dto, value) -> dto.setImageKey((String) value)),
+            Map.entry("description", (dto, value) -> dto.setDescription((String) value)),
+            Map.entry("latitude", (dto, value) -> dto.setLatitude((Double) value)),
+            Map.entry("longitude", (dto, value) -> dto.setLongitude((Double) value)));
+
+    @PersistenceContext
+    private EntityManager entityManager;
+
+    @Override
+    @Transactional
+    @SuppressWarnings({"unchecked", "rawtypes"})
+    public Optional<PropertyUpdateResult> updateReturning(Long id, Map<String, Object> changes, Long expectedVersion) {
+        if (changes.isEmpty()) {
+            throw new IllegalArgumentException("No hay campos para actualizar");
+        }
+        StringJoiner assignments = new StringJoiner(", ");
+        for (String attribute : changes.keySet()) {
+            Column column = UPDATABLE.get(attribute);
+            if (column == null) {
+                throw new IllegalArgumentException("Campo no actualizable: " + attribute);
+            }
+            assignments.add(column.name() + " = :" + attribute);
+        }
+        if (changes.containsKey("city")) {
+            assignments.add("city_key = :cityKey");
+        }
+        if (changes.containsKey("imageUrl")) {
+            // Las miniaturas solo siguen valiendo si la imagen no cambió
+            assignments.add("image_key = CASE WHEN prev.image_url IS NOT DISTINCT FROM :imageUrl"
+                    + " THEN p.image_key END");
+        }
+        assignments.add("version = p.version + 1");
+
+        // "prev" bloquea y lee la versión vigente de la fila antes del UPDATE: ciudad, precio e imagen anteriores.
+        // Sin FOR UPDATE, en READ COMMITTED una escritura concurrente hace que PostgreSQL vuelva a leer "p"
+        // pero no una autocombinación, que devolvería los valores de una versión anterior a la reemplazada
+        String sql = "UPDATE propiedades p SET " + assignments
+                + " FROM (SELECT id, city, price, image_url FROM propiedades WHERE id = :id FOR UPDATE) prev"
+                + " WHERE p.id = prev.id"
+                + (expectedVersion != null ? " AND p.version = :expectedVersion" : "")
+                + " RETURNING p.id, p.address, p.city, p.city_key, p.price, p.bedrooms, p.bathrooms,"
+                + " p.image_url, p.description, p.latitude, p.longitude, p.version, p.image_key, prev.city,"
+                + " prev.price";
+
+        NativeQuery<Object[]> query = entityManager.createNativeQuery(sql, Object[].class).unwrap(NativeQuery.class);
+        query.setParameter("id", id);
+        if (expectedVersion != null) {
+            query.setParameter("expectedVersion", expectedVersion);
+        }
+        changes.forEach((attribute, value) ->
+                query.setParameter(attribute, value, (Class) UPDATABLE.get(attribute).type()));
+        if (changes.containsKey("city")) {
+            query.setParameter("cityKey", Property.toCityKey((String) changes.get("city")), String.class);
+        }
+
+        List<Object[]> rows = query.getResultList();
+        if (rows.isEmpty()) {
+            return Optional.empty();
+        }
+        Object[] row = rows.get(0);
+        Property property = new Property();
+        property.setId(((Number) row[0]).longValue());
+        property.setAddress((String) row[1]);
+        property.setCity((String) row[2]);
+        property.setCityKey((String) row[3]);
+        property.setPrice(((Number) row[4]).doubleValue());
+        property.setBedrooms(((Number) row[5]).intValue());
+        property.setBathrooms(((Number) row[6]).intValue());
+        property.setImageUrl((String) row[7]);
+        property.setDescription((String) row[8]);
+        property.setLatitude(row[9] == null ? null : ((Number) row[9]).doubleValue());
+        property.setLongitude(row[10] == null ? null : ((Number) row[10]).doubleValue());
+        property.setVersion(((Number) row[11]).longValue());
+        property.setImageKey((String) row[12]);
+        return Optional.of(new PropertyUpdateResult(property, (String) row[13], ((Number) row[14]).doubleValue()));
+    }
+
+    @Override
+    public List<Property> findAllByIdInOrder(List<Long> ids) {
+        // multiLoad conserva el orden de entrada y deja null donde no hay fila
+        return entityManager.unwrap(Session.class)
+                .byMultipleIds(Property.class)
+                .withBatchSize(PropertyRepository.ID_BATCH_SIZE)
+                .multiLoad(ids);
+    }
+
+    @Override
+    public List<PropertyDto> findProjected(Specification<Property> spec, Set<String> attributes,
+                                           Sort sort, int offset, int limit) {
+        CriteriaBuilder cb = entityManager.getCriteriaBuilder();
+        CriteriaQuery<Tuple> query = cb.createTupleQuery();
+        Root<Property> root = query.from(Property.class);
+
+        List<String> projected = new ArrayList<>();
+        List<Selection<?>> selections = new ArrayList<>();
+        selections.add(root.get("id").alias("id"));
+        selections.add(root.get("version").alias("version"));
+        for (String attribute : attributes) {
+            if ("id".equals(attribute)) {
+                continue;
+            }
+            if (!PROJECTABLE.containsKey(attribute)) {
+                throw new IllegalArgumentException("Campo no proyectable: " + attribute);
+            }
+            projected.add(attribute);
+            selections.add(root.get(attribute).alias(attribute));
+        }
+        query.multiselect(selections);
+
+        Predicate predicate = spec.toPredicate(root, query, cb);
+        if (predicate != null) {
+            query.where(predicate);
+        }
+        query.orderBy(QueryUtils.toOrders(sort, root, cb));
+
+        List<Tuple> rows = entityManager.createQuery(query)
+                .setFirstResult(offset)
+                .setMaxResults(limit)
+                .getResultList();
+        List<PropertyDto> dtos = new ArrayList<>(rows.size());
+        for (Tuple row : rows) {
+            PropertyDto dto = new PropertyDto();
+            dto.setId(row.get("id", Long.class));
+            dto.setVersion(row.get("version", Long.class));
+            for (String attribute : projected) {
+                PROJECTABLE.get(attribute).accept(dto, row.get(attribute));
+            }
+            dtos.add(dto);
+        }
+        return dtos;
+    }
+
+    private record Column(String name, Class<?> type) {
+    }
+}
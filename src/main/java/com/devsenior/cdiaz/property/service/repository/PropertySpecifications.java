@@ -0,0 +1,71 @@
+package com.devsenior.cdiaz.property.service.repository;
+
+import com.devsenior.cdiaz.property.service.model.dto.PropertySearchCriteria;
+import com.devsenior.cdiaz.property.service.model.entity.Property;
+import org.springframework.data.jpa.domain.Specification;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+
+/**
+ * Fábrica de {@link Specification} para la búsqueda multi-criterio de propiedades.
+ *
+ * <p>Los predicados están pensados para los índices compuestos declarados en
+ * {@link Property}: la ciudad se compara por igualdad sobre {@code city_key} y el
+ * precio por rango, de modo que ambos se resuelven con un único recorrido de índice.</p>
+ */
+public final class PropertySpecifications {
+
+    private PropertySpecifications() {
+    }
+
+    public static Specification<Property> matching(PropertySearchCriteria criteria) {
+        List<Specification<Property>> specs = new ArrayList<>();
+        if (criteria.city() != null && !criteria.city().isBlank()) {
+            specs.add(cityIs(criteria.city()));
+        }
+        if (criteria.minPrice() != null) {
+            specs.add(priceAtLeast(criteria.minPrice()));
+        }
+        if (criteria.maxPrice() != null) {
+            specs.add(priceAtMost(criteria.maxPrice()));
+        }
+        if (criteria.minBedrooms() != null) {
+            specs.add(bedroomsAtLeast(criteria.minBedrooms()));
+        }
+        if (criteria.minBathrooms() != null) {
+            specs.add(bathroomsAtLeast(criteria.minBathrooms()));
+        }
+        return Specification.allOf(specs);
+    }
+
+    public static Specification<Property> idGreaterThan(long id) {
+        return (root, query, cb) -> cb.greaterThan(root.get("id"), id);
+    }
+
+    public static Specification<Property> idIn(Collection<Long> ids) {
+        return (root, query, cb) -> root.get("id").in(ids);
+    }
+
+    public static Specification<Property> cityIs(String city) {
+        String key = Property.toCityKey(city);
+        return (root, query, cb) -> cb.equal(root.get("cityKey"), key);
+    }
+
+    public static Specification<Property> priceAtLeast(Double minPrice) {
+        return (root, query, cb) -> cb.greaterThanOrEqualTo(root.get("price"), minPrice);
+    }
+
+    public static Specification<Property> priceAtMost(Double maxPrice) {
+        return (root, query, cb) -> cb.lessThanOrEqualTo(root.get("price"), maxPrice);
+    }
+
+    public static Specification<Property> bedroomsAtLeast(Integer minBedrooms) {
+        return (root, query, cb) -> cb.greaterThanOrEqualTo(root.get("bedrooms"), minBedrooms);
+    }
+
+    public static Specification<Property> bathroomsAtLeast(Integer minBathrooms) {
+        return (root, query, cb) -> cb.greaterThanOrEqualTo(root.get("bathrooms"), minBathrooms);
+    }
+}
@@ -0,0 +1,16 @@
+package com.devsenior.cdiaz.property.service.repository;
+
+import com.devsenior.cdiaz.property.service.model.entity.Property;
+
+/**
+ * Fila resultante de un UPDATE con RETURNING, junto con la ciudad y el precio que tenía antes del cambio.
+ *
+ * @param property estado de la propiedad tras la actualización (no gestionado por JPA)
+ * @param previousCity ciudad anterior, necesaria para invalidar su listado
+ * @param previousPrice precio anterior, para registrar el cambio en el histórico
+ */
+public record PropertyUpdateResult(
+        Property property,
+        String previousCity,
+        Double previousPrice) {
+}
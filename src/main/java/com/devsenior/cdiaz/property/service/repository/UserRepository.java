@@ -1,15 +1,33 @@
 package com.devsenior.cdiaz.property.service.repository;
 
 import com.devsenior.cdiaz.property.service.model.entity.User;
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.HibernateHints;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.QueryHints;
 import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
 
 import java.util.Optional;
 
 @Repository
 public interface UserRepository extends JpaRepository<User, Long> {
     
+    // Región de la caché de consultas de Hibernate para las consultas de usuarios
+    String QUERY_CACHE_REGION = "user-queries";
+    
+    // Solo lectura: el login busca al usuario en una réplica si están configuradas.
+    // El ID resultante se cachea y la entidad sale de la caché de segundo nivel
+    @Transactional(readOnly = true)
+    @QueryHints({
+        @QueryHint(name = HibernateHints.HINT_CACHEABLE, value = "true"),
+        @QueryHint(name = HibernateHints.HINT_CACHE_REGION, value = QUERY_CACHE_REGION)
+    })
     Optional<User> findByEmail(String email);
     
+    @QueryHints({
+        @QueryHint(name = HibernateHints.HINT_CACHEABLE, value = "true"),
+        @QueryHint(name = HibernateHints.HINT_CACHE_REGION, value = QUERY_CACHE_REGION)
+    })
     boolean existsByEmail(String email);
 }
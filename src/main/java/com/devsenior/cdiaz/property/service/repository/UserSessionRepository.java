@@ -0,0 +1,25 @@
+package com.devsenior.cdiaz.property.service.repository;
+
+import com.devsenior.cdiaz.property.service.model.entity.UserSession;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.Instant;
+
+@Repository
+public interface UserSessionRepository extends JpaRepository<UserSession, String> {
+    
+    @Modifying
+    @Transactional
+    @Query("DELETE FROM UserSession s WHERE s.tokenHash = :tokenHash")
+    int deleteByTokenHash(@Param("tokenHash") String tokenHash);
+    
+    @Modifying
+    @Transactional
+    @Query("DELETE FROM UserSession s WHERE s.expiresAt <= :now")
+    int deleteExpired(@Param("now") Instant now);
+}
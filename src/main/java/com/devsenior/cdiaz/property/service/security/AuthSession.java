@@ -0,0 +1,22 @@
+package com.devsenior.cdiaz.property.service.security;
+
+import java.time.Instant;
+
+/**
+ * Sesión autenticada asociada a un token de acceso.
+ *
+ * <p>Contiene los datos del usuario que necesitan los endpoints protegidos, para no
+ * consultar la tabla {@code users} en cada petición.</p>
+ */
+public record AuthSession(
+        String token,
+        Long userId,
+        String email,
+        String fullName,
+        Instant createdAt,
+        Instant expiresAt) {
+
+    public boolean isExpired(Instant now) {
+        return !now.isBefore(expiresAt);
+    }
+}
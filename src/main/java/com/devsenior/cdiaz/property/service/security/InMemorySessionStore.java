@@ -0,0 +1,56 @@
+package com.devsenior.cdiaz.property.service.security;
+
+import lombok.RequiredArgsConstructor;
+
+import java.time.Clock;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Almacén de sesiones en memoria: validación O(1) sin acceso a base de datos.
+ *
+ * <p>Las sesiones expiradas se descartan al consultarlas y el barrido periódico libera
+ * las que nadie vuelve a usar. Las sesiones se pierden al reiniciar el servicio.</p>
+ */
+@RequiredArgsConstructor
+public class InMemorySessionStore implements SessionStore {
+
+    private final Map<String, AuthSession> sessions = new ConcurrentHashMap<>();
+    private final Clock clock;
+
+    @Override
+    public void save(AuthSession session) {
+        sessions.put(session.token(), session);
+    }
+
+    @Override
+    public Optional<AuthSession> find(String token) {
+        AuthSession session = sessions.get(token);
+        if (session == null) {
+            return Optional.empty();
+        }
+        if (session.isExpired(clock.instant())) {
+            sessions.remove(token, session);
+            return Optional.empty();
+        }
+        return Optional.of(session);
+    }
+
+    @Override
+    public boolean revoke(String token) {
+        return sessions.remove(token) != null;
+    }
+
+    @Override
+    public int sweepExpired() {
+        var now = clock.instant();
+        int before = sessions.size();
+        sessions.values().removeIf(session -> session.isExpired(now));
+        return Math.max(0, before - sessions.size());
+    }
+
+    public int size() {
+        return sessions.size();
+    }
+}
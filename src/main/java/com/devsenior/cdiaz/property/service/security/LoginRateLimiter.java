@@ -0,0 +1,134 @@
+package com.devsenior.cdiaz.property.service.security;
+
+import com.devsenior.cdiaz.property.service.exception.LoginRateLimitedException;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+
+import java.time.Duration;
+import java.util.Locale;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Limita los intentos de login por email y por IP de origen antes de tocar la base de datos.
+ *
+ * <p>Cada clave tiene un token bucket representado por un único {@link AtomicLong} (algoritmo
+ * GCRA: se guarda el instante teórico de la próxima llegada y se actualiza con CAS), así que
+ * la comprobación no toma locks. Las claves viven en una caché Caffeine con tamaño máximo y
+ * expiración por inactividad: la memoria queda acotada aunque un ataque rote emails o IPs.</p>
+ */
+public class LoginRateLimiter {
+
+    private final KeyedLimiter byEmail;
+    private final KeyedLimiter byIp;
+
+    private final LongAdder allowed = new LongAdder();
+    private final LongAdder rejectedByEmail = new LongAdder();
+    private final LongAdder rejectedByIp = new LongAdder();
+
+    public LoginRateLimiter(Limit emailLimit, Limit ipLimit, long maxKeys, Duration idleExpiry) {
+        this.byEmail = new KeyedLimiter(emailLimit, maxKeys, idleExpiry);
+        this.byIp = new KeyedLimiter(ipLimit, maxKeys, idleExpiry);
+    }
+
+    /**
+     * Consume un intento para la IP y el email; lanza {@link LoginRateLimitedException} si
+     * alguno de los dos agotó su cupo.
+     */
+    public void acquire(String email, String clientIp) {
+        long now = System.nanoTime();
+        long ipWait = byIp.tryAcquire(clientIp, now);
+        if (ipWait > 0) {
+            rejectedByIp.increment();
+            throw new LoginRateLimitedException("Demasiados intentos de inicio de sesión desde esta dirección",
+                    toRetryAfterSeconds(ipWait));
+        }
+        long emailWait = byEmail.tryAcquire(normalize(email), now);
+        if (emailWait > 0) {
+            rejectedByEmail.increment();
+            throw new LoginRateLimitedException("Demasiados intentos de inicio de sesión para esta cuenta",
+                    toRetryAfterSeconds(emailWait));
+        }
+        allowed.increment();
+    }
+
+    // Tras un login correcto el usuario no arrastra los fallos previos de su cuenta
+    public void reset(String email) {
+        byEmail.reset(normalize(email));
+    }
+
+    public long getAllowed() {
+        return allowed.sum();
+    }
+
+    public long getRejectedByEmail() {
+        return rejectedByEmail.sum();
+    }
+
+    public long getRejectedByIp() {
+        return rejectedByIp.sum();
+    }
+
+    public long getTrackedEmails() {
+        return byEmail.size();
+    }
+
+    public long getTrackedIps() {
+        return byIp.size();
+    }
+
+    private static String normalize(String email) {
+        return email == null ? "" : email.trim().toLowerCase(Locale.ROOT);
+    }
+
+    private static long toRetryAfterSeconds(long waitNanos) {
+        return Math.max(1, TimeUnit.NANOSECONDS.toSeconds(waitNanos + TimeUnit.SECONDS.toNanos(1) - 1));
+    }
+
+    /**
+     * Cupo de un bucket: ráfaga máxima de intentos y periodo en que se recupera por completo.
+     */
+    public record Limit(int capacity, Duration refillPeriod) {
+    }
+
+    private static final class KeyedLimiter {
+
+        private final Cache<String, AtomicLong> buckets;
+        private final long emissionIntervalNanos;
+        private final long burstToleranceNanos;
+
+        KeyedLimiter(Limit limit, long maxKeys, Duration idleExpiry) {
+            this.buckets = Caffeine.newBuilder()
+                    .maximumSize(maxKeys)
+                    .expireAfterAccess(idleExpiry)
+                    .build();
+            this.emissionIntervalNanos = limit.refillPeriod().toNanos() / limit.capacity();
+            this.burstToleranceNanos = emissionIntervalNanos * (limit.capacity() - 1);
+        }
+
+        // Devuelve 0 si se concede el intento o los nanosegundos que faltan para el siguiente
+        long tryAcquire(String key, long now) {
+            AtomicLong theoreticalArrival = buckets.get(key, k -> new AtomicLong(now));
+            while (true) {
+                long current = theoreticalArrival.get();
+                long tat = Math.max(current, now);
+                long wait = tat - now - burstToleranceNanos;
+                if (wait > 0) {
+                    return wait;
+                }
+                if (theoreticalArrival.compareAndSet(current, tat + emissionIntervalNanos)) {
+                    return 0;
+                }
+            }
+        }
+
+        void reset(String key) {
+            buckets.invalidate(key);
+        }
+
+        long size() {
+            return buckets.estimatedSize();
+        }
+    }
+}
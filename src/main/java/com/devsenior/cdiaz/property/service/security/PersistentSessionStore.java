@@ -0,0 +1,89 @@
+package com.devsenior.cdiaz.property.service.security;
+
+import com.devsenior.cdiaz.property.service.model.entity.UserSession;
+import com.devsenior.cdiaz.property.service.repository.UserSessionRepository;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.time.Clock;
+import java.time.Duration;
+import java.util.HexFormat;
+import java.util.Optional;
+
+/**
+ * Almacén de sesiones persistido en la tabla {@code user_sessions}, con una caché acotada delante.
+ *
+ * <p>Las sesiones sobreviven a reinicios sin cargarlas todas en memoria: solo las usadas
+ * recientemente quedan en la caché, y el resto se busca por clave primaria al primer uso.
+ * En la tabla se guarda el hash SHA-256 del token, nunca el token en claro.</p>
+ *
+ * <p>La revocación invalida la caché local; con varias instancias, una sesión revocada en
+ * otra instancia puede seguir aceptándose aquí hasta que expire su entrada de caché.</p>
+ */
+public class PersistentSessionStore implements SessionStore {
+
+    private final UserSessionRepository repository;
+    private final Clock clock;
+    private final Cache<String, AuthSession> cache;
+
+    public PersistentSessionStore(UserSessionRepository repository, Clock clock,
+                                  long cacheMaxSize, Duration cacheTtl) {
+        this.repository = repository;
+        this.clock = clock;
+        this.cache = Caffeine.newBuilder()
+                .maximumSize(cacheMaxSize)
+                .expireAfterWrite(cacheTtl)
+                .build();
+    }
+
+    @Override
+    public void save(AuthSession session) {
+        repository.save(new UserSession(hash(session.token()), session.userId(), session.email(),
+                session.fullName(), session.createdAt(), session.expiresAt()));
+        cache.put(session.token(), session);
+    }
+
+    @Override
+    public Optional<AuthSession> find(String token) {
+        AuthSession session = cache.getIfPresent(token);
+        if (session == null) {
+            session = repository.findById(hash(token))
+                    .map(row -> new AuthSession(token, row.getUserId(), row.getEmail(), row.getFullName(),
+                            row.getCreatedAt(), row.getExpiresAt()))
+                    .orElse(null);
+            if (session == null) {
+                return Optional.empty();
+            }
+            cache.put(token, session);
+        }
+        if (session.isExpired(clock.instant())) {
+            cache.invalidate(token);
+            return Optional.empty();
+        }
+        return Optional.of(session);
+    }
+
+    @Override
+    public boolean revoke(String token) {
+        cache.invalidate(token);
+        return repository.deleteByTokenHash(hash(token)) > 0;
+    }
+
+    @Override
+    public int sweepExpired() {
+        cache.cleanUp();
+        return repository.deleteExpired(clock.instant());
+    }
+
+    static String hash(String token) {
+        try {
+            MessageDigest digest = MessageDigest.getInstance("SHA-256");
+            return HexFormat.of().formatHex(digest.digest(token.getBytes(StandardCharsets.UTF_8)));
+        } catch (NoSuchAlgorithmException ex) {
+            throw new IllegalStateException("SHA-256 no disponible", ex);
+        }
+    }
+}
@@ -0,0 +1,71 @@
+package com.devsenior.cdiaz.property.service.security;
+
+import com.devsenior.cdiaz.property.service.exception.ErrorResponse;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import lombok.RequiredArgsConstructor;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpMethod;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.web.filter.OncePerRequestFilter;
+
+import java.io.IOException;
+import java.util.Optional;
+
+/**
+ * Exige un token {@code Authorization: Bearer <token>} válido en las rutas protegidas.
+ *
+ * <p>La validación se resuelve en el {@link SessionStore}, sin consultar la tabla de
+ * usuarios. La sesión válida queda disponible como atributo {@link #SESSION_ATTRIBUTE}.</p>
+ */
+@RequiredArgsConstructor
+public class SessionAuthenticationFilter extends OncePerRequestFilter {
+
+    public static final String SESSION_ATTRIBUTE = "authSession";
+
+    private static final String BEARER_PREFIX = "Bearer ";
+
+    private final SessionManager sessionManager;
+    private final ObjectMapper objectMapper;
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response,
+                                    FilterChain filterChain) throws ServletException, IOException {
+        // Las peticiones CORS de verificación previa no llevan credenciales
+        if (HttpMethod.OPTIONS.matches(request.getMethod())) {
+            filterChain.doFilter(request, response);
+            return;
+        }
+        Optional<AuthSession> session = sessionManager.find(bearerToken(request));
+        if (session.isEmpty()) {
+            reject(request, response);
+            return;
+        }
+        request.setAttribute(SESSION_ATTRIBUTE, session.get());
+        filterChain.doFilter(request, response);
+    }
+
+    static String bearerToken(HttpServletRequest request) {
+        String header = request.getHeader(HttpHeaders.AUTHORIZATION);
+        if (header == null || !header.regionMatches(true, 0, BEARER_PREFIX, 0, BEARER_PREFIX.length())) {
+            return null;
+        }
+        return header.substring(BEARER_PREFIX.length()).trim();
+    }
+
+    private void reject(HttpServletRequest request, HttpServletResponse response) throws IOException {
+        ErrorResponse error = new ErrorResponse(
+                HttpStatus.UNAUTHORIZED.value(),
+                "Error de Autenticación",
+                "Token de acceso ausente, inválido o expirado",
+                request.getRequestURI());
+        response.setStatus(HttpStatus.UNAUTHORIZED.value());
+        response.setHeader(HttpHeaders.WWW_AUTHENTICATE, "Bearer");
+        response.setContentType(MediaType.APPLICATION_JSON_VALUE);
+        objectMapper.writeValue(response.getOutputStream(), error);
+    }
+}
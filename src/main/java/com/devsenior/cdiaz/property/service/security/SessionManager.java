@@ -0,0 +1,71 @@
+package com.devsenior.cdiaz.property.service.security;
+
+import com.devsenior.cdiaz.property.service.model.entity.User;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.security.SecureRandom;
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.Base64;
+import java.util.Optional;
+
+/**
+ * Emite, valida y revoca los tokens de sesión.
+ *
+ * <p>Los tokens van firmados con {@link SessionTokenSigner}; los que no traen una firma válida se
+ * rechazan antes de consultar el almacén.</p>
+ */
+@Component
+@Slf4j
+public class SessionManager {
+
+    private static final int TOKEN_BYTES = 32;
+
+    private final SessionStore sessionStore;
+    private final SessionTokenSigner tokenSigner;
+    private final Clock clock;
+    private final Duration ttl;
+    private final SecureRandom random = new SecureRandom();
+
+    public SessionManager(SessionStore sessionStore, SessionTokenSigner tokenSigner, Clock clock,
+                          @Value("${property.auth.session.ttl:8h}") Duration ttl) {
+        this.sessionStore = sessionStore;
+        this.tokenSigner = tokenSigner;
+        this.clock = clock;
+        this.ttl = ttl;
+    }
+
+    public AuthSession open(User user) {
+        byte[] bytes = new byte[TOKEN_BYTES];
+        random.nextBytes(bytes);
+        String token = tokenSigner.sign(Base64.getUrlEncoder().withoutPadding().encodeToString(bytes));
+        Instant now = clock.instant();
+        AuthSession session = new AuthSession(token, user.getId(), user.getEmail(), user.getFullName(),
+                now, now.plus(ttl));
+        sessionStore.save(session);
+        return session;
+    }
+
+    public Optional<AuthSession> find(String token) {
+        if (token == null || token.isBlank() || !tokenSigner.verify(token)) {
+            return Optional.empty();
+        }
+        return sessionStore.find(token);
+    }
+
+    public boolean close(String token) {
+        return tokenSigner.verify(token) && sessionStore.revoke(token);
+    }
+
+    @Scheduled(fixedDelayString = "${property.auth.session.sweep-interval:5m}")
+    public void sweepExpired() {
+        int removed = sessionStore.sweepExpired();
+        if (removed > 0) {
+            log.debug("Eliminadas {} sesiones expiradas", removed);
+        }
+    }
+}
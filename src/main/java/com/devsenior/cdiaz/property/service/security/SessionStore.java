@@ -0,0 +1,21 @@
+package com.devsenior.cdiaz.property.service.security;
+
+import java.util.Optional;
+
+/**
+ * Almacén de sesiones indexado por token.
+ */
+public interface SessionStore {
+    
+    // Registra una sesión nueva; el token ya viene generado
+    void save(AuthSession session);
+    
+    // Sesión vigente para el token, o vacío si no existe, expiró o fue revocada
+    Optional<AuthSession> find(String token);
+    
+    // Revoca la sesión; devuelve false si no existía
+    boolean revoke(String token);
+    
+    // Elimina las sesiones expiradas; devuelve cuántas se eliminaron
+    int sweepExpired();
+}
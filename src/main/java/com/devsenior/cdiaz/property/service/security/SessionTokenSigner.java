@@ -0,0 +1,62 @@
+package com.devsenior.cdiaz.property.service.security;
+
+import javax.crypto.Mac;
+import javax.crypto.spec.SecretKeySpec;
+import java.nio.charset.StandardCharsets;
+import java.security.GeneralSecurityException;
+import java.security.MessageDigest;
+import java.util.Arrays;
+import java.util.Base64;
+
+/**
+ * Firma los tokens de sesión con HMAC-SHA256 para rechazar los falsificados sin consultar el almacén.
+ *
+ * <p>El token tiene la forma {@code <aleatorio>.<etiqueta>}, donde la etiqueta son los primeros
+ * 16 bytes del HMAC de la parte aleatoria. Un token sin etiqueta válida no llega a buscarse en
+ * {@link SessionStore}, de modo que los tokens inventados no generan consultas a {@code user_sessions}.</p>
+ */
+public class SessionTokenSigner {
+
+    private static final String ALGORITHM = "HmacSHA256";
+    private static final int MIN_KEY_BYTES = 32;
+    private static final int TAG_BYTES = 16;
+
+    private final SecretKeySpec key;
+
+    public SessionTokenSigner(byte[] key) {
+        if (key.length < MIN_KEY_BYTES) {
+            throw new IllegalArgumentException("La clave de firma de sesiones debe tener al menos "
+                    + MIN_KEY_BYTES + " bytes");
+        }
+        this.key = new SecretKeySpec(key, ALGORITHM);
+    }
+
+    public String sign(String value) {
+        return value + "." + Base64.getUrlEncoder().withoutPadding().encodeToString(tag(value));
+    }
+
+    public boolean verify(String token) {
+        int dot = token.lastIndexOf('.');
+        if (dot <= 0 || dot == token.length() - 1) {
+            return false;
+        }
+        byte[] received;
+        try {
+            received = Base64.getUrlDecoder().decode(token.substring(dot + 1));
+        } catch (IllegalArgumentException ex) {
+            return false;
+        }
+        // Comparación en tiempo constante para no filtrar la etiqueta correcta byte a byte
+        return MessageDigest.isEqual(tag(token.substring(0, dot)), received);
+    }
+
+    private byte[] tag(String value) {
+        try {
+            Mac mac = Mac.getInstance(ALGORITHM);
+            mac.init(key);
+            return Arrays.copyOf(mac.doFinal(value.getBytes(StandardCharsets.UTF_8)), TAG_BYTES);
+        } catch (GeneralSecurityException ex) {
+            throw new IllegalStateException("No se pudo calcular la firma del token de sesión", ex);
+        }
+    }
+}
@@ -0,0 +1,29 @@
+package com.devsenior.cdiaz.property.service.service;
+
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+/**
+ * Ejecuta acciones en memoria (cachés, índices) solo cuando la escritura ya es visible.
+ *
+ * <p>Si hay una transacción activa, la acción se difiere hasta su commit y se descarta si
+ * hay rollback; sin transacción se ejecuta de inmediato.</p>
+ */
+public final class AfterCommit {
+
+    private AfterCommit() {
+    }
+
+    public static void run(Runnable action) {
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    action.run();
+                }
+            });
+        } else {
+            action.run();
+        }
+    }
+}
@@ -6,7 +6,11 @@ import com.devsenior.cdiaz.property.service.model.dto.UserDto;
 
 public interface AuthService {
     
-    LoginResponseDto login(LoginRequestDto loginRequest);
+    // clientIp alimenta el limitador de intentos junto con el email
+    LoginResponseDto login(LoginRequestDto loginRequest, String clientIp);
     
     UserDto register(UserDto userDto);
+    
+    // Revoca el token de sesión; las siguientes peticiones con él serán rechazadas
+    void logout(String token);
 }
@@ -0,0 +1,129 @@
+package com.devsenior.cdiaz.property.service.service;
+
+import org.apache.hc.client5.http.SystemDefaultDnsResolver;
+import org.apache.hc.client5.http.classic.methods.HttpGet;
+import org.apache.hc.client5.http.config.ConnectionConfig;
+import org.apache.hc.client5.http.config.RequestConfig;
+import org.apache.hc.client5.http.impl.classic.CloseableHttpClient;
+import org.apache.hc.client5.http.impl.classic.HttpClients;
+import org.apache.hc.client5.http.impl.io.PoolingHttpClientConnectionManagerBuilder;
+import org.apache.hc.core5.http.HttpEntity;
+import org.apache.hc.core5.http.HttpHeaders;
+import org.apache.hc.core5.util.Timeout;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.net.Inet4Address;
+import java.net.Inet6Address;
+import java.net.InetAddress;
+import java.net.URI;
+import java.net.UnknownHostException;
+import java.time.Duration;
+
+/**
+ * Descarga las imágenes por HTTP(S).
+ *
+ * <p>La URL la escribe cualquier cliente de la API, así que no se siguen redirecciones y, salvo
+ * que se permita expresamente, se rechazan los hosts que resuelven a direcciones locales o
+ * privadas: el servicio no debe servir de puente hacia la red interna.</p>
+ *
+ * <p>La comprobación se hace en la resolución DNS del propio cliente HTTP y la conexión se abre a
+ * las direcciones ya comprobadas: un host que resuelve a una dirección pública al validar y a una
+ * interna al conectar (DNS rebinding) no puede colarse entre las dos resoluciones. La cabecera
+ * {@code Host}, el SNI y la verificación del certificado siguen usando el nombre de la URL.</p>
+ */
+public class HttpImageSource implements ImageSource, AutoCloseable {
+
+    private final CloseableHttpClient client;
+    private final boolean allowPrivateHosts;
+
+    public HttpImageSource(Duration timeout, boolean allowPrivateHosts) {
+        this.allowPrivateHosts = allowPrivateHosts;
+        this.client = HttpClients.custom()
+                .setConnectionManager(PoolingHttpClientConnectionManagerBuilder.create()
+                        .setDnsResolver(new CheckedDnsResolver())
+                        .setDefaultConnectionConfig(ConnectionConfig.custom()
+                                .setConnectTimeout(Timeout.of(timeout))
+                                .setSocketTimeout(Timeout.of(timeout))
+                                .build())
+                        .build())
+                .setDefaultRequestConfig(RequestConfig.custom()
+                        .setResponseTimeout(Timeout.of(timeout))
+                        .build())
+                .disableRedirectHandling()
+                .disableAutomaticRetries()
+                .build();
+    }
+
+    @Override
+    public byte[] fetch(String imageUrl, int maxBytes) throws IOException {
+        HttpGet request = new HttpGet(validate(imageUrl));
+        request.setHeader(HttpHeaders.ACCEPT, "image/*");
+        return client.execute(request, response -> {
+            if (response.getCode() != 200) {
+                throw new IOException("La descarga de " + imageUrl + " respondió " + response.getCode());
+            }
+            HttpEntity entity = response.getEntity();
+            if (entity == null) {
+                throw new IOException("La descarga de " + imageUrl + " no tiene contenido");
+            }
+            if (entity.getContentLength() > maxBytes) {
+                throw new IOException("La imagen supera " + maxBytes + " bytes: " + imageUrl);
+            }
+            try (InputStream body = entity.getContent()) {
+                return ImageSources.readLimited(body, maxBytes);
+            }
+        });
+    }
+
+    @Override
+    public void close() throws IOException {
+        client.close();
+    }
+
+    private URI validate(String imageUrl) throws IOException {
+        URI uri;
+        try {
+            uri = URI.create(imageUrl);
+        } catch (IllegalArgumentException ex) {
+            throw new IOException("URL de imagen inválida: " + imageUrl, ex);
+        }
+        if (!"http".equalsIgnoreCase(uri.getScheme()) && !"https".equalsIgnoreCase(uri.getScheme())) {
+            throw new IOException("Solo se descargan imágenes por http o https: " + imageUrl);
+        }
+        if (uri.getHost() == null) {
+            throw new IOException("URL de imagen sin host: " + imageUrl);
+        }
+        return uri;
+    }
+
+    // Locales, privadas (incluidas fc00::/7 y el CGNAT 100.64.0.0/10), enlace local y multicast
+    private static boolean isInternal(InetAddress address) {
+        if (address.isLoopbackAddress() || address.isSiteLocalAddress() || address.isLinkLocalAddress()
+                || address.isAnyLocalAddress() || address.isMulticastAddress()) {
+            return true;
+        }
+        byte[] bytes = address.getAddress();
+        if (address instanceof Inet4Address) {
+            return (bytes[0] & 0xFF) == 100 && (bytes[1] & 0xC0) == 64;
+        }
+        return address instanceof Inet6Address && (bytes[0] & 0xFE) == 0xFC;
+    }
+
+    // Resolución que usa el cliente para conectar: devuelve solo direcciones comprobadas
+    private class CheckedDnsResolver extends SystemDefaultDnsResolver {
+
+        @Override
+        public InetAddress[] resolve(String host) throws UnknownHostException {
+            InetAddress[] addresses = super.resolve(host);
+            if (!allowPrivateHosts) {
+                for (InetAddress address : addresses) {
+                    if (isInternal(address)) {
+                        throw new UnknownHostException("Host de imagen no permitido: " + host);
+                    }
+                }
+            }
+            return addresses;
+        }
+    }
+}
@@ -0,0 +1,17 @@
+package com.devsenior.cdiaz.property.service.service;
+
+import java.io.IOException;
+
+/**
+ * Origen de las imágenes originales de las propiedades ({@code imageUrl}).
+ */
+public interface ImageSource {
+
+    /**
+     * Lee la imagen completa.
+     *
+     * @param maxBytes tamaño máximo aceptado
+     * @throws IOException si no se puede leer, la URL no está permitida o supera {@code maxBytes}
+     */
+    byte[] fetch(String imageUrl, int maxBytes) throws IOException;
+}
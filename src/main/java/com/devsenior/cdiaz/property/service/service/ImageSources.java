@@ -0,0 +1,19 @@
+package com.devsenior.cdiaz.property.service.service;
+
+import java.io.IOException;
+import java.io.InputStream;
+
+final class ImageSources {
+
+    private ImageSources() {
+    }
+
+    // Lee como máximo maxBytes; si el contenido es mayor falla sin cargarlo entero en memoria
+    static byte[] readLimited(InputStream in, int maxBytes) throws IOException {
+        byte[] data = in.readNBytes(maxBytes);
+        if (data.length == maxBytes && in.read() != -1) {
+            throw new IOException("La imagen supera " + maxBytes + " bytes");
+        }
+        return data;
+    }
+}
@@ -0,0 +1,122 @@
+package com.devsenior.cdiaz.property.service.service;
+
+import com.devsenior.cdiaz.property.service.model.dto.PropertyImageVariants;
+
+import javax.imageio.IIOImage;
+import javax.imageio.ImageIO;
+import javax.imageio.ImageReader;
+import javax.imageio.ImageWriteParam;
+import javax.imageio.ImageWriter;
+import javax.imageio.stream.ImageInputStream;
+import javax.imageio.stream.ImageOutputStream;
+import java.awt.Color;
+import java.awt.Graphics2D;
+import java.awt.RenderingHints;
+import java.awt.image.BufferedImage;
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * Genera las variantes de {@link PropertyImageVariants} a partir de la imagen original.
+ *
+ * <p>Lee cualquier formato que soporte {@link ImageIO} (JPEG, PNG, GIF, BMP). Antes de
+ * decodificar comprueba las dimensiones: una imagen pequeña en bytes puede ocupar gigas al
+ * descomprimirse. Las imágenes solo se reducen, nunca se amplían, y la reducción se hace por
+ * mitades sucesivas para no perder calidad con el filtro bilineal.</p>
+ */
+public class ImageThumbnailer {
+
+    private static final float QUALITY = 0.85f;
+
+    private final long maxPixels;
+
+    public ImageThumbnailer(long maxPixels) {
+        this.maxPixels = maxPixels;
+    }
+
+    /**
+     * @return contenido de cada variante por nombre de archivo
+     * @throws IOException si la imagen no se puede decodificar o es demasiado grande
+     */
+    public Map<String, byte[]> generate(byte[] original) throws IOException {
+        BufferedImage source = decode(original);
+        Map<String, byte[]> files = new LinkedHashMap<>();
+        for (PropertyImageVariants.Size size : PropertyImageVariants.SIZES) {
+            BufferedImage scaled = scale(source, size.width());
+            for (PropertyImageVariants.Format format : PropertyImageVariants.Format.available()) {
+                files.put(PropertyImageVariants.fileName(size, format), encode(scaled, format));
+            }
+        }
+        return files;
+    }
+
+    private BufferedImage decode(byte[] original) throws IOException {
+        try (ImageInputStream input = ImageIO.createImageInputStream(new ByteArrayInputStream(original))) {
+            Iterator<ImageReader> readers = ImageIO.getImageReaders(input);
+            if (!readers.hasNext()) {
+                throw new IOException("Formato de imagen no soportado");
+            }
+            ImageReader reader = readers.next();
+            try {
+                reader.setInput(input, true, true);
+                long pixels = (long) reader.getWidth(0) * reader.getHeight(0);
+                if (pixels > maxPixels) {
+                    throw new IOException("La imagen tiene " + pixels + " píxeles (máximo " + maxPixels + ")");
+                }
+                return reader.read(0);
+            } finally {
+                reader.dispose();
+            }
+        }
+    }
+
+    // Sin canal alfa: JPEG no lo admite y las transparencias se pintan sobre blanco
+    private static BufferedImage scale(BufferedImage source, int maxWidth) {
+        int targetWidth = Math.min(maxWidth, source.getWidth());
+        int targetHeight = Math.max(1, (int) Math.round((double) source.getHeight() * targetWidth / source.getWidth()));
+        BufferedImage current = source;
+        int width = source.getWidth();
+        int height = source.getHeight();
+        do {
+            width = Math.max(targetWidth, width / 2);
+            height = Math.max(targetHeight, height / 2);
+            BufferedImage next = new BufferedImage(width, height, BufferedImage.TYPE_INT_RGB);
+            Graphics2D graphics = next.createGraphics();
+            try {
+                graphics.setRenderingHint(RenderingHints.KEY_INTERPOLATION, RenderingHints.VALUE_INTERPOLATION_BILINEAR);
+                graphics.setRenderingHint(RenderingHints.KEY_RENDERING, RenderingHints.VALUE_RENDER_QUALITY);
+                graphics.setColor(Color.WHITE);
+                graphics.fillRect(0, 0, width, height);
+                graphics.drawImage(current, 0, 0, width, height, null);
+            } finally {
+                graphics.dispose();
+            }
+            current = next;
+        } while (width != targetWidth || height != targetHeight);
+        return current;
+    }
+
+    private static byte[] encode(BufferedImage image, PropertyImageVariants.Format format) throws IOException {
+        ImageWriter writer = ImageIO.getImageWritersByMIMEType(format.mediaType()).next();
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+        try (ImageOutputStream output = ImageIO.createImageOutputStream(bytes)) {
+            writer.setOutput(output);
+            ImageWriteParam param = writer.getDefaultWriteParam();
+            if (param.canWriteCompressed()) {
+                param.setCompressionMode(ImageWriteParam.MODE_EXPLICIT);
+                if (param.getCompressionType() == null && param.getCompressionTypes() != null) {
+                    param.setCompressionType(param.getCompressionTypes()[0]);
+                }
+                param.setCompressionQuality(QUALITY);
+            }
+            writer.write(null, new IIOImage(image, null, null), param);
+        } finally {
+            writer.dispose();
+        }
+        return bytes.toByteArray();
+    }
+}
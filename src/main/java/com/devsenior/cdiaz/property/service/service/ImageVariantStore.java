@@ -0,0 +1,80 @@
+package com.devsenior.cdiaz.property.service.service;
+
+import com.devsenior.cdiaz.property.service.model.dto.PropertyImageVariants;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.file.AtomicMoveNotSupportedException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.util.Map;
+import java.util.Optional;
+import java.util.regex.Pattern;
+
+/**
+ * Miniaturas en disco local, en un directorio por clave de contenido:
+ * {@code <directorio>/<clave>/thumb.jpg}.
+ *
+ * <p>Cada archivo se escribe aparte y se mueve a su sitio, de modo que nunca se sirve una
+ * miniatura a medio escribir. Como la clave depende del contenido, dos propiedades con la misma
+ * imagen comparten las miniaturas.</p>
+ */
+public class ImageVariantStore {
+
+    private static final Pattern KEY = Pattern.compile("[0-9a-f]{32}");
+
+    private final Path directory;
+
+    public ImageVariantStore(Path directory) {
+        this.directory = directory.toAbsolutePath().normalize();
+        try {
+            Files.createDirectories(this.directory);
+        } catch (IOException ex) {
+            throw new UncheckedIOException("No se pudo crear el directorio de imágenes " + this.directory, ex);
+        }
+    }
+
+    // Todas las variantes de la clave están en disco
+    public boolean contains(String key) {
+        for (PropertyImageVariants.Size size : PropertyImageVariants.SIZES) {
+            for (PropertyImageVariants.Format format : PropertyImageVariants.Format.available()) {
+                if (!Files.isRegularFile(directory.resolve(key).resolve(PropertyImageVariants.fileName(size, format)))) {
+                    return false;
+                }
+            }
+        }
+        return true;
+    }
+
+    public void write(String key, Map<String, byte[]> files) throws IOException {
+        Path keyDirectory = directory.resolve(key);
+        Files.createDirectories(keyDirectory);
+        for (Map.Entry<String, byte[]> file : files.entrySet()) {
+            Path target = keyDirectory.resolve(file.getKey());
+            Path temporary = Files.createTempFile(keyDirectory, file.getKey(), ".tmp");
+            try {
+                Files.write(temporary, file.getValue());
+                try {
+                    Files.move(temporary, target, StandardCopyOption.ATOMIC_MOVE, StandardCopyOption.REPLACE_EXISTING);
+                } catch (AtomicMoveNotSupportedException ex) {
+                    Files.move(temporary, target, StandardCopyOption.REPLACE_EXISTING);
+                }
+            } finally {
+                Files.deleteIfExists(temporary);
+            }
+        }
+    }
+
+    /**
+     * Archivo de una variante; vacío si la clave o el nombre no son válidos o si no existe.
+     * Solo se aceptan nombres de variantes conocidos, así que no se puede salir del directorio.
+     */
+    public Optional<Path> find(String key, String fileName) {
+        if (!KEY.matcher(key).matches() || PropertyImageVariants.formatOf(fileName).isEmpty()) {
+            return Optional.empty();
+        }
+        Path file = directory.resolve(key).resolve(fileName);
+        return Files.isRegularFile(file) ? Optional.of(file) : Optional.empty();
+    }
+}
@@ -0,0 +1,44 @@
+package com.devsenior.cdiaz.property.service.service;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.net.URI;
+import java.nio.file.Files;
+import java.nio.file.Path;
+
+/**
+ * Lee las imágenes de un directorio local: {@code imageUrl} es una ruta relativa a él o una
+ * URL {@code file:} dentro de él. Pensado para pruebas y entornos sin acceso a internet.
+ */
+public class LocalFileImageSource implements ImageSource {
+
+    private final Path baseDirectory;
+
+    public LocalFileImageSource(Path baseDirectory) {
+        this.baseDirectory = baseDirectory.toAbsolutePath().normalize();
+    }
+
+    @Override
+    public byte[] fetch(String imageUrl, int maxBytes) throws IOException {
+        Path file = resolve(imageUrl);
+        try (InputStream in = Files.newInputStream(file)) {
+            return ImageSources.readLimited(in, maxBytes);
+        }
+    }
+
+    private Path resolve(String imageUrl) throws IOException {
+        Path file;
+        try {
+            file = imageUrl.startsWith("file:")
+                    ? Path.of(URI.create(imageUrl))
+                    : baseDirectory.resolve(imageUrl);
+        } catch (IllegalArgumentException ex) {
+            throw new IOException("Ruta de imagen inválida: " + imageUrl, ex);
+        }
+        file = file.toAbsolutePath().normalize();
+        if (!file.startsWith(baseDirectory)) {
+            throw new IOException("La imagen está fuera del directorio permitido: " + imageUrl);
+        }
+        return file;
+    }
+}
@@ -0,0 +1,148 @@
+package com.devsenior.cdiaz.property.service.service;
+
+import com.devsenior.cdiaz.property.service.config.CacheConfig;
+import com.devsenior.cdiaz.property.service.model.entity.Property;
+import com.devsenior.cdiaz.property.service.model.entity.PropertyEvent;
+import com.devsenior.cdiaz.property.service.repository.PropertyRepository;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.SessionFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.cache.Cache;
+import org.springframework.cache.CacheManager;
+import org.springframework.scheduling.TaskScheduler;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.Objects;
+
+/**
+ * Invalida las entradas de caché afectadas por una escritura de propiedades.
+ *
+ * <p>Si hay una transacción activa, la invalidación se difiere hasta el commit para
+ * que una lectura concurrente no vuelva a cachear el valor anterior.</p>
+ *
+ * <p>Además de las cachés de la aplicación limpia la caché de segundo nivel de Hibernate: la
+ * entidad y las consultas cacheadas de propiedades. Hibernate no lo hace solo cuando la
+ * escritura es SQL nativo que devuelve filas ({@code UPDATE/DELETE ... RETURNING}).</p>
+ *
+ * <p>También desliga las lecturas agrupadas en curso de la propiedad o ciudad
+ * ({@link PropertyReadCoalescer}): las peticiones que lleguen después del commit no reciben un
+ * resultado leído antes de la escritura.</p>
+ *
+ * <p>Las escrituras de otras instancias llegan como eventos del outbox ({@link #evict(List)}):
+ * sin ello, las cachés de esta instancia servirían el valor anterior hasta que caducaran.</p>
+ *
+ * <p>Con réplicas de lectura, una lectura justo después del commit puede cachear el valor
+ * anterior desde una réplica retrasada; por eso la entrada se invalida otra vez cuando ha
+ * pasado el retraso máximo de replicación admitido.</p>
+ */
+@Component
+public class PropertyCacheInvalidator {
+
+    private final CacheManager cacheManager;
+    private final SessionFactory sessionFactory;
+    private final PropertyReadCoalescer readCoalescer;
+    private final TaskScheduler taskScheduler;
+    private final ObjectMapper objectMapper;
+    private final Duration replicaLag;
+
+    public PropertyCacheInvalidator(CacheManager cacheManager,
+                                    EntityManagerFactory entityManagerFactory,
+                                    PropertyReadCoalescer readCoalescer,
+                                    TaskScheduler taskScheduler,
+                                    ObjectMapper objectMapper,
+                                    @Value("${property.db.replicas.enabled:false}") boolean replicasEnabled,
+                                    @Value("${property.db.replicas.max-lag:5s}") Duration maxReplicaLag) {
+        this.cacheManager = cacheManager;
+        this.sessionFactory = entityManagerFactory.unwrap(SessionFactory.class);
+        this.readCoalescer = readCoalescer;
+        this.taskScheduler = taskScheduler;
+        this.objectMapper = objectMapper;
+        this.replicaLag = replicasEnabled ? maxReplicaLag : Duration.ZERO;
+    }
+
+    public void evictId(Long id) {
+        if (id != null) {
+            evict(CacheConfig.PROPERTIES_BY_ID, id, () -> {
+                sessionFactory.getCache().evictEntityData(Property.class, id);
+                readCoalescer.forgetProperty(id);
+            });
+        }
+    }
+
+    public void evictCity(String city) {
+        if (city != null) {
+            evict(CacheConfig.PROPERTIES_BY_CITY, city, () -> {
+                sessionFactory.getCache().evictQueryRegion(PropertyRepository.QUERY_CACHE_REGION);
+                readCoalescer.forgetCity(city);
+            });
+        }
+    }
+
+    /**
+     * Invalida lo afectado por eventos publicados en el outbox, los haya escrito esta instancia
+     * u otra: la propiedad y su ciudad antes y después del cambio.
+     */
+    public void evict(List<PropertyEvent> events) {
+        for (PropertyEvent event : events) {
+            evictId(event.getPropertyId());
+            String city = currentCity(event);
+            boolean previousKnown = event.getType() == PropertyEvent.Type.CREATED || event.getPreviousCity() != null;
+            boolean currentKnown = event.getType() == PropertyEvent.Type.DELETED || city != null;
+            if (!previousKnown || !currentKnown) {
+                // Evento anterior a la columna previous_city o payload ilegible: cualquier ciudad
+                evictAllCities();
+                continue;
+            }
+            evictCity(event.getPreviousCity());
+            if (!Objects.equals(city, event.getPreviousCity())) {
+                evictCity(city);
+            }
+        }
+    }
+
+    // Ciudad tras el cambio, del payload; nula en los borrados o si el payload no se puede leer
+    private String currentCity(PropertyEvent event) {
+        if (event.getPayload() == null) {
+            return null;
+        }
+        try {
+            return objectMapper.readTree(event.getPayload()).path("city").textValue();
+        } catch (JsonProcessingException ex) {
+            return null;
+        }
+    }
+
+    private void evictAllCities() {
+        Cache cache = cacheManager.getCache(CacheConfig.PROPERTIES_BY_CITY);
+        afterCommit(() -> {
+            if (cache != null) {
+                cache.clear();
+            }
+            sessionFactory.getCache().evictQueryRegion(PropertyRepository.QUERY_CACHE_REGION);
+            readCoalescer.forgetAllCities();
+        });
+    }
+
+    private void evict(String cacheName, Object key, Runnable evictRelated) {
+        Cache cache = cacheManager.getCache(cacheName);
+        afterCommit(() -> {
+            if (cache != null) {
+                cache.evict(key);
+            }
+            evictRelated.run();
+        });
+    }
+
+    private void afterCommit(Runnable eviction) {
+        AfterCommit.run(() -> {
+            eviction.run();
+            if (replicaLag.isPositive()) {
+                taskScheduler.schedule(eviction, taskScheduler.getClock().instant().plus(replicaLag));
+            }
+        });
+    }
+}
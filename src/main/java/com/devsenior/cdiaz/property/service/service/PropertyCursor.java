@@ -0,0 +1,42 @@
+package com.devsenior.cdiaz.property.service.service;
+
+import com.devsenior.cdiaz.property.service.exception.InvalidRequestException;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Base64;
+
+/**
+ * Codifica y decodifica el cursor opaco usado en la paginación keyset de propiedades.
+ *
+ * <p>El cursor contiene el último ID entregado; el cliente no debe interpretarlo,
+ * solo reenviarlo tal cual en el parámetro {@code cursor}.</p>
+ */
+final class PropertyCursor {
+
+    private static final String PREFIX = "id:";
+
+    private PropertyCursor() {
+    }
+
+    static String encode(Long lastId) {
+        String raw = PREFIX + lastId;
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(raw.getBytes(StandardCharsets.UTF_8));
+    }
+
+    static long decode(String cursor) {
+        String raw;
+        try {
+            raw = new String(Base64.getUrlDecoder().decode(cursor), StandardCharsets.UTF_8);
+        } catch (IllegalArgumentException ex) {
+            throw new InvalidRequestException("Cursor inválido: " + cursor, ex);
+        }
+        if (!raw.startsWith(PREFIX)) {
+            throw new InvalidRequestException("Cursor inválido: " + cursor);
+        }
+        try {
+            return Long.parseLong(raw.substring(PREFIX.length()));
+        } catch (NumberFormatException ex) {
+            throw new InvalidRequestException("Cursor inválido: " + cursor, ex);
+        }
+    }
+}
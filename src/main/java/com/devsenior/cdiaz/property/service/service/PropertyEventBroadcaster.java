@@ -0,0 +1,243 @@
+package com.devsenior.cdiaz.property.service.service;
+
+import com.devsenior.cdiaz.property.service.exception.EventStreamBusyException;
+import com.devsenior.cdiaz.property.service.exception.InvalidRequestException;
+import com.devsenior.cdiaz.property.service.mapper.PropertyMapper;
+import com.devsenior.cdiaz.property.service.model.dto.PropertyEventDto;
+import com.devsenior.cdiaz.property.service.model.entity.PropertyEvent;
+import com.devsenior.cdiaz.property.service.repository.PropertyEventRepository;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.context.SmartLifecycle;
+import org.springframework.data.domain.Limit;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import java.io.IOException;
+import java.time.Duration;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Reparte los eventos publicados por {@link PropertyEventRelay} entre los suscriptores SSE.
+ *
+ * <p>Cada suscriptor tiene un hilo virtual que le envía los eventos y un buffer acotado. El
+ * relay nunca espera a un suscriptor: si su buffer se llena, se vacía y el suscriptor pasa a
+ * leer de la tabla de eventos a su propio ritmo hasta alcanzar al resto. Lo mismo ocurre al
+ * suscribirse con un número de secuencia anterior: primero se reenvía el histórico desde la
+ * base de datos y después se pasa a los eventos en vivo, sin duplicados ni huecos.</p>
+ *
+ * <p>Si el número de secuencia pedido ya no está en la tabla (retención), o es posterior al
+ * último evento existente (por ejemplo, de otra base de datos), se envía un evento {@code reset}
+ * y se cierra el flujo: el cliente debe volver a cargar el listado completo. Sin ello, un número
+ * adelantado descartaría en silencio todos los eventos hasta alcanzarlo.</p>
+ */
+@Slf4j
+public class PropertyEventBroadcaster implements SmartLifecycle {
+
+    private final PropertyEventRepository eventRepository;
+    private final PropertyMapper propertyMapper;
+    private final int bufferSize;
+    private final int maxSubscribers;
+    private final int replayBatchSize;
+    private final Duration heartbeatInterval;
+    private final Duration emitterTimeout;
+
+    private final Set<Subscriber> subscribers = ConcurrentHashMap.newKeySet();
+    private final LongAdder overflows = new LongAdder();
+    private volatile long lastPublished;
+    private volatile boolean running;
+
+    public PropertyEventBroadcaster(PropertyEventRepository eventRepository, PropertyMapper propertyMapper,
+                                    int bufferSize, int maxSubscribers, int replayBatchSize,
+                                    Duration heartbeatInterval, Duration emitterTimeout) {
+        this.eventRepository = eventRepository;
+        this.propertyMapper = propertyMapper;
+        this.bufferSize = bufferSize;
+        this.maxSubscribers = maxSubscribers;
+        this.replayBatchSize = replayBatchSize;
+        this.heartbeatInterval = heartbeatInterval;
+        this.emitterTimeout = emitterTimeout;
+    }
+
+    // Lee el último evento publicado al arrancar y no al crear el bean: así el contexto se puede
+    // crear sin base de datos (ejecución de entrenamiento del archivo CDS)
+    @Override
+    public void start() {
+        lastPublished = eventRepository.findMaxSeq();
+        running = true;
+    }
+
+    @Override
+    public void stop() {
+        running = false;
+    }
+
+    @Override
+    public boolean isRunning() {
+        return running;
+    }
+
+    // Antes que el servidor web: ninguna suscripción llega sin la posición inicial
+    @Override
+    public int getPhase() {
+        return 0;
+    }
+
+    /**
+     * Abre un flujo con los eventos posteriores a {@code since}, o solo los nuevos si es nulo.
+     *
+     * @throws EventStreamBusyException si se alcanzó el máximo de suscriptores
+     */
+    public SseEmitter subscribe(Long since) {
+        if (since != null && since < 0) {
+            throw new InvalidRequestException("El número de secuencia no puede ser negativo");
+        }
+        if (subscribers.size() >= maxSubscribers) {
+            throw new EventStreamBusyException("Se alcanzó el máximo de " + maxSubscribers + " suscriptores");
+        }
+        SseEmitter emitter = new SseEmitter(emitterTimeout.toMillis());
+        Subscriber subscriber = new Subscriber(emitter, since != null ? since : lastPublished);
+        subscribers.add(subscriber);
+        emitter.onCompletion(subscriber::close);
+        emitter.onTimeout(subscriber::close);
+        emitter.onError(error -> subscriber.close());
+        subscriber.start();
+        return emitter;
+    }
+
+    // Lo llama solo el relay, con eventos consecutivos
+    void publish(List<PropertyEventDto> events) {
+        if (events.isEmpty()) {
+            return;
+        }
+        for (Subscriber subscriber : subscribers) {
+            subscriber.offer(events);
+        }
+        lastPublished = events.get(events.size() - 1).seq();
+    }
+
+    long getLastPublished() {
+        return lastPublished;
+    }
+
+    public int getSubscribers() {
+        return subscribers.size();
+    }
+
+    public long getOverflows() {
+        return overflows.sum();
+    }
+
+    private final class Subscriber {
+
+        private final SseEmitter emitter;
+        private final BlockingQueue<PropertyEventDto> buffer = new ArrayBlockingQueue<>(bufferSize);
+        private volatile long cursor;
+        // El buffer se desbordó: hay que leer de la base de datos
+        private volatile boolean lagging = true;
+        private volatile boolean closed;
+        private Thread thread;
+
+        Subscriber(SseEmitter emitter, long since) {
+            this.emitter = emitter;
+            this.cursor = since;
+        }
+
+        void start() {
+            thread = Thread.ofVirtual().name("property-events-subscriber").start(this::run);
+        }
+
+        void offer(List<PropertyEventDto> events) {
+            for (PropertyEventDto event : events) {
+                if (!buffer.offer(event)) {
+                    buffer.clear();
+                    lagging = true;
+                    overflows.increment();
+                    return;
+                }
+            }
+        }
+
+        void close() {
+            if (!closed) {
+                closed = true;
+                subscribers.remove(this);
+                if (thread != null) {
+                    thread.interrupt();
+                }
+            }
+        }
+
+        private void run() {
+            try {
+                if (outOfRange()) {
+                    return;
+                }
+                while (!closed) {
+                    if (lagging) {
+                        lagging = false;
+                        catchUp();
+                        continue;
+                    }
+                    PropertyEventDto event = buffer.poll(heartbeatInterval.toMillis(), TimeUnit.MILLISECONDS);
+                    if (event == null) {
+                        emitter.send(SseEmitter.event().comment("heartbeat"));
+                    } else if (event.seq() == cursor + 1) {
+                        send(event);
+                    } else if (event.seq() > cursor + 1) {
+                        // Se perdió algún evento en vivo: se recupera de la tabla
+                        lagging = true;
+                    }
+                }
+            } catch (InterruptedException ex) {
+                Thread.currentThread().interrupt();
+            } catch (IOException | IllegalStateException ex) {
+                // El cliente cerró la conexión o el emisor ya terminó
+                log.debug("Suscriptor de eventos desconectado: {}", ex.getMessage());
+            } catch (RuntimeException ex) {
+                log.warn("Error enviando eventos de propiedades", ex);
+                emitter.completeWithError(ex);
+            } finally {
+                close();
+            }
+        }
+
+        // El histórico pedido ya se borró o aún no existe: el cliente no puede continuar de forma
+        // incremental. Otra instancia puede haber publicado más que esta: se compara con la tabla
+        private boolean outOfRange() throws IOException {
+            long oldest = eventRepository.findMinSeq();
+            boolean expired = oldest > 0 && cursor < oldest - 1;
+            boolean ahead = cursor > lastPublished && cursor > eventRepository.findMaxSeq();
+            if (expired || ahead) {
+                emitter.send(SseEmitter.event().name("reset").data(Map.of("oldestSeq", oldest)));
+                emitter.complete();
+                return true;
+            }
+            return false;
+        }
+
+        private void catchUp() throws IOException {
+            List<PropertyEvent> page;
+            do {
+                page = eventRepository.findBySeqGreaterThanOrderBySeqAsc(cursor, Limit.of(replayBatchSize));
+                for (PropertyEvent event : page) {
+                    send(propertyMapper.toEventDto(event));
+                }
+            } while (page.size() == replayBatchSize && !closed);
+        }
+
+        private void send(PropertyEventDto event) throws IOException {
+            emitter.send(SseEmitter.event()
+                    .id(Long.toString(event.seq()))
+                    .name(event.type().toLowerCase(Locale.ROOT))
+                    .data(event));
+            cursor = event.seq();
+        }
+    }
+}
@@ -0,0 +1,57 @@
+package com.devsenior.cdiaz.property.service.service;
+
+import com.devsenior.cdiaz.property.service.mapper.PropertyMapper;
+import com.devsenior.cdiaz.property.service.model.entity.Property;
+import com.devsenior.cdiaz.property.service.model.entity.PropertyEvent;
+import com.devsenior.cdiaz.property.service.repository.PropertyEventRepository;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.Clock;
+
+/**
+ * Registra en el outbox ({@link PropertyEvent}) los cambios de propiedades.
+ *
+ * <p>Exige una transacción activa: el evento debe confirmarse o descartarse junto con la
+ * escritura. Las inserciones se agrupan con las de la propiedad en el mismo flush.</p>
+ */
+@Component
+@RequiredArgsConstructor
+public class PropertyEventRecorder {
+
+    private final PropertyEventRepository eventRepository;
+    private final PropertyMapper propertyMapper;
+    private final ObjectMapper objectMapper;
+    private final Clock clock;
+
+    @Transactional(propagation = Propagation.MANDATORY)
+    public void created(Property property) {
+        record(PropertyEvent.Type.CREATED, property, null);
+    }
+
+    @Transactional(propagation = Propagation.MANDATORY)
+    public void updated(Property property, String previousCity) {
+        record(PropertyEvent.Type.UPDATED, property, previousCity);
+    }
+
+    @Transactional(propagation = Propagation.MANDATORY)
+    public void deleted(Long id, String city) {
+        eventRepository.save(new PropertyEvent(null, null, PropertyEvent.Type.DELETED, id, null, null, city,
+                clock.instant()));
+    }
+
+    private void record(PropertyEvent.Type type, Property property, String previousCity) {
+        String payload;
+        try {
+            payload = objectMapper.writeValueAsString(propertyMapper.toDto(property));
+        } catch (JsonProcessingException ex) {
+            throw new IllegalStateException("No se pudo serializar el evento de la propiedad " + property.getId(), ex);
+        }
+        eventRepository.save(new PropertyEvent(null, null, type, property.getId(), property.getVersion(),
+                payload, previousCity, clock.instant()));
+    }
+}
@@ -0,0 +1,87 @@
+package com.devsenior.cdiaz.property.service.service;
+
+import com.devsenior.cdiaz.property.service.mapper.PropertyMapper;
+import com.devsenior.cdiaz.property.service.model.entity.PropertyEvent;
+import com.devsenior.cdiaz.property.service.repository.PropertyEventRepository;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.Limit;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.Clock;
+import java.time.Duration;
+import java.util.List;
+
+/**
+ * Publica los eventos del outbox en lotes.
+ *
+ * <p>En cada pasada numera los eventos pendientes a continuación del último publicado (solo
+ * una instancia a la vez, con un lock advisory de PostgreSQL) y después lee de la tabla los
+ * que aún no entregó a sus suscriptores locales. Así cada instancia reparte todos los eventos,
+ * los haya numerado ella u otra, y con ellos mantiene al día sus índices en memoria
+ * ({@link PropertyIndexer}) e invalida sus cachés ({@link PropertyCacheInvalidator}) aunque la
+ * escritura la haya hecho otra instancia.</p>
+ */
+@Component
+@Slf4j
+public class PropertyEventRelay {
+
+    private final PropertyEventRepository eventRepository;
+    private final PropertyEventBroadcaster broadcaster;
+    private final PropertyIndexer indexer;
+    private final PropertyCacheInvalidator cacheInvalidator;
+    private final PropertyMapper propertyMapper;
+    private final TransactionTemplate transactionTemplate;
+    private final Clock clock;
+    private final int batchSize;
+    private final Duration retention;
+
+    public PropertyEventRelay(PropertyEventRepository eventRepository,
+                              PropertyEventBroadcaster broadcaster,
+                              PropertyIndexer indexer,
+                              PropertyCacheInvalidator cacheInvalidator,
+                              PropertyMapper propertyMapper,
+                              TransactionTemplate transactionTemplate,
+                              Clock clock,
+                              @Value("${property.events.relay-batch-size:500}") int batchSize,
+                              @Value("${property.events.retention:7d}") Duration retention) {
+        this.eventRepository = eventRepository;
+        this.broadcaster = broadcaster;
+        this.indexer = indexer;
+        this.cacheInvalidator = cacheInvalidator;
+        this.propertyMapper = propertyMapper;
+        this.transactionTemplate = transactionTemplate;
+        this.clock = clock;
+        this.batchSize = batchSize;
+        this.retention = retention;
+    }
+
+    @Scheduled(fixedDelayString = "${property.events.relay-interval:250ms}")
+    public void relay() {
+        transactionTemplate.executeWithoutResult(status -> {
+            if (eventRepository.tryRelayLock()) {
+                eventRepository.assignSequenceNumbers(batchSize);
+            }
+        });
+        List<PropertyEvent> events;
+        do {
+            events = eventRepository.findBySeqGreaterThanOrderBySeqAsc(broadcaster.getLastPublished(),
+                    Limit.of(batchSize));
+            indexer.apply(events);
+            cacheInvalidator.evict(events);
+            broadcaster.publish(events.stream().map(propertyMapper::toEventDto).toList());
+        } while (events.size() == batchSize);
+    }
+
+    @Scheduled(initialDelayString = "${property.events.cleanup-interval:1h}",
+            fixedDelayString = "${property.events.cleanup-interval:1h}")
+    public void deleteExpired() {
+        Integer deleted = transactionTemplate.execute(status ->
+                eventRepository.deletePublishedBefore(clock.instant().minus(retention)));
+        if (deleted != null && deleted > 0) {
+            log.info("Borrados {} eventos de propiedades anteriores a {}", deleted, retention);
+        }
+    }
+}
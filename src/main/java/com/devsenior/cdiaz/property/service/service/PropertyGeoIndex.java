@@ -0,0 +1,254 @@
+package com.devsenior.cdiaz.property.service.service;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Consumer;
+
+/**
+ * Índice espacial en memoria de las propiedades geolocalizadas.
+ *
+ * <p>Divide la superficie en una rejilla regular de celdas de {@code cellDegrees} grados y
+ * guarda cada propiedad en la celda de su posición. Una búsqueda por radio o por rectángulo
+ * solo recorre las celdas que intersecan el área y filtra por distancia exacta (haversine);
+ * los N más cercanos se obtienen con búsquedas por radio crecientes. Si el área cubre más
+ * celdas de las que hay ocupadas, se recorren directamente los puntos.</p>
+ *
+ * <p>Las lecturas no toman locks. Las escrituras ({@link #index}, {@link #remove}) se
+ * serializan entre sí para mantener coherentes el mapa de puntos y el de celdas.</p>
+ */
+@Component
+public class PropertyGeoIndex {
+
+    public static final double EARTH_RADIUS_KM = 6371.0088;
+
+    private static final double KM_PER_DEGREE = Math.PI * EARTH_RADIUS_KM / 180.0;
+
+    // Media circunferencia: ningún punto de la Tierra está más lejos
+    private static final double MAX_DISTANCE_KM = Math.PI * EARTH_RADIUS_KM;
+
+    private final double cellDegrees;
+    private final int columns;
+    private final int rows;
+
+    private final Map<Long, Point> points = new ConcurrentHashMap<>();
+    private final Map<Long, Map<Long, Point>> cells = new ConcurrentHashMap<>();
+
+    public PropertyGeoIndex(@Value("${property.geo.cell-size-degrees:0.05}") double cellDegrees) {
+        if (cellDegrees <= 0 || cellDegrees > 90) {
+            throw new IllegalArgumentException("Tamaño de celda inválido: " + cellDegrees);
+        }
+        this.cellDegrees = cellDegrees;
+        this.columns = (int) Math.ceil(360.0 / cellDegrees);
+        this.rows = (int) Math.ceil(180.0 / cellDegrees);
+    }
+
+    /**
+     * Resultado de una búsqueda: ID de la propiedad y distancia al punto consultado.
+     */
+    public record Match(long id, double distanceKm) {
+    }
+
+    // Inserta o mueve la propiedad; sin coordenadas completas, la quita del índice
+    public synchronized void index(Long id, Double latitude, Double longitude) {
+        if (latitude == null || longitude == null) {
+            remove(id);
+            return;
+        }
+        Point point = new Point(id, latitude, longitude, cellKey(latitude, longitude));
+        Point previous = points.put(id, point);
+        if (previous != null && previous.cell() != point.cell()) {
+            removeFromCell(previous);
+        }
+        cells.computeIfAbsent(point.cell(), key -> new ConcurrentHashMap<>()).put(id, point);
+    }
+
+    public synchronized void remove(Long id) {
+        Point previous = points.remove(id);
+        if (previous != null) {
+            removeFromCell(previous);
+        }
+    }
+
+    public synchronized void clear() {
+        points.clear();
+        cells.clear();
+    }
+
+    public int size() {
+        return points.size();
+    }
+
+    /**
+     * Propiedades a {@code radiusKm} o menos del punto, de la más cercana a la más lejana.
+     */
+    public List<Match> withinRadius(double latitude, double longitude, double radiusKm, int limit) {
+        List<Match> matches = new ArrayList<>();
+        Consumer<Point> collector = point -> {
+            double distance = distanceKm(latitude, longitude, point.latitude(), point.longitude());
+            if (distance <= radiusKm) {
+                matches.add(new Match(point.id(), distance));
+            }
+        };
+
+        double deltaLat = radiusKm / KM_PER_DEGREE;
+        double minLat = latitude - deltaLat;
+        double maxLat = latitude + deltaLat;
+        if (minLat <= -90 || maxLat >= 90) {
+            // El círculo contiene un polo: abarca todas las longitudes
+            visitBox(Math.max(minLat, -90), Math.min(maxLat, 90), -180, 180, collector);
+        } else {
+            double widestLat = Math.max(Math.abs(minLat), Math.abs(maxLat));
+            double deltaLon = deltaLat / Math.cos(Math.toRadians(widestLat));
+            if (deltaLon >= 180) {
+                visitBox(minLat, maxLat, -180, 180, collector);
+            } else {
+                visitBox(minLat, maxLat, normalizeLongitude(longitude - deltaLon),
+                        normalizeLongitude(longitude + deltaLon), collector);
+            }
+        }
+        return closest(matches, limit);
+    }
+
+    /**
+     * Las {@code limit} propiedades más cercanas al punto, sin límite de distancia.
+     */
+    public List<Match> nearest(double latitude, double longitude, int limit) {
+        if (limit <= 0 || points.isEmpty()) {
+            return List.of();
+        }
+        if (limit >= points.size()) {
+            return withinRadius(latitude, longitude, MAX_DISTANCE_KM, limit);
+        }
+        double radiusKm = cellDegrees * KM_PER_DEGREE;
+        while (true) {
+            List<Match> matches = withinRadius(latitude, longitude, radiusKm, limit);
+            // Todo lo que queda fuera del radio está más lejos que lo encontrado dentro
+            if (matches.size() >= limit || radiusKm >= MAX_DISTANCE_KM) {
+                return matches;
+            }
+            radiusKm = Math.min(radiusKm * 2, MAX_DISTANCE_KM);
+        }
+    }
+
+    /**
+     * IDs de las propiedades dentro del rectángulo, en orden ascendente. Si
+     * {@code minLongitude > maxLongitude}, el rectángulo cruza el antimeridiano.
+     */
+    public List<Long> withinBox(double minLatitude, double minLongitude,
+                                double maxLatitude, double maxLongitude, int limit) {
+        List<Long> ids = new ArrayList<>();
+        visitBox(minLatitude, maxLatitude, minLongitude, maxLongitude, point -> {
+            if (point.latitude() >= minLatitude && point.latitude() <= maxLatitude
+                    && longitudeInRange(point.longitude(), minLongitude, maxLongitude)) {
+                ids.add(point.id());
+            }
+        });
+        ids.sort(Comparator.naturalOrder());
+        return ids.size() > limit ? ids.subList(0, limit) : ids;
+    }
+
+    /**
+     * Distancia de círculo máximo (haversine) entre dos puntos, en kilómetros.
+     */
+    public static double distanceKm(double lat1, double lon1, double lat2, double lon2) {
+        double dLat = Math.toRadians(lat2 - lat1);
+        double dLon = Math.toRadians(lon2 - lon1);
+        double sinLat = Math.sin(dLat / 2);
+        double sinLon = Math.sin(dLon / 2);
+        double a = sinLat * sinLat
+                + Math.cos(Math.toRadians(lat1)) * Math.cos(Math.toRadians(lat2)) * sinLon * sinLon;
+        return 2 * EARTH_RADIUS_KM * Math.asin(Math.min(1.0, Math.sqrt(a)));
+    }
+
+    // Visita los puntos de las celdas que cubren el rectángulo (puede incluir puntos fuera de él)
+    private void visitBox(double minLat, double maxLat, double minLon, double maxLon, Consumer<Point> visitor) {
+        int firstRow = row(minLat);
+        int lastRow = row(maxLat);
+        int firstColumn = column(minLon);
+        int lastColumn = column(maxLon);
+        boolean wraps = minLon > maxLon;
+        long columnCount = wraps
+                ? (columns - firstColumn) + (lastColumn + 1L)
+                : (lastColumn - firstColumn + 1L);
+        long cellCount = (lastRow - firstRow + 1L) * columnCount;
+
+        if (cellCount > cells.size()) {
+            visitAll(points.values(), visitor);
+            return;
+        }
+        for (int row = firstRow; row <= lastRow; row++) {
+            if (wraps) {
+                visitColumns(row, firstColumn, columns - 1, visitor);
+                visitColumns(row, 0, lastColumn, visitor);
+            } else {
+                visitColumns(row, firstColumn, lastColumn, visitor);
+            }
+        }
+    }
+
+    private void visitColumns(int row, int fromColumn, int toColumn, Consumer<Point> visitor) {
+        for (int column = fromColumn; column <= toColumn; column++) {
+            Map<Long, Point> cell = cells.get((long) row * columns + column);
+            if (cell != null) {
+                visitAll(cell.values(), visitor);
+            }
+        }
+    }
+
+    private static void visitAll(Collection<Point> points, Consumer<Point> visitor) {
+        for (Point point : points) {
+            visitor.accept(point);
+        }
+    }
+
+    private void removeFromCell(Point point) {
+        Map<Long, Point> cell = cells.get(point.cell());
+        if (cell != null) {
+            cell.remove(point.id());
+            if (cell.isEmpty()) {
+                cells.remove(point.cell(), cell);
+            }
+        }
+    }
+
+    private long cellKey(double latitude, double longitude) {
+        return (long) row(latitude) * columns + column(longitude);
+    }
+
+    private int row(double latitude) {
+        int row = (int) Math.floor((latitude + 90.0) / cellDegrees);
+        return Math.max(0, Math.min(rows - 1, row));
+    }
+
+    private int column(double longitude) {
+        int column = (int) Math.floor((normalizeLongitude(longitude) + 180.0) / cellDegrees);
+        return Math.max(0, Math.min(columns - 1, column));
+    }
+
+    private static double normalizeLongitude(double longitude) {
+        double normalized = ((longitude + 180.0) % 360.0 + 360.0) % 360.0 - 180.0;
+        // 180 y -180 son el mismo meridiano; se conserva 180 como extremo superior de un rango
+        return normalized == -180.0 && longitude > 0 ? 180.0 : normalized;
+    }
+
+    private static boolean longitudeInRange(double longitude, double minLongitude, double maxLongitude) {
+        return minLongitude <= maxLongitude
+                ? longitude >= minLongitude && longitude <= maxLongitude
+                : longitude >= minLongitude || longitude <= maxLongitude;
+    }
+
+    private static List<Match> closest(List<Match> matches, int limit) {
+        matches.sort(Comparator.comparingDouble(Match::distanceKm).thenComparingLong(Match::id));
+        return matches.size() > limit ? matches.subList(0, limit) : matches;
+    }
+
+    private record Point(long id, double latitude, double longitude, long cell) {
+    }
+}
@@ -0,0 +1,194 @@
+package com.devsenior.cdiaz.property.service.service;
+
+import com.devsenior.cdiaz.property.service.model.entity.Property;
+import com.devsenior.cdiaz.property.service.repository.PropertyImageRef;
+import com.devsenior.cdiaz.property.service.repository.PropertyRepository;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.data.domain.Limit;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.io.IOException;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.HexFormat;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Genera en segundo plano las miniaturas de la imagen de cada propiedad.
+ *
+ * <p>Al guardar una propiedad con imagen nueva, tras el commit, se encola su procesamiento en
+ * un pool fijo con cola limitada: descargar el original de {@link ImageSource}, generar las
+ * variantes con {@link ImageThumbnailer} y guardarlas en {@link ImageVariantStore} bajo una
+ * clave derivada del contenido. Al terminar se asocia la clave a la propiedad, solo si su
+ * imagen sigue siendo la misma; eso incrementa la versión, publica un evento de cambio e
+ * invalida las cachés.</p>
+ *
+ * <p>La cola vive en memoria. Si está llena la tarea se descarta, y tras un reinicio se pierde:
+ * un barrido periódico vuelve a encolar las propiedades que siguen sin miniaturas. Las que
+ * fallan (URL inaccesible, formato no soportado) no se reintentan hasta que cambie su imagen o
+ * se reinicie la aplicación.</p>
+ */
+@Slf4j
+public class PropertyImagePipeline implements AutoCloseable {
+
+    private final ImageSource source;
+    private final ImageVariantStore store;
+    private final ImageThumbnailer thumbnailer;
+    private final PropertyRepository propertyRepository;
+    private final PropertyCacheInvalidator cacheInvalidator;
+    private final PropertyEventRecorder eventRecorder;
+    private final TransactionTemplate transactionTemplate;
+    private final int maxSourceBytes;
+    private final int sweepBatchSize;
+    private final ThreadPoolExecutor executor;
+
+    // Propiedad -> URL encolada o en proceso, y -> URL que falló
+    private final Map<Long, String> inFlight = new ConcurrentHashMap<>();
+    private final Map<Long, String> failed = new ConcurrentHashMap<>();
+
+    private final LongAdder processed = new LongAdder();
+    private final LongAdder failures = new LongAdder();
+    private final LongAdder dropped = new LongAdder();
+
+    public PropertyImagePipeline(ImageSource source, ImageVariantStore store, ImageThumbnailer thumbnailer,
+                                 PropertyRepository propertyRepository, PropertyCacheInvalidator cacheInvalidator,
+                                 PropertyEventRecorder eventRecorder, TransactionTemplate transactionTemplate,
+                                 int threads, int queueCapacity, int maxSourceBytes, int sweepBatchSize) {
+        this.source = source;
+        this.store = store;
+        this.thumbnailer = thumbnailer;
+        this.propertyRepository = propertyRepository;
+        this.cacheInvalidator = cacheInvalidator;
+        this.eventRecorder = eventRecorder;
+        this.transactionTemplate = transactionTemplate;
+        this.maxSourceBytes = maxSourceBytes;
+        this.sweepBatchSize = sweepBatchSize;
+        this.executor = new ThreadPoolExecutor(threads, threads, 0L, TimeUnit.MILLISECONDS,
+                new ArrayBlockingQueue<>(queueCapacity), new ImageThreadFactory(),
+                new ThreadPoolExecutor.AbortPolicy());
+    }
+
+    // Encola la imagen tras el commit si la propiedad tiene una sin miniaturas
+    public void processAfterCommit(Property property) {
+        Long id = property.getId();
+        String imageUrl = property.getImageUrl();
+        if (imageUrl != null && property.getImageKey() == null) {
+            AfterCommit.run(() -> submit(id, imageUrl));
+        }
+    }
+
+    public void submit(Long id, String imageUrl) {
+        failed.remove(id);
+        if (imageUrl.equals(inFlight.put(id, imageUrl))) {
+            return;
+        }
+        try {
+            executor.execute(() -> process(id, imageUrl));
+        } catch (RejectedExecutionException ex) {
+            inFlight.remove(id, imageUrl);
+            dropped.increment();
+            log.debug("Cola de imágenes llena; la propiedad {} se procesará en el próximo barrido", id);
+        }
+    }
+
+    @Scheduled(initialDelayString = "${property.images.sweep-interval:5m}",
+            fixedDelayString = "${property.images.sweep-interval:5m}")
+    public void sweep() {
+        int queued = 0;
+        for (PropertyImageRef pending : propertyRepository.findPendingImages(Limit.of(sweepBatchSize))) {
+            if (!pending.imageUrl().equals(failed.get(pending.id()))
+                    && !pending.imageUrl().equals(inFlight.get(pending.id()))) {
+                submit(pending.id(), pending.imageUrl());
+                queued++;
+            }
+        }
+        if (queued > 0) {
+            log.info("Barrido de imágenes: {} propiedades encoladas", queued);
+        }
+    }
+
+    public int getQueueSize() {
+        return executor.getQueue().size();
+    }
+
+    public int getActive() {
+        return executor.getActiveCount();
+    }
+
+    public long getProcessed() {
+        return processed.sum();
+    }
+
+    public long getFailures() {
+        return failures.sum();
+    }
+
+    public long getDropped() {
+        return dropped.sum();
+    }
+
+    @Override
+    public void close() {
+        executor.shutdownNow();
+    }
+
+    private void process(Long id, String imageUrl) {
+        try {
+            byte[] original = source.fetch(imageUrl, maxSourceBytes);
+            String key = contentKey(original);
+            if (!store.contains(key)) {
+                store.write(key, thumbnailer.generate(original));
+            }
+            transactionTemplate.executeWithoutResult(status -> assignImageKey(id, imageUrl, key));
+            processed.increment();
+        } catch (IOException | RuntimeException ex) {
+            failed.put(id, imageUrl);
+            failures.increment();
+            log.warn("No se pudieron generar las miniaturas de la propiedad {} ({}): {}", id, imageUrl, ex.getMessage());
+        } finally {
+            inFlight.remove(id, imageUrl);
+        }
+    }
+
+    // La nueva versión de la propiedad también se publica como evento
+    private void assignImageKey(Long id, String imageUrl, String key) {
+        Optional<String> city = propertyRepository.assignImageKey(id, imageUrl, key);
+        if (city.isPresent()) {
+            propertyRepository.findFreshById(id).ifPresent(property -> eventRecorder.updated(property, city.get()));
+            cacheInvalidator.evictId(id);
+            cacheInvalidator.evictCity(city.get());
+        }
+    }
+
+    // 128 bits de SHA-256 del original: identifica la imagen sin depender de la URL
+    private static String contentKey(byte[] original) {
+        try {
+            byte[] digest = MessageDigest.getInstance("SHA-256").digest(original);
+            return HexFormat.of().formatHex(digest, 0, 16);
+        } catch (NoSuchAlgorithmException ex) {
+            throw new IllegalStateException(ex);
+        }
+    }
+
+    private static final class ImageThreadFactory implements ThreadFactory {
+
+        private final AtomicInteger sequence = new AtomicInteger();
+
+        @Override
+        public Thread newThread(Runnable runnable) {
+            Thread thread = new Thread(runnable, "property-images-" + sequence.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        }
+    }
+}
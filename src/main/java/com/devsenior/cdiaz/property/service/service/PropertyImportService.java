@@ -0,0 +1,12 @@
+package com.devsenior.cdiaz.property.service.service;
+
+import com.devsenior.cdiaz.property.service.model.dto.BulkImportResultDto;
+import com.devsenior.cdiaz.property.service.model.dto.CreatePropertyDto;
+
+import java.util.Iterator;
+
+public interface PropertyImportService {
+    
+    // Inserta las propiedades en bloques con batching JDBC y devuelve el resultado por fila
+    BulkImportResultDto importAll(Iterator<CreatePropertyDto> rows);
+}
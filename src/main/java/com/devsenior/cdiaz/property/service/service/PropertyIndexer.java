@@ -0,0 +1,124 @@
+package com.devsenior.cdiaz.property.service.service;
+
+import com.devsenior.cdiaz.property.service.model.dto.PropertyDto;
+import com.devsenior.cdiaz.property.service.model.entity.Property;
+import com.devsenior.cdiaz.property.service.model.entity.PropertyEvent;
+import com.fasterxml.jackson.annotation.JsonIgnoreProperties;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Component;
+
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Mantiene los índices en memoria (geográfico y de texto) y las estadísticas de mercado
+ * al día con las escrituras.
+ *
+ * <p>Igual que la invalidación de cachés, los cambios se aplican cuando la transacción
+ * confirma: un rollback no deja el índice apuntando a filas que no existen. La instancia que
+ * escribe los aplica al momento; las demás los reciben del outbox a través de
+ * {@link PropertyEventRelay}, que entrega todos los eventos a todas las instancias (y también
+ * a la que escribió, que ya los tiene).</p>
+ *
+ * <p>Los callbacks posteriores al commit de dos escrituras de la misma propiedad pueden
+ * ejecutarse en cualquier orden, y un evento puede llegar antes o después que el callback
+ * local. Por eso se guarda la versión aplicada de cada propiedad y se descarta cualquier cambio
+ * que no sea más reciente. Un borrado es definitivo: los IDs no se reutilizan.</p>
+ */
+@Component
+@RequiredArgsConstructor
+@Slf4j
+public class PropertyIndexer {
+
+    // Versión de una propiedad borrada: ningún cambio posterior la vuelve a indexar
+    private static final long DELETED = Long.MAX_VALUE;
+
+    private final PropertyGeoIndex geoIndex;
+    private final PropertyTextIndex textIndex;
+    private final PropertyStatistics statistics;
+    private final ObjectMapper objectMapper;
+
+    private final Map<Long, Long> versions = new ConcurrentHashMap<>();
+
+    // Campos indexados del payload de un evento (PropertyDto en JSON)
+    @JsonIgnoreProperties(ignoreUnknown = true)
+    private record IndexedFields(String city, String address, String description, Double price,
+                                 Integer bedrooms, Double latitude, Double longitude) {
+    }
+
+    public void indexAfterCommit(Property property) {
+        Long id = property.getId();
+        long version = property.getVersion();
+        IndexedFields fields = new IndexedFields(property.getCity(), property.getAddress(),
+                property.getDescription(), property.getPrice(), property.getBedrooms(),
+                property.getLatitude(), property.getLongitude());
+        AfterCommit.run(() -> index(id, version, fields));
+    }
+
+    public void removeAfterCommit(Long id) {
+        AfterCommit.run(() -> remove(id));
+    }
+
+    /**
+     * Aplica los eventos publicados en el outbox, los haya escrito esta instancia u otra.
+     */
+    public void apply(List<PropertyEvent> events) {
+        for (PropertyEvent event : events) {
+            if (event.getType() == PropertyEvent.Type.DELETED) {
+                remove(event.getPropertyId());
+                continue;
+            }
+            IndexedFields fields;
+            try {
+                fields = objectMapper.readValue(event.getPayload(), IndexedFields.class);
+            } catch (JsonProcessingException ex) {
+                log.warn("Evento {} de la propiedad {} ilegible; se corregirá en la siguiente carga: {}",
+                        event.getSeq(), event.getPropertyId(), ex.getMessage());
+                continue;
+            }
+            index(event.getPropertyId(), event.getVersion(), fields);
+        }
+    }
+
+    /**
+     * Fila de la carga inicial de los índices de texto y geográfico. Las estadísticas se cargan
+     * aparte con {@link PropertyStatistics#rebuild}.
+     */
+    public void load(PropertyDto row) {
+        versions.compute(row.getId(), (id, indexed) -> {
+            if (indexed != null && indexed >= row.getVersion()) {
+                return indexed;
+            }
+            geoIndex.index(id, row.getLatitude(), row.getLongitude());
+            textIndex.index(id, row.getCity(), row.getAddress(), row.getDescription());
+            return row.getVersion();
+        });
+    }
+
+    private void index(Long id, long version, IndexedFields fields) {
+        versions.compute(id, (key, indexed) -> {
+            if (indexed != null && indexed >= version) {
+                return indexed;
+            }
+            geoIndex.index(id, fields.latitude(), fields.longitude());
+            textIndex.index(id, fields.city(), fields.address(), fields.description());
+            statistics.index(id, fields.city(), fields.price(), fields.bedrooms());
+            return version;
+        });
+    }
+
+    private void remove(Long id) {
+        versions.compute(id, (key, indexed) -> {
+            if (indexed == null || indexed != DELETED) {
+                geoIndex.remove(id);
+                textIndex.remove(id);
+                statistics.remove(id);
+            }
+            return DELETED;
+        });
+    }
+}
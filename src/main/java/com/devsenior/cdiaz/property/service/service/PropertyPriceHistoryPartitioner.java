@@ -0,0 +1,68 @@
+package com.devsenior.cdiaz.property.service.service;
+
+import com.devsenior.cdiaz.property.service.repository.PropertyPriceHistoryRepository;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.ApplicationArguments;
+import org.springframework.boot.ApplicationRunner;
+import org.springframework.core.Ordered;
+import org.springframework.core.annotation.Order;
+import org.springframework.dao.DataAccessException;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.time.Clock;
+import java.time.YearMonth;
+import java.time.ZoneOffset;
+import java.util.Set;
+
+/**
+ * Crea por adelantado las particiones mensuales del histórico de precios: la del mes en curso
+ * y las de los {@code property.price-history.months-ahead} siguientes.
+ *
+ * <p>La tabla y su partición {@code DEFAULT} las crea la migración de Flyway; las particiones
+ * mensuales dependen de la fecha, así que se crean aquí. Se ejecuta al arrancar, antes de
+ * aceptar tráfico, y periódicamente después. Si una partición no se puede crear
+ * porque la partición {@code DEFAULT} ya tiene filas de ese mes, se registra un aviso y esos
+ * cambios siguen en {@code DEFAULT}.</p>
+ */
+@Component
+@Order(Ordered.HIGHEST_PRECEDENCE)
+@Slf4j
+public class PropertyPriceHistoryPartitioner implements ApplicationRunner {
+
+    private final PropertyPriceHistoryRepository repository;
+    private final Clock clock;
+    private final int monthsAhead;
+
+    public PropertyPriceHistoryPartitioner(PropertyPriceHistoryRepository repository, Clock clock,
+                                           @Value("${property.price-history.months-ahead:3}") int monthsAhead) {
+        this.repository = repository;
+        this.clock = clock;
+        this.monthsAhead = monthsAhead;
+    }
+
+    @Override
+    public void run(ApplicationArguments args) {
+        createUpcomingPartitions();
+    }
+
+    @Scheduled(initialDelayString = "${property.price-history.partition-check-interval:6h}",
+            fixedDelayString = "${property.price-history.partition-check-interval:6h}")
+    public void createUpcomingPartitions() {
+        Set<YearMonth> existing = repository.findPartitions();
+        YearMonth current = YearMonth.now(clock.withZone(ZoneOffset.UTC));
+        for (int i = 0; i <= monthsAhead; i++) {
+            YearMonth month = current.plusMonths(i);
+            if (existing.contains(month)) {
+                continue;
+            }
+            try {
+                repository.createPartition(month);
+                log.info("Creada la partición {} del histórico de precios", month);
+            } catch (DataAccessException ex) {
+                log.warn("No se pudo crear la partición {} del histórico de precios: {}", month, ex.getMessage());
+            }
+        }
+    }
+}
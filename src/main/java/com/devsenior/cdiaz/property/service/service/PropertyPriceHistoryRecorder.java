@@ -0,0 +1,107 @@
+package com.devsenior.cdiaz.property.service.service;
+
+import com.devsenior.cdiaz.property.service.model.entity.Property;
+import com.devsenior.cdiaz.property.service.repository.PropertyPriceChange;
+import com.devsenior.cdiaz.property.service.repository.PropertyPriceHistoryRepository;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.dao.DataAccessException;
+import org.springframework.scheduling.annotation.Scheduled;
+
+import java.time.Clock;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Registra los cambios de precio en el histórico sin añadir escrituras a la transacción de
+ * la propiedad.
+ *
+ * <p>Tras el commit, cada cambio se encola en memoria; una tarea periódica los vacía en lotes
+ * de {@code batchSize} filas con un único INSERT por lote. Si la base de datos falla, el lote
+ * vuelve a la cola y se reintenta en el siguiente ciclo. La cola está acotada: con ella llena
+ * los cambios se descartan (métrica {@code property.price-history.dropped}), y una caída del
+ * proceso pierde los cambios aún no volcados, como mucho los de un intervalo. Al cerrar la
+ * aplicación se vuelca lo pendiente.</p>
+ */
+@Slf4j
+public class PropertyPriceHistoryRecorder implements AutoCloseable {
+
+    private final PropertyPriceHistoryRepository repository;
+    private final Clock clock;
+    private final int batchSize;
+    private final BlockingQueue<PropertyPriceChange> queue;
+
+    private final LongAdder written = new LongAdder();
+    private final LongAdder dropped = new LongAdder();
+
+    public PropertyPriceHistoryRecorder(PropertyPriceHistoryRepository repository, Clock clock,
+                                        int queueCapacity, int batchSize) {
+        this.repository = repository;
+        this.clock = clock;
+        this.batchSize = batchSize;
+        this.queue = new ArrayBlockingQueue<>(queueCapacity);
+    }
+
+    /**
+     * Encola el cambio tras el commit si el precio cambió.
+     *
+     * @param property estado de la propiedad tras la escritura
+     * @param previousPrice precio anterior, o {@code null} en el alta
+     */
+    public void recordAfterCommit(Property property, Double previousPrice) {
+        Double price = property.getPrice();
+        if (price == null || price.equals(previousPrice)) {
+            return;
+        }
+        Long id = property.getId();
+        String cityKey = property.getCityKey();
+        AfterCommit.run(() -> enqueue(new PropertyPriceChange(id, clock.instant(), price, previousPrice, cityKey)));
+    }
+
+    @Scheduled(fixedDelayString = "${property.price-history.flush-interval:1s}")
+    public synchronized void flush() {
+        List<PropertyPriceChange> batch = new ArrayList<>(batchSize);
+        while (queue.drainTo(batch, batchSize) > 0) {
+            try {
+                repository.insertAll(batch);
+                written.add(batch.size());
+            } catch (DataAccessException ex) {
+                log.warn("No se pudo guardar un lote de {} cambios de precio; se reintentará: {}",
+                        batch.size(), ex.getMessage());
+                batch.forEach(this::enqueue);
+                return;
+            }
+            batch.clear();
+        }
+    }
+
+    public int getQueueSize() {
+        return queue.size();
+    }
+
+    public long getWritten() {
+        return written.sum();
+    }
+
+    public long getDropped() {
+        return dropped.sum();
+    }
+
+    @Override
+    public void close() {
+        flush();
+        if (!queue.isEmpty()) {
+            log.warn("Se descartan {} cambios de precio sin guardar al cerrar", queue.size());
+        }
+    }
+
+    private void enqueue(PropertyPriceChange change) {
+        if (!queue.offer(change)) {
+            dropped.increment();
+            log.debug("Cola del histórico de precios llena; se descarta el cambio de la propiedad {}",
+                    change.propertyId());
+        }
+    }
+}
@@ -0,0 +1,144 @@
+package com.devsenior.cdiaz.property.service.service;
+
+import com.devsenior.cdiaz.property.service.config.ReadRoutingContext;
+import com.devsenior.cdiaz.property.service.model.dto.PropertyDto;
+import com.devsenior.cdiaz.property.service.model.dto.PropertyFields;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import com.fasterxml.jackson.databind.ser.impl.SimpleBeanPropertyFilter;
+import com.fasterxml.jackson.databind.ser.impl.SimpleFilterProvider;
+import org.springframework.http.InvalidMediaTypeException;
+import org.springframework.http.MediaType;
+import org.springframework.util.MimeTypeUtils;
+
+import java.io.UncheckedIOException;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.function.Function;
+import java.util.function.Supplier;
+
+/**
+ * Agrupa las peticiones idénticas y simultáneas de una propiedad por ID o del listado de una
+ * ciudad: una sola lectura (caché o base de datos) y una sola serialización del cuerpo para todas.
+ *
+ * <p>Cuando una ciudad se hace popular llegan cientos de peticiones iguales a la vez; si su
+ * entrada de caché acaba de caducar o de invalidarse, sin agrupar todas consultarían la base de
+ * datos y todas mapearían y serializarían las mismas filas. Son idénticas las que piden la misma
+ * clave, los mismos campos y el mismo formato; el resultado es el cuerpo ya serializado con su
+ * ETag. La espera está acotada por {@code maxWait} y un error de la lectura (404, base de datos
+ * saturada) llega a todas las peticiones del grupo.</p>
+ *
+ * <p>No se agrupan las peticiones que deben leer de la primaria para ver sus propias escrituras.
+ * Al invalidar la caché de una propiedad o ciudad también se desligan sus lecturas en curso, que
+ * pueden haber empezado antes de la escritura.</p>
+ */
+public class PropertyReadCoalescer {
+
+    public static final String BY_ID = "by-id";
+    public static final String BY_CITY = "by-city";
+
+    private final Map<MediaType, ObjectMapper> formats;
+    private final boolean enabled;
+    private final SingleFlight<Key, SerializedResponse> byId;
+    private final SingleFlight<Key, SerializedResponse> byCity;
+
+    /**
+     * Cuerpo serializado compartido por las peticiones de un grupo; no debe modificarse.
+     */
+    public record SerializedResponse(byte[] body, MediaType contentType, String eTag) {
+    }
+
+    private record Key(Object value, PropertyFields fields, MediaType format) {
+    }
+
+    /**
+     * @param formats formatos de respuesta y su {@code ObjectMapper}, por orden de preferencia
+     */
+    public PropertyReadCoalescer(Map<MediaType, ObjectMapper> formats, boolean enabled, Duration maxWait) {
+        this.formats = new LinkedHashMap<>(formats);
+        this.enabled = enabled;
+        this.byId = new SingleFlight<>(BY_ID, maxWait);
+        this.byCity = new SingleFlight<>(BY_CITY, maxWait);
+    }
+
+    /**
+     * Elige el formato de respuesta según la cabecera {@code Accept}, como lo haría Spring MVC.
+     *
+     * @return el formato, o {@code null} si no se admite ninguno (la negociación normal responde 406)
+     */
+    public MediaType negotiate(String accept) {
+        List<MediaType> accepted;
+        try {
+            accepted = accept == null || accept.isBlank()
+                    ? new ArrayList<>(List.of(MediaType.ALL))
+                    : new ArrayList<>(MediaType.parseMediaTypes(accept));
+        } catch (InvalidMediaTypeException ex) {
+            return null;
+        }
+        MimeTypeUtils.sortBySpecificity(accepted);
+        for (MediaType requested : accepted) {
+            for (MediaType format : formats.keySet()) {
+                if (requested.isCompatibleWith(format)) {
+                    return format;
+                }
+            }
+        }
+        return null;
+    }
+
+    public SerializedResponse property(Long id, MediaType format, Supplier<PropertyDto> loader,
+                                       Function<PropertyDto, String> eTag) {
+        return load(byId, new Key(id, PropertyFields.ALL, format), loader, eTag);
+    }
+
+    public SerializedResponse city(String city, PropertyFields fields, MediaType format,
+                                   Supplier<List<PropertyDto>> loader, Function<List<PropertyDto>, String> eTag) {
+        return load(byCity, new Key(city, fields, format), loader, eTag);
+    }
+
+    public void forgetProperty(Long id) {
+        byId.forget(key -> key.value().equals(id));
+    }
+
+    public void forgetCity(String city) {
+        byCity.forget(key -> key.value().equals(city));
+    }
+
+    public void forgetAllCities() {
+        byCity.forget(key -> true);
+    }
+
+    public List<SingleFlight<?, ?>> flights() {
+        return List.of(byId, byCity);
+    }
+
+    private <T> SerializedResponse load(SingleFlight<Key, SerializedResponse> flight, Key key, Supplier<T> loader,
+                                        Function<T, String> eTag) {
+        Supplier<SerializedResponse> serialized = () -> {
+            T value = loader.get();
+            return new SerializedResponse(write(value, key.fields(), key.format()), key.format(), eTag.apply(value));
+        };
+        if (!enabled || ReadRoutingContext.isPrimaryOnly()) {
+            return serialized.get();
+        }
+        return flight.get(key, serialized);
+    }
+
+    // Mismo filtro de campos que aplica el controlador con MappingJacksonValue
+    private byte[] write(Object body, PropertyFields fields, MediaType format) {
+        ObjectMapper mapper = formats.get(format);
+        ObjectWriter writer = fields.isAll()
+                ? mapper.writer()
+                : mapper.writer(new SimpleFilterProvider().addFilter(PropertyDto.FIELDS_FILTER,
+                        SimpleBeanPropertyFilter.filterOutAllExcept(fields.names())));
+        try {
+            return writer.writeValueAsBytes(body);
+        } catch (JsonProcessingException ex) {
+            throw new UncheckedIOException(ex);
+        }
+    }
+}
@@ -1,26 +1,102 @@
 package com.devsenior.cdiaz.property.service.service;
 
 import com.devsenior.cdiaz.property.service.model.dto.CreatePropertyDto;
+import com.devsenior.cdiaz.property.service.model.dto.NearbyPropertyDto;
+import com.devsenior.cdiaz.property.service.model.dto.PropertyBatchDto;
 import com.devsenior.cdiaz.property.service.model.dto.PropertyDto;
+import com.devsenior.cdiaz.property.service.model.dto.PropertyExistenceDto;
+import com.devsenior.cdiaz.property.service.model.dto.PropertyFields;
+import com.devsenior.cdiaz.property.service.model.dto.PropertyMarketStatsDto;
+import com.devsenior.cdiaz.property.service.model.dto.PropertyPageDto;
+import com.devsenior.cdiaz.property.service.model.dto.PropertyPriceHistoryDto;
+import com.devsenior.cdiaz.property.service.model.dto.PropertyPriceTrendDto;
+import com.devsenior.cdiaz.property.service.model.dto.PropertySearchCriteria;
+import com.devsenior.cdiaz.property.service.model.dto.PropertySearchResultDto;
+import com.devsenior.cdiaz.property.service.model.dto.PropertyStatisticsDto;
 import com.devsenior.cdiaz.property.service.model.dto.UpdatePropertyDto;
 
+import java.time.Instant;
 import java.util.List;
+import java.util.function.Consumer;
 
 public interface PropertyService {
     
+    int DEFAULT_PAGE_SIZE = 20;
+    
+    int MAX_PAGE_SIZE = 100;
+    
+    // Máximo de IDs en una lectura o comprobación de existencia por lote
+    int MAX_BATCH_IDS = 500;
+    
+    // Máximo de resultados de una búsqueda geográfica (vista de mapa)
+    int MAX_GEO_RESULTS = 500;
+    
+    // Máximo de cambios devueltos en el historial de precios de una propiedad
+    int MAX_PRICE_HISTORY_POINTS = 1000;
+    
+    // Máximo de intervalos en la evolución de precios de una ciudad
+    int MAX_PRICE_TREND_BUCKETS = 366;
+    
+    // Ventana por defecto de la evolución de precios de una ciudad, en días hasta "to"
+    int DEFAULT_PRICE_TREND_DAYS = 90;
+    
+    // Los listados reciben los campos a devolver: con una selección parcial solo se leen esas columnas
+    
+    // Listado paginado por cursor (keyset sobre el ID)
+    PropertyPageDto findPage(String cursor, int size, PropertyFields fields);
+    
+    // Recorre todo el catálogo en orden de ID sin materializarlo en memoria
+    void exportAll(Consumer<PropertyDto> sink);
+    
     // Métodos CRUD básicos
-    List<PropertyDto> findAll();
     
     PropertyDto findById(Long id);
     
     PropertyDto save(CreatePropertyDto createPropertyDto);
     
-    PropertyDto update(Long id, UpdatePropertyDto updatePropertyDto);
+    // expectedVersion: versión que el cliente leyó (If-Match), o null para no comprobarla
+    PropertyDto update(Long id, UpdatePropertyDto updatePropertyDto, Long expectedVersion);
+    
+    // Actualización parcial: solo se modifican los campos no nulos
+    PropertyDto patch(Long id, UpdatePropertyDto changes, Long expectedVersion);
     
-    void deleteById(Long id);
+    void deleteById(Long id, Long expectedVersion);
     
     boolean existsById(Long id);
     
+    // Varias propiedades por ID en el orden pedido; los IDs inexistentes se informan en "missing"
+    PropertyBatchDto findByIds(List<Long> ids, PropertyFields fields);
+    
+    // Cuáles de los IDs indicados existen, sin leer las filas
+    PropertyExistenceDto existsByIds(List<Long> ids);
+    
     // Método personalizado para buscar por ciudad
     List<PropertyDto> findByCity(String city);
-} 
\ No newline at end of file
+    
+    // Búsqueda multi-criterio resuelta en base de datos; sort con formato "campo[,asc|desc]"
+    PropertySearchResultDto search(PropertySearchCriteria criteria, String sort, int page, int size,
+                                   PropertyFields fields);
+    
+    // Búsqueda por palabras clave en ciudad, dirección y descripción, de la más a la menos relevante
+    PropertySearchResultDto searchText(String query, int page, int size, PropertyFields fields);
+    
+    // Cercanas a un punto, de la más próxima a la más lejana; sin radio devuelve las "limit" más cercanas
+    List<NearbyPropertyDto> findNear(double latitude, double longitude, Double radiusKm, int limit,
+                                     PropertyFields fields);
+    
+    // Dentro de un rectángulo de coordenadas (minLongitude > maxLongitude si cruza el antimeridiano)
+    List<PropertyDto> findWithin(double minLatitude, double minLongitude,
+                                 double maxLatitude, double maxLongitude, int limit, PropertyFields fields);
+    
+    // Estadísticas de precio y habitaciones, servidas desde los acumulados en memoria
+    PropertyMarketStatsDto getStatistics();
+    
+    // Estadísticas de una ciudad (sin distinguir mayúsculas); sin propiedades, count = 0
+    PropertyStatisticsDto getStatistics(String city);
+    
+    // Cambios de precio de una propiedad en [from, to); sin límites, todo el historial hasta ahora
+    PropertyPriceHistoryDto getPriceHistory(Long id, Instant from, Instant to);
+    
+    // Cambios de precio de una ciudad en [from, to) agregados por día, semana o mes
+    PropertyPriceTrendDto getPriceTrend(String city, Instant from, Instant to, String interval);
+}
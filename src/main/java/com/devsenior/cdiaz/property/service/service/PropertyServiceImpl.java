@@ -1,34 +1,116 @@
 package com.devsenior.cdiaz.property.service.service;
 
+import com.devsenior.cdiaz.property.service.config.CacheConfig;
+import com.devsenior.cdiaz.property.service.exception.InvalidRequestException;
 import com.devsenior.cdiaz.property.service.exception.PropertyNotFoundException;
+import com.devsenior.cdiaz.property.service.exception.PropertyVersionConflictException;
 import com.devsenior.cdiaz.property.service.mapper.PropertyMapper;
 import com.devsenior.cdiaz.property.service.model.dto.CreatePropertyDto;
+import com.devsenior.cdiaz.property.service.model.dto.NearbyPropertyDto;
+import com.devsenior.cdiaz.property.service.model.dto.PropertyBatchDto;
 import com.devsenior.cdiaz.property.service.model.dto.PropertyDto;
+import com.devsenior.cdiaz.property.service.model.dto.PropertyExistenceDto;
+import com.devsenior.cdiaz.property.service.model.dto.PropertyFields;
+import com.devsenior.cdiaz.property.service.model.dto.PropertyMarketStatsDto;
+import com.devsenior.cdiaz.property.service.model.dto.PropertyPageDto;
+import com.devsenior.cdiaz.property.service.model.dto.PropertyPriceHistoryDto;
+import com.devsenior.cdiaz.property.service.model.dto.PropertyPriceTrendDto;
+import com.devsenior.cdiaz.property.service.model.dto.PropertySearchCriteria;
+import com.devsenior.cdiaz.property.service.model.dto.PropertySearchResultDto;
+import com.devsenior.cdiaz.property.service.model.dto.PropertyStatisticsDto;
 import com.devsenior.cdiaz.property.service.model.dto.UpdatePropertyDto;
 import com.devsenior.cdiaz.property.service.model.entity.Property;
+import com.devsenior.cdiaz.property.service.repository.PropertyPriceHistoryRepository;
 import com.devsenior.cdiaz.property.service.repository.PropertyRepository;
+import com.devsenior.cdiaz.property.service.repository.PropertyUpdateResult;
+import com.devsenior.cdiaz.property.service.repository.PropertySpecifications;
+import io.micrometer.core.annotation.Timed;
 import lombok.RequiredArgsConstructor;
+import org.springframework.cache.annotation.Cacheable;
+import org.springframework.data.domain.Limit;
+import org.springframework.data.domain.ScrollPosition;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.domain.Window;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
 
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
 import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Optional;
+import java.util.Set;
+import java.util.function.Consumer;
+import java.util.function.Function;
 import java.util.stream.Collectors;
 
 @Service
 @RequiredArgsConstructor
+@Timed(value = "property.service", histogram = true)
 public class PropertyServiceImpl implements PropertyService {
     
+    // Campos por los que se permite ordenar la búsqueda (todos cubiertos por índices o la PK)
+    private static final Set<String> SORTABLE_FIELDS = Set.of("id", "price", "bedrooms", "bathrooms", "city");
+    
+    // Resultados que se pueden recorrer por página en la búsqueda de texto (el ranking se calcula hasta aquí)
+    private static final int MAX_TEXT_SEARCH_DEPTH = 10_000;
+    
+    // Resultados que se pueden recorrer por página en la búsqueda (PostgreSQL lee y descarta el OFFSET)
+    private static final int MAX_SEARCH_DEPTH = 10_000;
+    
     private final PropertyRepository propertyRepository;
     private final PropertyMapper propertyMapper;
+    private final PropertyCacheInvalidator cacheInvalidator;
+    private final PropertyGeoIndex geoIndex;
+    private final PropertyTextIndex textIndex;
+    private final PropertyIndexer indexer;
+    private final PropertyStatistics statistics;
+    private final PropertyImagePipeline imagePipeline;
+    private final PropertyEventRecorder eventRecorder;
+    private final PropertyPriceHistoryRecorder priceHistoryRecorder;
+    private final PropertyPriceHistoryRepository priceHistoryRepository;
+    private final Clock clock;
     
     @Override
-    public List<PropertyDto> findAll() {
-        return propertyRepository.findAll()
-                .stream()
-                .map(propertyMapper::toDto)
-                .collect(Collectors.toList());
+    @Transactional(readOnly = true)
+    public PropertyPageDto findPage(String cursor, int size, PropertyFields fields) {
+        int pageSize = Math.max(1, Math.min(size, MAX_PAGE_SIZE));
+        long afterId = cursor == null || cursor.isBlank() ? 0L : PropertyCursor.decode(cursor);
+        
+        // Se pide un elemento extra para saber si existe una página siguiente
+        List<PropertyDto> rows = fields.isAll()
+                ? propertyRepository.findByIdGreaterThanOrderByIdAsc(afterId, Limit.of(pageSize + 1))
+                        .stream()
+                        .map(propertyMapper::toDto)
+                        .toList()
+                : propertyRepository.findProjected(PropertySpecifications.idGreaterThan(afterId),
+                        fields.attributes(), Sort.by("id"), 0, pageSize + 1);
+        boolean hasNext = rows.size() > pageSize;
+        List<PropertyDto> items = rows.stream().limit(pageSize).collect(Collectors.toList());
+        String next = hasNext ? PropertyCursor.encode(items.get(items.size() - 1).getId()) : null;
+        return new PropertyPageDto(items, next);
     }
     
     @Override
+    @Transactional(readOnly = true)
+    public void exportAll(Consumer<PropertyDto> sink) {
+        // El stream debe consumirse dentro de la transacción para que PostgreSQL use un cursor
+        try (var rows = propertyRepository.streamAllAsDto()) {
+            rows.forEach(sink);
+        }
+    }
+    
+    @Override
+    @Transactional(readOnly = true)
+    @Cacheable(cacheNames = CacheConfig.PROPERTIES_BY_ID, key = "#id")
     public PropertyDto findById(Long id) {
         return propertyRepository.findById(id)
                 .map(propertyMapper::toDto)
@@ -36,43 +118,406 @@ public class PropertyServiceImpl implements PropertyService {
     }
     
     @Override
+    @Transactional
     public PropertyDto save(CreatePropertyDto createPropertyDto) {
+        validateCoordinates(createPropertyDto.getLatitude(), createPropertyDto.getLongitude(), true);
         Property property = propertyMapper.toEntity(createPropertyDto);
         Property savedProperty = propertyRepository.save(property);
+        eventRecorder.created(savedProperty);
+        priceHistoryRecorder.recordAfterCommit(savedProperty, null);
+        cacheInvalidator.evictCity(savedProperty.getCity());
+        indexer.indexAfterCommit(savedProperty);
+        imagePipeline.processAfterCommit(savedProperty);
         return propertyMapper.toDto(savedProperty);
     }
     
     @Override
-    public PropertyDto update(Long id, UpdatePropertyDto updatePropertyDto) {
-        if (propertyRepository.existsById(id)) {
-            Property property = propertyMapper.toEntity(updatePropertyDto);
-            property.setId(id);
-            Property updatedProperty = propertyRepository.save(property);
-            return propertyMapper.toDto(updatedProperty);
-        } else {
-            throw new PropertyNotFoundException(id);
-        }
+    @Transactional
+    public PropertyDto update(Long id, UpdatePropertyDto updatePropertyDto, Long expectedVersion) {
+        // Reemplazo completo: los campos nulos también se escriben
+        validateCoordinates(updatePropertyDto.getLatitude(), updatePropertyDto.getLongitude(), true);
+        Map<String, Object> changes = new LinkedHashMap<>();
+        changes.put("address", updatePropertyDto.getAddress());
+        changes.put("city", updatePropertyDto.getCity());
+        changes.put("price", updatePropertyDto.getPrice());
+        changes.put("bedrooms", updatePropertyDto.getBedrooms());
+        changes.put("bathrooms", updatePropertyDto.getBathrooms());
+        changes.put("imageUrl", updatePropertyDto.getImageUrl());
+        changes.put("description", updatePropertyDto.getDescription());
+        changes.put("latitude", updatePropertyDto.getLatitude());
+        changes.put("longitude", updatePropertyDto.getLongitude());
+        return applyUpdate(id, changes, expectedVersion);
     }
     
     @Override
-    public void deleteById(Long id) {
-        if (propertyRepository.existsById(id)) {
-            propertyRepository.deleteById(id);
-        } else {
-            throw new PropertyNotFoundException(id);
+    @Transactional
+    public PropertyDto patch(Long id, UpdatePropertyDto changes, Long expectedVersion) {
+        validateCoordinates(changes.getLatitude(), changes.getLongitude(), false);
+        Map<String, Object> changed = new LinkedHashMap<>();
+        putIfPresent(changed, "address", changes.getAddress());
+        putIfPresent(changed, "city", changes.getCity());
+        putIfPresent(changed, "price", changes.getPrice());
+        putIfPresent(changed, "bedrooms", changes.getBedrooms());
+        putIfPresent(changed, "bathrooms", changes.getBathrooms());
+        putIfPresent(changed, "imageUrl", changes.getImageUrl());
+        putIfPresent(changed, "description", changes.getDescription());
+        putIfPresent(changed, "latitude", changes.getLatitude());
+        putIfPresent(changed, "longitude", changes.getLongitude());
+        if (changed.isEmpty()) {
+            PropertyDto current = findById(id);
+            if (expectedVersion != null && !expectedVersion.equals(current.getVersion())) {
+                throw new PropertyVersionConflictException(id, expectedVersion);
+            }
+            return current;
         }
+        return applyUpdate(id, changed, expectedVersion);
     }
     
     @Override
+    @Transactional
+    public void deleteById(Long id, Long expectedVersion) {
+        Optional<String> deleted = expectedVersion == null
+                ? propertyRepository.deleteReturningCity(id)
+                : propertyRepository.deleteReturningCityIfVersion(id, expectedVersion);
+        String city = deleted.orElseThrow(() -> missingOrConflict(id, expectedVersion));
+        eventRecorder.deleted(id, city);
+        cacheInvalidator.evictId(id);
+        cacheInvalidator.evictCity(city);
+        indexer.removeAfterCommit(id);
+    }
+    
+    @Override
+    @Transactional(readOnly = true)
     public boolean existsById(Long id) {
         return propertyRepository.existsById(id);
     }
     
     @Override
+    @Transactional(readOnly = true)
+    public PropertyBatchDto findByIds(List<Long> ids, PropertyFields fields) {
+        List<Long> requested = distinctIds(ids);
+        List<PropertyDto> items = new ArrayList<>(requested.size());
+        List<Long> missing = new ArrayList<>();
+        if (fields.isAll()) {
+            List<Property> loaded = propertyRepository.findAllByIdInOrder(requested);
+            for (int i = 0; i < requested.size(); i++) {
+                if (loaded.get(i) != null) {
+                    items.add(propertyMapper.toDto(loaded.get(i)));
+                } else {
+                    missing.add(requested.get(i));
+                }
+            }
+            return new PropertyBatchDto(items, missing);
+        }
+        Map<Long, PropertyDto> byId = new HashMap<>();
+        for (List<Long> chunk : chunks(requested)) {
+            byId.putAll(loadByIds(chunk, fields));
+        }
+        for (Long id : requested) {
+            PropertyDto dto = byId.get(id);
+            if (dto != null) {
+                items.add(dto);
+            } else {
+                missing.add(id);
+            }
+        }
+        return new PropertyBatchDto(items, missing);
+    }
+    
+    @Override
+    @Transactional(readOnly = true)
+    public PropertyExistenceDto existsByIds(List<Long> ids) {
+        List<Long> requested = distinctIds(ids);
+        Set<Long> found = new HashSet<>();
+        for (List<Long> chunk : chunks(requested)) {
+            found.addAll(propertyRepository.findExistingIds(chunk));
+        }
+        List<Long> existing = new ArrayList<>(found.size());
+        List<Long> missing = new ArrayList<>(requested.size() - found.size());
+        for (Long id : requested) {
+            if (found.contains(id)) {
+                existing.add(id);
+            } else {
+                missing.add(id);
+            }
+        }
+        return new PropertyExistenceDto(existing, missing);
+    }
+    
+    @Override
+    @Transactional(readOnly = true)
+    @Cacheable(cacheNames = CacheConfig.PROPERTIES_BY_CITY, key = "#city")
     public List<PropertyDto> findByCity(String city) {
+        // Lista inmutable: el mismo valor se comparte entre lecturas desde la caché
         return propertyRepository.findByCity(city)
+                .stream()
+                .map(propertyMapper::toDto)
+                .toList();
+    }
+    
+    @Override
+    @Transactional(readOnly = true)
+    public PropertySearchResultDto search(PropertySearchCriteria criteria, String sort, int page, int size,
+                                          PropertyFields fields) {
+        if (criteria.minPrice() != null && criteria.maxPrice() != null
+                && criteria.minPrice() > criteria.maxPrice()) {
+            throw new InvalidRequestException("El precio mínimo no puede ser mayor que el precio máximo");
+        }
+        if (page < 0) {
+            throw new InvalidRequestException("La página no puede ser negativa");
+        }
+        int pageSize = Math.max(1, Math.min(size, MAX_PAGE_SIZE));
+        if ((long) page * pageSize >= MAX_SEARCH_DEPTH) {
+            throw new InvalidRequestException("Solo se pueden recorrer los primeros "
+                    + MAX_SEARCH_DEPTH + " resultados; refine la búsqueda");
+        }
+        Sort order = parseSort(sort);
+        int offset = page * pageSize;
+        if (!fields.isAll()) {
+            List<PropertyDto> rows = propertyRepository.findProjected(PropertySpecifications.matching(criteria),
+                    fields.attributes(), order, offset, pageSize + 1);
+            boolean hasNext = rows.size() > pageSize;
+            List<PropertyDto> items = rows.stream().limit(pageSize).collect(Collectors.toList());
+            return new PropertySearchResultDto(items, page, pageSize, hasNext);
+        }
+        // Posición por offset sin consulta COUNT: la ventana pide un elemento extra para saber si hay más
+        ScrollPosition position = page == 0
+                ? ScrollPosition.offset()
+                : ScrollPosition.offset(offset - 1);
+        
+        Window<Property> window = propertyRepository.findBy(
+                PropertySpecifications.matching(criteria),
+                query -> query.sortBy(order).limit(pageSize).scroll(position));
+        
+        List<PropertyDto> items = window.getContent()
                 .stream()
                 .map(propertyMapper::toDto)
                 .collect(Collectors.toList());
+        return new PropertySearchResultDto(items, page, pageSize, window.hasNext());
+    }
+    
+    @Override
+    @Transactional(readOnly = true)
+    public PropertySearchResultDto searchText(String query, int page, int size, PropertyFields fields) {
+        if (query == null || query.isBlank()) {
+            throw new InvalidRequestException("La consulta de búsqueda es obligatoria");
+        }
+        if (page < 0) {
+            throw new InvalidRequestException("La página no puede ser negativa");
+        }
+        int pageSize = Math.max(1, Math.min(size, MAX_PAGE_SIZE));
+        if ((long) page * pageSize >= MAX_TEXT_SEARCH_DEPTH) {
+            throw new InvalidRequestException("Solo se pueden recorrer los primeros "
+                    + MAX_TEXT_SEARCH_DEPTH + " resultados; refine la búsqueda");
+        }
+        int offset = page * pageSize;
+        // Se pide un resultado extra para saber si existe una página siguiente
+        List<PropertyTextIndex.Match> matches = textIndex.search(query, offset + pageSize + 1);
+        boolean hasNext = matches.size() > offset + pageSize;
+        List<Long> ids = matches.stream()
+                .skip(offset)
+                .limit(pageSize)
+                .map(PropertyTextIndex.Match::id)
+                .toList();
+        
+        Map<Long, PropertyDto> byId = loadByIds(ids, fields);
+        List<PropertyDto> items = ids.stream()
+                .map(byId::get)
+                .filter(Objects::nonNull)
+                .collect(Collectors.toList());
+        return new PropertySearchResultDto(items, page, pageSize, hasNext);
+    }
+    
+    @Override
+    @Transactional(readOnly = true)
+    public List<NearbyPropertyDto> findNear(double latitude, double longitude, Double radiusKm, int limit,
+                                            PropertyFields fields) {
+        validateCoordinates(latitude, longitude, true);
+        if (radiusKm != null && radiusKm <= 0) {
+            throw new InvalidRequestException("El radio debe ser mayor que cero");
+        }
+        int maxResults = Math.max(1, Math.min(limit, MAX_GEO_RESULTS));
+        List<PropertyGeoIndex.Match> matches = radiusKm == null
+                ? geoIndex.nearest(latitude, longitude, maxResults)
+                : geoIndex.withinRadius(latitude, longitude, radiusKm, maxResults);
+        
+        Map<Long, PropertyDto> byId = loadByIds(matches.stream().map(PropertyGeoIndex.Match::id).toList(), fields);
+        return matches.stream()
+                .filter(match -> byId.containsKey(match.id()))
+                .map(match -> new NearbyPropertyDto(byId.get(match.id()), match.distanceKm()))
+                .collect(Collectors.toList());
+    }
+    
+    @Override
+    @Transactional(readOnly = true)
+    public List<PropertyDto> findWithin(double minLatitude, double minLongitude,
+                                        double maxLatitude, double maxLongitude, int limit,
+                                        PropertyFields fields) {
+        validateCoordinates(minLatitude, minLongitude, true);
+        validateCoordinates(maxLatitude, maxLongitude, true);
+        if (minLatitude > maxLatitude) {
+            throw new InvalidRequestException("La latitud mínima no puede ser mayor que la máxima");
+        }
+        int maxResults = Math.max(1, Math.min(limit, MAX_GEO_RESULTS));
+        List<Long> ids = geoIndex.withinBox(minLatitude, minLongitude, maxLatitude, maxLongitude, maxResults);
+        
+        Map<Long, PropertyDto> byId = loadByIds(ids, fields);
+        return ids.stream()
+                .map(byId::get)
+                .filter(Objects::nonNull)
+                .collect(Collectors.toList());
+    }
+    
+    @Override
+    public PropertyMarketStatsDto getStatistics() {
+        return new PropertyMarketStatsDto(statistics.overall(), statistics.cities());
+    }
+    
+    @Override
+    public PropertyStatisticsDto getStatistics(String city) {
+        return statistics.city(city).orElseGet(() ->
+                new PropertyStatisticsDto(city, 0, null, null, null, null, null, null, null, Map.of()));
+    }
+    
+    @Override
+    @Transactional(readOnly = true)
+    public PropertyPriceHistoryDto getPriceHistory(Long id, Instant from, Instant to) {
+        Instant end = to != null ? to : clock.instant();
+        Instant start = from != null ? from : Instant.EPOCH;
+        validateWindow(start, end);
+        // Un cambio de más para saber si la ventana se ha recortado
+        List<PropertyPriceHistoryDto.Point> points = new ArrayList<>(priceHistoryRepository.findByProperty(
+                id, start, end, MAX_PRICE_HISTORY_POINTS + 1));
+        boolean truncated = points.size() > MAX_PRICE_HISTORY_POINTS;
+        if (truncated) {
+            points.remove(points.size() - 1);
+        }
+        // El historial de una propiedad borrada se conserva; sin cambios ni propiedad, no existe
+        if (points.isEmpty() && !propertyRepository.existsById(id)) {
+            throw new PropertyNotFoundException(id);
+        }
+        Collections.reverse(points);
+        return new PropertyPriceHistoryDto(id, start, end, points, truncated);
+    }
+    
+    @Override
+    @Transactional(readOnly = true)
+    public PropertyPriceTrendDto getPriceTrend(String city, Instant from, Instant to, String interval) {
+        PropertyPriceTrendDto.Interval unit = PropertyPriceTrendDto.Interval.parse(interval);
+        Instant end = to != null ? to : clock.instant();
+        Instant start = from != null ? from : end.minus(Duration.ofDays(DEFAULT_PRICE_TREND_DAYS));
+        validateWindow(start, end);
+        if (unit.maxBuckets(start, end) > MAX_PRICE_TREND_BUCKETS) {
+            throw new InvalidRequestException("La ventana abarca más de " + MAX_PRICE_TREND_BUCKETS
+                    + " intervalos; use un intervalo mayor o acorte el rango");
+        }
+        return new PropertyPriceTrendDto(city, unit, start, end,
+                priceHistoryRepository.findCityTrend(Property.toCityKey(city), start, end, unit));
+    }
+    
+    // Una sola consulta por IDs para los resultados del índice; el orden lo decide quien llama
+    private Map<Long, PropertyDto> loadByIds(List<Long> ids, PropertyFields fields) {
+        if (ids.isEmpty()) {
+            return Map.of();
+        }
+        List<PropertyDto> rows = fields.isAll()
+                ? propertyRepository.findAllById(ids).stream().map(propertyMapper::toDto).toList()
+                : propertyRepository.findProjected(PropertySpecifications.idIn(ids), fields.attributes(),
+                        Sort.unsorted(), 0, ids.size());
+        return rows.stream()
+                .collect(Collectors.toMap(PropertyDto::getId, Function.identity()));
+    }
+    
+    // IDs de una petición por lote sin repetidos y en su orden; rechaza listas vacías o demasiado largas
+    private static List<Long> distinctIds(List<Long> ids) {
+        if (ids == null || ids.isEmpty()) {
+            throw new InvalidRequestException("Se debe indicar al menos un ID");
+        }
+        Set<Long> distinct = new LinkedHashSet<>(ids);
+        if (distinct.contains(null)) {
+            throw new InvalidRequestException("La lista de IDs contiene valores vacíos");
+        }
+        if (distinct.size() > MAX_BATCH_IDS) {
+            throw new InvalidRequestException("Se pueden pedir como máximo " + MAX_BATCH_IDS + " IDs a la vez");
+        }
+        return List.copyOf(distinct);
+    }
+    
+    // Bloques de ID_BATCH_SIZE: una sentencia por bloque con listas IN de tamaño acotado
+    private static List<List<Long>> chunks(List<Long> ids) {
+        List<List<Long>> chunks = new ArrayList<>();
+        for (int from = 0; from < ids.size(); from += PropertyRepository.ID_BATCH_SIZE) {
+            chunks.add(ids.subList(from, Math.min(from + PropertyRepository.ID_BATCH_SIZE, ids.size())));
+        }
+        return chunks;
+    }
+    
+    // Un único UPDATE ... RETURNING: si no afecta filas, la propiedad no existe
+    private PropertyDto applyUpdate(Long id, Map<String, Object> changes, Long expectedVersion) {
+        PropertyUpdateResult result = propertyRepository.updateReturning(id, changes, expectedVersion)
+                .orElseThrow(() -> missingOrConflict(id, expectedVersion));
+        Property updatedProperty = result.property();
+        eventRecorder.updated(updatedProperty, result.previousCity());
+        priceHistoryRecorder.recordAfterCommit(updatedProperty, result.previousPrice());
+        cacheInvalidator.evictId(id);
+        cacheInvalidator.evictCity(result.previousCity());
+        cacheInvalidator.evictCity(updatedProperty.getCity());
+        indexer.indexAfterCommit(updatedProperty);
+        imagePipeline.processAfterCommit(updatedProperty);
+        return propertyMapper.toDto(updatedProperty);
+    }
+    
+    private static void validateWindow(Instant from, Instant to) {
+        if (!from.isBefore(to)) {
+            throw new InvalidRequestException("El inicio de la ventana (from) debe ser anterior al fin (to)");
+        }
+    }
+    
+    // Solo en el camino de error: distingue una propiedad inexistente de una versión desactualizada
+    private RuntimeException missingOrConflict(Long id, Long expectedVersion) {
+        if (expectedVersion != null && propertyRepository.existsById(id)) {
+            return new PropertyVersionConflictException(id, expectedVersion);
+        }
+        return new PropertyNotFoundException(id);
+    }
+    
+    // bothOrNone: en altas y reemplazos una coordenada sin la otra no permite ubicar la propiedad
+    private static void validateCoordinates(Double latitude, Double longitude, boolean bothOrNone) {
+        if (bothOrNone && (latitude == null) != (longitude == null)) {
+            throw new InvalidRequestException("La latitud y la longitud deben indicarse juntas");
+        }
+        if (latitude != null && (latitude < -90 || latitude > 90)) {
+            throw new InvalidRequestException("La latitud debe estar entre -90 y 90");
+        }
+        if (longitude != null && (longitude < -180 || longitude > 180)) {
+            throw new InvalidRequestException("La longitud debe estar entre -180 y 180");
+        }
+    }
+    
+    private static void putIfPresent(Map<String, Object> changes, String attribute, Object value) {
+        if (value != null) {
+            changes.put(attribute, value);
+        }
+    }
+    
+    private static Sort parseSort(String sort) {
+        if (sort == null || sort.isBlank()) {
+            return Sort.by("id");
+        }
+        String[] parts = sort.split(",");
+        String field = parts[0].trim();
+        if (!SORTABLE_FIELDS.contains(field)) {
+            throw new InvalidRequestException("No se puede ordenar por el campo: " + field);
+        }
+        Sort.Direction direction = Sort.Direction.ASC;
+        if (parts.length > 1) {
+            String value = parts[1].trim();
+            direction = Sort.Direction.fromOptionalString(value)
+                    .orElseThrow(() -> new InvalidRequestException("Dirección de orden inválida: " + value));
+        }
+        // Desempate por ID para que las páginas sean estables
+        return "id".equals(field)
+                ? Sort.by(direction, field)
+                : Sort.by(direction, field).and(Sort.by("id"));
     }
-} 
\ No newline at end of file
+}
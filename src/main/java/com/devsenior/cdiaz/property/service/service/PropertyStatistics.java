@@ -0,0 +1,279 @@
+package com.devsenior.cdiaz.property.service.service;
+
+import com.devsenior.cdiaz.property.service.model.dto.PropertyStatisticsDto;
+import com.devsenior.cdiaz.property.service.model.entity.Property;
+import com.devsenior.cdiaz.property.service.repository.PropertyCityTotals;
+import org.springframework.stereotype.Component;
+
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Consumer;
+import java.util.stream.Collectors;
+
+/**
+ * Estadísticas de mercado (precio y habitaciones) por ciudad y del catálogo completo,
+ * mantenidas en memoria con cada escritura.
+ *
+ * <p>Cada ciudad guarda sus precios en un arreglo ordenado y un contador por número de
+ * habitaciones. Un alta o baja inserta o quita un precio con búsqueda binaria y publica de
+ * inmediato las estadísticas ya calculadas, de modo que leerlas no cuesta nada. Para mover o
+ * quitar la contribución anterior de una propiedad se guarda su última ciudad, precio y
+ * habitaciones.</p>
+ *
+ * <p>Las lecturas no toman locks; las escrituras se serializan entre sí. {@link #rebuild}
+ * construye todo desde cero aparte y lo publica de una vez.</p>
+ */
+@Component
+public class PropertyStatistics {
+
+    private static final double[] PERCENTILES = {0.25, 0.5, 0.75, 0.9};
+
+    private volatile Rollups rollups = new Rollups();
+
+    /**
+     * Destino de las filas durante una reconstrucción.
+     */
+    @FunctionalInterface
+    public interface Sink {
+        void add(Long id, String city, Double price, Integer bedrooms);
+    }
+
+    // Inserta o reemplaza la contribución de la propiedad; sin ciudad o precio, la quita
+    public synchronized void index(Long id, String city, Double price, Integer bedrooms) {
+        rollups.remove(id);
+        if (city != null && price != null) {
+            rollups.add(id, city, price, bedrooms);
+        }
+    }
+
+    public synchronized void remove(Long id) {
+        rollups.remove(id);
+    }
+
+    /**
+     * Reemplaza todas las estadísticas por las de las filas que entrega {@code loader}.
+     * Las escrituras que ocurran mientras tanto se pierden hasta la siguiente reconstrucción.
+     */
+    public void rebuild(Consumer<Sink> loader) {
+        Rollups fresh = new Rollups();
+        loader.accept(fresh::append);
+        fresh.sortAndPublish();
+        synchronized (this) {
+            rollups = fresh;
+        }
+    }
+
+    public int size() {
+        return rollups.entries.size();
+    }
+
+    public PropertyStatisticsDto overall() {
+        return rollups.overall;
+    }
+
+    public Optional<PropertyStatisticsDto> city(String city) {
+        Published published = rollups.published.get(Property.toCityKey(city));
+        return Optional.ofNullable(published).map(Published::statistics);
+    }
+
+    // Ordenadas por nombre de ciudad
+    public List<PropertyStatisticsDto> cities() {
+        return rollups.published.values()
+                .stream()
+                .map(Published::statistics)
+                .sorted(Comparator.comparing(PropertyStatisticsDto::city))
+                .toList();
+    }
+
+    // Acumulados por ciudad normalizada, para compararlos con los agregados de la base de datos
+    public Map<String, PropertyCityTotals> totalsByCity() {
+        return rollups.published.entrySet()
+                .stream()
+                .collect(Collectors.toMap(Map.Entry::getKey, entry -> entry.getValue().totals()));
+    }
+
+    private static final class Rollups {
+
+        // Solo se modifican con el lock de PropertyStatistics (o antes de publicarse)
+        private final Map<Long, Contribution> entries = new ConcurrentHashMap<>();
+        private final Map<String, Rollup> byCity = new HashMap<>();
+        private final Rollup all = new Rollup(null);
+
+        // Lo que ven las lecturas
+        private final Map<String, Published> published = new ConcurrentHashMap<>();
+        private volatile PropertyStatisticsDto overall = all.statistics();
+
+        void add(Long id, String city, double price, Integer bedrooms) {
+            Contribution contribution = new Contribution(Property.toCityKey(city), price, bedrooms(bedrooms));
+            entries.put(id, contribution);
+            Rollup rollup = byCity.computeIfAbsent(contribution.cityKey(), key -> new Rollup(city));
+            // Se muestra la grafía de la última escritura
+            rollup.city = city.trim();
+            rollup.add(contribution.price(), contribution.bedrooms());
+            all.add(contribution.price(), contribution.bedrooms());
+            publish(contribution.cityKey(), rollup);
+        }
+
+        void remove(Long id) {
+            Contribution previous = entries.remove(id);
+            if (previous == null) {
+                return;
+            }
+            Rollup rollup = byCity.get(previous.cityKey());
+            rollup.remove(previous.price(), previous.bedrooms());
+            all.remove(previous.price(), previous.bedrooms());
+            if (rollup.count == 0) {
+                byCity.remove(previous.cityKey());
+                published.remove(previous.cityKey());
+                overall = all.statistics();
+            } else {
+                publish(previous.cityKey(), rollup);
+            }
+        }
+
+        // Carga masiva: los precios se ordenan una sola vez al final
+        void append(Long id, String city, Double price, Integer bedrooms) {
+            if (city == null || price == null) {
+                return;
+            }
+            Contribution contribution = new Contribution(Property.toCityKey(city), price, bedrooms(bedrooms));
+            Contribution previous = entries.put(id, contribution);
+            if (previous != null) {
+                throw new IllegalStateException("Propiedad repetida en la carga de estadísticas: " + id);
+            }
+            Rollup rollup = byCity.computeIfAbsent(contribution.cityKey(), key -> new Rollup(city));
+            rollup.append(contribution.price(), contribution.bedrooms());
+            all.append(contribution.price(), contribution.bedrooms());
+        }
+
+        void sortAndPublish() {
+            all.sort();
+            byCity.forEach((key, rollup) -> {
+                rollup.sort();
+                publish(key, rollup);
+            });
+            overall = all.statistics();
+        }
+
+        private void publish(String cityKey, Rollup rollup) {
+            published.put(cityKey, new Published(rollup.totals(cityKey), rollup.statistics()));
+            overall = all.statistics();
+        }
+
+        private static int bedrooms(Integer bedrooms) {
+            return bedrooms == null ? 0 : bedrooms;
+        }
+    }
+
+    // Acumulados de una ciudad o del catálogo; no es seguro para hilos
+    private static final class Rollup {
+
+        private String city;
+        private double[] prices = new double[16];
+        private int count;
+        private double priceSum;
+        private long bedroomsSum;
+        // Índice = número de habitaciones (los valores negativos cuentan como 0 en el histograma)
+        private long[] bedroomCounts = new long[8];
+
+        Rollup(String city) {
+            this.city = city == null ? null : city.trim();
+        }
+
+        void add(double price, int bedrooms) {
+            int index = Arrays.binarySearch(prices, 0, count, price);
+            int position = index >= 0 ? index : -index - 1;
+            ensureCapacity(count + 1);
+            System.arraycopy(prices, position, prices, position + 1, count - position);
+            prices[position] = price;
+            count++;
+            account(price, bedrooms, 1);
+        }
+
+        void remove(double price, int bedrooms) {
+            int position = Arrays.binarySearch(prices, 0, count, price);
+            if (position < 0) {
+                throw new IllegalStateException("Precio no registrado en las estadísticas: " + price);
+            }
+            System.arraycopy(prices, position + 1, prices, position, count - position - 1);
+            count--;
+            account(price, bedrooms, -1);
+            if (count == 0) {
+                // Sin residuos de redondeo de las sumas y restas anteriores
+                priceSum = 0;
+            }
+        }
+
+        void append(double price, int bedrooms) {
+            ensureCapacity(count + 1);
+            prices[count++] = price;
+            account(price, bedrooms, 1);
+        }
+
+        void sort() {
+            Arrays.sort(prices, 0, count);
+        }
+
+        PropertyCityTotals totals(String cityKey) {
+            return new PropertyCityTotals(cityKey, (long) count, priceSum,
+                    count == 0 ? null : prices[0], count == 0 ? null : prices[count - 1], bedroomsSum);
+        }
+
+        PropertyStatisticsDto statistics() {
+            Map<Integer, Long> histogram = new LinkedHashMap<>();
+            for (int bedrooms = 0; bedrooms < bedroomCounts.length; bedrooms++) {
+                if (bedroomCounts[bedrooms] > 0) {
+                    histogram.put(bedrooms, bedroomCounts[bedrooms]);
+                }
+            }
+            if (count == 0) {
+                return new PropertyStatisticsDto(city, 0, null, null, null, null, null, null, null,
+                        Collections.unmodifiableMap(histogram));
+            }
+            Double[] percentiles = new Double[PERCENTILES.length];
+            for (int i = 0; i < PERCENTILES.length; i++) {
+                percentiles[i] = percentile(PERCENTILES[i]);
+            }
+            return new PropertyStatisticsDto(city, count, priceSum / count, prices[0], prices[count - 1],
+                    percentiles[1], percentiles[0], percentiles[2], percentiles[3],
+                    Collections.unmodifiableMap(histogram));
+        }
+
+        // Interpolación lineal entre los dos precios más cercanos (percentile_cont)
+        private double percentile(double fraction) {
+            double position = fraction * (count - 1);
+            int lower = (int) Math.floor(position);
+            int upper = Math.min(lower + 1, count - 1);
+            return prices[lower] + (prices[upper] - prices[lower]) * (position - lower);
+        }
+
+        private void account(double price, int bedrooms, int delta) {
+            priceSum += delta * price;
+            bedroomsSum += (long) delta * bedrooms;
+            int bucket = Math.max(0, bedrooms);
+            if (bucket >= bedroomCounts.length) {
+                bedroomCounts = Arrays.copyOf(bedroomCounts, Math.max(bucket + 1, bedroomCounts.length * 2));
+            }
+            bedroomCounts[bucket] += delta;
+        }
+
+        private void ensureCapacity(int capacity) {
+            if (capacity > prices.length) {
+                prices = Arrays.copyOf(prices, Math.max(capacity, prices.length * 2));
+            }
+        }
+    }
+
+    private record Contribution(String cityKey, double price, int bedrooms) {
+    }
+
+    private record Published(PropertyCityTotals totals, PropertyStatisticsDto statistics) {
+    }
+}
@@ -0,0 +1,69 @@
+package com.devsenior.cdiaz.property.service.service;
+
+import com.devsenior.cdiaz.property.service.repository.PropertyCityTotals;
+import com.devsenior.cdiaz.property.service.repository.PropertyRepository;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.HashSet;
+import java.util.Map;
+import java.util.Set;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+/**
+ * Compara periódicamente las estadísticas en memoria con los agregados SQL de la tabla y,
+ * si difieren, las reconstruye desde la base de datos.
+ *
+ * <p>Pueden desalinearse si la tabla se modifica por fuera de la aplicación o si se pierde
+ * una actualización posterior al commit. Una escritura que confirme entre las dos lecturas
+ * también produce una diferencia momentánea; por eso la comparación se repite una vez antes
+ * de reconstruir.</p>
+ */
+@Component
+@RequiredArgsConstructor
+@Slf4j
+public class PropertyStatisticsReconciler {
+
+    private final PropertyRepository propertyRepository;
+    private final PropertyStatistics statistics;
+
+    @Scheduled(initialDelayString = "${property.stats.reconcile-interval:10m}",
+            fixedDelayString = "${property.stats.reconcile-interval:10m}")
+    @Transactional(readOnly = true)
+    public void reconcile() {
+        if (drifted().isEmpty()) {
+            return;
+        }
+        // Segunda comparación: descarta diferencias debidas a escrituras en curso
+        Set<String> drifted = drifted();
+        if (drifted.isEmpty()) {
+            return;
+        }
+        long start = System.nanoTime();
+        statistics.rebuild(sink -> {
+            try (var rows = propertyRepository.streamAllAsDto()) {
+                rows.forEach(row -> sink.add(row.getId(), row.getCity(), row.getPrice(), row.getBedrooms()));
+            }
+        });
+        log.warn("Estadísticas desalineadas con la base de datos en {} ciudades ({}); reconstruidas en {} ms",
+                drifted.size(), drifted, (System.nanoTime() - start) / 1_000_000);
+    }
+
+    // Ciudades cuyos acumulados en memoria no coinciden con los de la tabla
+    private Set<String> drifted() {
+        Map<String, PropertyCityTotals> expected = propertyRepository.aggregateByCity()
+                .stream()
+                .collect(Collectors.toMap(PropertyCityTotals::cityKey, Function.identity()));
+        Map<String, PropertyCityTotals> actual = statistics.totalsByCity();
+
+        Set<String> cities = new HashSet<>(expected.keySet());
+        cities.addAll(actual.keySet());
+        return cities.stream()
+                .filter(city -> expected.get(city) == null || !expected.get(city).matches(actual.get(city)))
+                .collect(Collectors.toSet());
+    }
+}
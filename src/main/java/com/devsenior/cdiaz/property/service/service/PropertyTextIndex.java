@@ -0,0 +1,176 @@
+package com.devsenior.cdiaz.property.service.service;
+
+import org.springframework.stereotype.Component;
+
+import java.text.Normalizer;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.PriorityQueue;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.regex.Pattern;
+
+/**
+ * Índice invertido en memoria sobre la ciudad, la dirección y la descripción de las propiedades.
+ *
+ * <p>El texto se normaliza (minúsculas, sin tildes ni diéresis, sin palabras vacías) y cada
+ * término apunta a las propiedades que lo contienen con un peso según el campo: ciudad &gt;
+ * dirección &gt; descripción. Una búsqueda exige todos los términos y recorre solo la lista
+ * del término menos frecuente, así que su coste depende de cuántas propiedades coinciden y no
+ * del tamaño del catálogo. La relevancia se calcula con BM25.</p>
+ *
+ * <p>Las lecturas no toman locks; las escrituras se serializan entre sí.</p>
+ */
+@Component
+public class PropertyTextIndex {
+
+    private static final float CITY_WEIGHT = 3.0f;
+    private static final float ADDRESS_WEIGHT = 2.0f;
+    private static final float DESCRIPTION_WEIGHT = 1.0f;
+
+    // Saturación de la frecuencia en BM25: repetir un término aporta cada vez menos
+    private static final double K1 = 1.2;
+
+    private static final Pattern SEPARATOR = Pattern.compile("[^\\p{L}\\p{N}]+");
+    private static final Pattern COMBINING_MARKS = Pattern.compile("\\p{M}+");
+
+    private static final Set<String> STOP_WORDS = Set.of(
+            "a", "al", "con", "de", "del", "el", "en", "es", "la", "las", "lo", "los",
+            "o", "para", "por", "se", "sin", "su", "sus", "un", "una", "unos", "unas", "y");
+
+    private final Map<String, Map<Long, Float>> postings = new ConcurrentHashMap<>();
+    private final Map<Long, Set<String>> documents = new ConcurrentHashMap<>();
+
+    /**
+     * Resultado de una búsqueda: ID de la propiedad y relevancia (mayor es mejor).
+     */
+    public record Match(long id, double score) {
+    }
+
+    // Inserta o reemplaza los términos de la propiedad
+    public synchronized void index(Long id, String city, String address, String description) {
+        Map<String, Float> weights = new HashMap<>();
+        addTerms(weights, city, CITY_WEIGHT);
+        addTerms(weights, address, ADDRESS_WEIGHT);
+        addTerms(weights, description, DESCRIPTION_WEIGHT);
+
+        Set<String> previous = documents.put(id, Set.copyOf(weights.keySet()));
+        if (previous != null) {
+            for (String term : previous) {
+                if (!weights.containsKey(term)) {
+                    removePosting(term, id);
+                }
+            }
+        }
+        weights.forEach((term, weight) ->
+                postings.computeIfAbsent(term, key -> new ConcurrentHashMap<>()).put(id, weight));
+    }
+
+    public synchronized void remove(Long id) {
+        Set<String> previous = documents.remove(id);
+        if (previous != null) {
+            previous.forEach(term -> removePosting(term, id));
+        }
+    }
+
+    public synchronized void clear() {
+        postings.clear();
+        documents.clear();
+    }
+
+    public int size() {
+        return documents.size();
+    }
+
+    /**
+     * Las {@code limit} propiedades más relevantes que contienen todos los términos de la consulta.
+     */
+    public List<Match> search(String query, int limit) {
+        List<String> terms = new ArrayList<>(new LinkedHashSet<>(tokenize(query)));
+        if (terms.isEmpty() || limit <= 0) {
+            return List.of();
+        }
+        List<Map<Long, Float>> lists = new ArrayList<>(terms.size());
+        for (String term : terms) {
+            Map<Long, Float> list = postings.get(term);
+            if (list == null || list.isEmpty()) {
+                return List.of();
+            }
+            lists.add(list);
+        }
+        lists.sort(Comparator.comparingInt(Map::size));
+
+        int documentCount = Math.max(documents.size(), 1);
+        double[] idf = new double[lists.size()];
+        for (int i = 0; i < lists.size(); i++) {
+            int frequency = lists.get(i).size();
+            idf[i] = Math.log(1.0 + (documentCount - frequency + 0.5) / (frequency + 0.5));
+        }
+
+        Comparator<Match> byRelevance = Comparator.comparingDouble(Match::score)
+                .thenComparing(Comparator.comparingLong(Match::id).reversed());
+        PriorityQueue<Match> top = new PriorityQueue<>(Math.min(limit, 1024) + 1, byRelevance);
+        candidates:
+        for (Map.Entry<Long, Float> entry : lists.get(0).entrySet()) {
+            long id = entry.getKey();
+            double score = bm25(entry.getValue(), idf[0]);
+            for (int i = 1; i < lists.size(); i++) {
+                Float weight = lists.get(i).get(id);
+                if (weight == null) {
+                    continue candidates;
+                }
+                score += bm25(weight, idf[i]);
+            }
+            top.add(new Match(id, score));
+            if (top.size() > limit) {
+                top.poll();
+            }
+        }
+
+        List<Match> matches = new ArrayList<>(top);
+        matches.sort(byRelevance.reversed());
+        return matches;
+    }
+
+    /**
+     * Términos normalizados de un texto, en orden y con repeticiones.
+     */
+    public static List<String> tokenize(String text) {
+        if (text == null || text.isBlank()) {
+            return List.of();
+        }
+        String folded = COMBINING_MARKS.matcher(Normalizer.normalize(text, Normalizer.Form.NFD)).replaceAll("");
+        List<String> terms = new ArrayList<>();
+        for (String token : SEPARATOR.split(folded.toLowerCase(Locale.ROOT))) {
+            if (!token.isEmpty() && !STOP_WORDS.contains(token)) {
+                terms.add(token);
+            }
+        }
+        return terms;
+    }
+
+    private static void addTerms(Map<String, Float> weights, String text, float fieldWeight) {
+        for (String term : tokenize(text)) {
+            weights.merge(term, fieldWeight, Float::sum);
+        }
+    }
+
+    private static double bm25(float weight, double idf) {
+        return idf * (weight * (K1 + 1)) / (weight + K1);
+    }
+
+    private void removePosting(String term, Long id) {
+        Map<Long, Float> list = postings.get(term);
+        if (list != null) {
+            list.remove(id);
+            if (list.isEmpty()) {
+                postings.remove(term, list);
+            }
+        }
+    }
+}
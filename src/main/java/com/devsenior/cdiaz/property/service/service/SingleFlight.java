@@ -0,0 +1,116 @@
+package com.devsenior.cdiaz.property.service.service;
+
+import com.devsenior.cdiaz.property.service.exception.CoalescedReadTimeoutException;
+
+import java.time.Duration;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.Predicate;
+import java.util.function.Supplier;
+
+/**
+ * Agrupa las llamadas concurrentes con la misma clave en una sola ejecución.
+ *
+ * <p>La primera llamada para una clave ejecuta la carga en su propio hilo (con su transacción y
+ * su contexto de petición); las que llegan mientras tanto esperan su resultado, como máximo
+ * {@code maxWait}, y reciben el mismo valor o la misma excepción. Cuando la carga termina la clave
+ * se libera: no es una caché, la siguiente llamada vuelve a ejecutarla.</p>
+ *
+ * @param <K> clave de las llamadas que se consideran idénticas
+ * @param <V> resultado compartido; no debe modificarse, lo leen todos los que esperaban
+ */
+public class SingleFlight<K, V> {
+
+    private final String name;
+    private final Duration maxWait;
+    private final Map<K, CompletableFuture<V>> flights = new ConcurrentHashMap<>();
+    private final LongAdder executed = new LongAdder();
+    private final LongAdder collapsed = new LongAdder();
+    private final LongAdder timeouts = new LongAdder();
+
+    public SingleFlight(String name, Duration maxWait) {
+        this.name = name;
+        this.maxWait = maxWait;
+    }
+
+    /**
+     * Devuelve el resultado de la carga en curso para la clave o, si no hay ninguna, la ejecuta.
+     *
+     * @throws CoalescedReadTimeoutException si la carga en curso no termina dentro de la espera máxima
+     */
+    public V get(K key, Supplier<V> loader) {
+        CompletableFuture<V> flight = new CompletableFuture<>();
+        CompletableFuture<V> current = flights.putIfAbsent(key, flight);
+        if (current != null) {
+            collapsed.increment();
+            return await(current);
+        }
+        executed.increment();
+        try {
+            V value = loader.get();
+            flight.complete(value);
+            return value;
+        } catch (RuntimeException | Error ex) {
+            flight.completeExceptionally(ex);
+            throw ex;
+        } finally {
+            // Condicional: tras un forget la clave puede pertenecer ya a una carga nueva
+            flights.remove(key, flight);
+        }
+    }
+
+    /**
+     * Desliga las cargas en curso cuyas claves cumplen la condición: las llamadas siguientes
+     * ejecutan una carga nueva en lugar de recibir un resultado leído antes de una escritura.
+     */
+    public void forget(Predicate<K> keys) {
+        flights.keySet().removeIf(keys);
+    }
+
+    public String getName() {
+        return name;
+    }
+
+    public int getInFlight() {
+        return flights.size();
+    }
+
+    public long getExecuted() {
+        return executed.sum();
+    }
+
+    public long getCollapsed() {
+        return collapsed.sum();
+    }
+
+    public long getTimeouts() {
+        return timeouts.sum();
+    }
+
+    private V await(CompletableFuture<V> flight) {
+        try {
+            return flight.get(maxWait.toNanos(), TimeUnit.NANOSECONDS);
+        } catch (TimeoutException ex) {
+            timeouts.increment();
+            throw new CoalescedReadTimeoutException("La lectura " + name + " no terminó en " + maxWait);
+        } catch (InterruptedException ex) {
+            Thread.currentThread().interrupt();
+            throw new CoalescedReadTimeoutException("Espera de la lectura " + name + " interrumpida");
+        } catch (ExecutionException ex) {
+            // La misma excepción que recibió la llamada que ejecutó la carga (404, 503, ...)
+            Throwable cause = ex.getCause();
+            if (cause instanceof RuntimeException runtime) {
+                throw runtime;
+            }
+            if (cause instanceof Error error) {
+                throw error;
+            }
+            throw new IllegalStateException(cause);
+        }
+    }
+}
@@ -1,6 +1,7 @@
 package com.devsenior.cdiaz.property.service.service.impl;
 
 import com.devsenior.cdiaz.property.service.exception.AuthenticationException;
+import com.devsenior.cdiaz.property.service.exception.PasswordHashingBusyException;
 import com.devsenior.cdiaz.property.service.exception.UserNotFoundException;
 import com.devsenior.cdiaz.property.service.mapper.UserMapper;
 import com.devsenior.cdiaz.property.service.model.dto.LoginRequestDto;
@@ -8,13 +9,15 @@ import com.devsenior.cdiaz.property.service.model.dto.LoginResponseDto;
 import com.devsenior.cdiaz.property.service.model.dto.UserDto;
 import com.devsenior.cdiaz.property.service.model.entity.User;
 import com.devsenior.cdiaz.property.service.repository.UserRepository;
+import com.devsenior.cdiaz.property.service.security.AuthSession;
+import com.devsenior.cdiaz.property.service.security.LoginRateLimiter;
+import com.devsenior.cdiaz.property.service.security.PasswordHasher;
+import com.devsenior.cdiaz.property.service.security.SessionManager;
 import com.devsenior.cdiaz.property.service.service.AuthService;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.stereotype.Service;
 
-import java.util.UUID;
-
 @Service
 @RequiredArgsConstructor
 @Slf4j
@@ -22,25 +25,34 @@ public class AuthServiceImpl implements AuthService {
     
     private final UserRepository userRepository;
     private final UserMapper userMapper;
+    private final SessionManager sessionManager;
+    private final PasswordHasher passwordHasher;
+    private final LoginRateLimiter loginRateLimiter;
     
     @Override
-    public LoginResponseDto login(LoginRequestDto loginRequest) {
+    public LoginResponseDto login(LoginRequestDto loginRequest, String clientIp) {
+        // Antes de cualquier consulta: un intento rechazado no cuesta base de datos ni hashing
+        loginRateLimiter.acquire(loginRequest.email(), clientIp);
+        
         log.info("Intentando autenticar usuario con email: {}", loginRequest.email());
         
         User user = userRepository.findByEmail(loginRequest.email())
                 .orElseThrow(() -> new UserNotFoundException("Usuario no encontrado con email: " + loginRequest.email()));
         
-        // Por ahora, comparación simple de contraseñas (sin Spring Security)
-        if (!user.getPassword().equals(loginRequest.password())) {
+        // bcrypt en el ejecutor acotado; acepta también contraseñas heredadas en texto plano
+        if (!passwordHasher.matches(loginRequest.password(), user.getPassword())) {
             throw new AuthenticationException("Credenciales inválidas");
         }
         
-        // Generar token simple (en producción usar JWT)
-        String token = UUID.randomUUID().toString();
+        rehashIfNeeded(user, loginRequest.password());
+        loginRateLimiter.reset(loginRequest.email());
+        
+        // Token opaco respaldado por el almacén de sesiones
+        AuthSession session = sessionManager.open(user);
         
         log.info("Usuario autenticado exitosamente: {}", user.getEmail());
         
-        return new LoginResponseDto(token, user.getEmail(), user.getFullName());
+        return new LoginResponseDto(session.token(), user.getEmail(), user.getFullName());
     }
     
     @Override
@@ -52,10 +64,33 @@ public class AuthServiceImpl implements AuthService {
         }
         
         User user = userMapper.toEntity(userDto);
+        user.setPassword(passwordHasher.hash(userDto.password()));
         User savedUser = userRepository.save(user);
         
         log.info("Usuario registrado exitosamente con ID: {}", savedUser.getId());
         
         return userMapper.toDto(savedUser);
     }
+    
+    @Override
+    public void logout(String token) {
+        if (sessionManager.close(token)) {
+            log.info("Sesión cerrada");
+        }
+    }
+    
+    // Migra al vuelo contraseñas en texto plano o con un coste de bcrypt menor al configurado
+    private void rehashIfNeeded(User user, String rawPassword) {
+        if (!passwordHasher.needsRehash(user.getPassword())) {
+            return;
+        }
+        try {
+            user.setPassword(passwordHasher.hash(rawPassword));
+            userRepository.save(user);
+            log.info("Contraseña migrada al hash actual para el usuario con ID: {}", user.getId());
+        } catch (PasswordHashingBusyException ex) {
+            // El login ya es válido; se reintentará la migración en el próximo inicio de sesión
+            log.warn("Migración de contraseña pospuesta para el usuario con ID: {}", user.getId());
+        }
+    }
 }
@@ -0,0 +1,201 @@
+package com.devsenior.cdiaz.property.service.service.impl;
+
+import com.devsenior.cdiaz.property.service.mapper.PropertyMapper;
+import com.devsenior.cdiaz.property.service.model.dto.BulkImportResultDto;
+import com.devsenior.cdiaz.property.service.model.dto.BulkImportRowResultDto;
+import com.devsenior.cdiaz.property.service.model.dto.CreatePropertyDto;
+import com.devsenior.cdiaz.property.service.model.entity.Property;
+import com.devsenior.cdiaz.property.service.repository.PropertyRepository;
+import com.devsenior.cdiaz.property.service.service.PropertyCacheInvalidator;
+import com.devsenior.cdiaz.property.service.service.PropertyEventRecorder;
+import com.devsenior.cdiaz.property.service.service.PropertyImagePipeline;
+import com.devsenior.cdiaz.property.service.service.PropertyIndexer;
+import com.devsenior.cdiaz.property.service.service.PropertyPriceHistoryRecorder;
+import com.devsenior.cdiaz.property.service.service.PropertyImportService;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.DataAccessResourceFailureException;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.CannotCreateTransactionException;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.List;
+
+@Service
+@Slf4j
+public class PropertyImportServiceImpl implements PropertyImportService {
+    
+    private final PropertyRepository propertyRepository;
+    private final PropertyMapper propertyMapper;
+    private final PropertyCacheInvalidator cacheInvalidator;
+    private final PropertyIndexer indexer;
+    private final PropertyImagePipeline imagePipeline;
+    private final PropertyEventRecorder eventRecorder;
+    private final PropertyPriceHistoryRecorder priceHistoryRecorder;
+    private final TransactionTemplate transactionTemplate;
+    private final int chunkSize;
+    
+    public PropertyImportServiceImpl(PropertyRepository propertyRepository,
+                                     PropertyMapper propertyMapper,
+                                     PropertyCacheInvalidator cacheInvalidator,
+                                     PropertyIndexer indexer,
+                                     PropertyImagePipeline imagePipeline,
+                                     PropertyEventRecorder eventRecorder,
+                                     PropertyPriceHistoryRecorder priceHistoryRecorder,
+                                     TransactionTemplate transactionTemplate,
+                                     @Value("${property.import.chunk-size:500}") int chunkSize) {
+        this.propertyRepository = propertyRepository;
+        this.propertyMapper = propertyMapper;
+        this.cacheInvalidator = cacheInvalidator;
+        this.indexer = indexer;
+        this.imagePipeline = imagePipeline;
+        this.eventRecorder = eventRecorder;
+        this.priceHistoryRecorder = priceHistoryRecorder;
+        this.transactionTemplate = transactionTemplate;
+        this.chunkSize = chunkSize;
+    }
+    
+    @Override
+    public BulkImportResultDto importAll(Iterator<CreatePropertyDto> rows) {
+        long start = System.nanoTime();
+        List<BulkImportRowResultDto> results = new ArrayList<>();
+        try {
+            readAndInsert(rows, results);
+        } catch (CannotCreateTransactionException | DataAccessResourceFailureException ex) {
+            // Los bloques anteriores ya están confirmados; el error llega al cliente como 503
+            log.warn("Importación masiva interrumpida con {} filas creadas: base de datos no disponible",
+                    results.stream().filter(r -> r.id() != null).count());
+            throw ex;
+        }
+        
+        results.sort((a, b) -> Integer.compare(a.index(), b.index()));
+        int created = (int) results.stream().filter(r -> r.id() != null).count();
+        long elapsedMillis = (System.nanoTime() - start) / 1_000_000;
+        double rowsPerSecond = elapsedMillis == 0 ? created : created * 1000.0 / elapsedMillis;
+        log.info("Importación masiva: {} filas, {} creadas en {} ms ({} filas/s)",
+                results.size(), created, elapsedMillis, String.format("%.1f", rowsPerSecond));
+        return new BulkImportResultDto(results.size(), created, results.size() - created,
+                elapsedMillis, rowsPerSecond, results);
+    }
+    
+    private void readAndInsert(Iterator<CreatePropertyDto> rows, List<BulkImportRowResultDto> results) {
+        List<PendingRow> chunk = new ArrayList<>(chunkSize);
+        int index = 0;
+        
+        while (true) {
+            CreatePropertyDto dto;
+            try {
+                if (!rows.hasNext()) {
+                    break;
+                }
+                dto = rows.next();
+            } catch (RuntimeException ex) {
+                // Entrada mal formada: no es posible seguir leyendo el stream
+                results.add(BulkImportRowResultDto.failed(index, "JSON inválido: " + ex.getMessage()));
+                break;
+            }
+            
+            String error = validate(dto);
+            if (error != null) {
+                results.add(BulkImportRowResultDto.failed(index, error));
+            } else {
+                chunk.add(new PendingRow(index, dto));
+                if (chunk.size() == chunkSize) {
+                    results.addAll(insertChunk(chunk));
+                    chunk.clear();
+                }
+            }
+            index++;
+        }
+        if (!chunk.isEmpty()) {
+            results.addAll(insertChunk(chunk));
+        }
+    }
+    
+    // Inserta un bloque en una sola transacción; si falla, reintenta fila a fila para aislar el error.
+    // Cada intento crea entidades nuevas: las del intento fallido conservan el ID y la versión asignados.
+    // Si la base de datos no está disponible no se reintenta: la excepción detiene la importación
+    private List<BulkImportRowResultDto> insertChunk(List<PendingRow> chunk) {
+        try {
+            return transactionTemplate.execute(status -> persist(chunk));
+        } catch (CannotCreateTransactionException | DataAccessResourceFailureException ex) {
+            throw ex;
+        } catch (RuntimeException ex) {
+            log.warn("Falló la inserción de un bloque de {} filas, reintentando individualmente: {}",
+                    chunk.size(), ex.getMessage());
+            List<BulkImportRowResultDto> results = new ArrayList<>(chunk.size());
+            for (PendingRow row : chunk) {
+                try {
+                    results.addAll(transactionTemplate.execute(status -> persist(List.of(row))));
+                } catch (CannotCreateTransactionException | DataAccessResourceFailureException rowEx) {
+                    throw rowEx;
+                } catch (DataIntegrityViolationException rowEx) {
+                    // El mensaje incluye la sentencia SQL y nombres del esquema: solo va al log
+                    log.warn("Fila {} rechazada por la base de datos: {}", row.index(), rowEx.getMessage());
+                    results.add(BulkImportRowResultDto.failed(row.index(),
+                            "La fila no cumple las restricciones de la tabla (longitud o valores de los campos)"));
+                } catch (RuntimeException rowEx) {
+                    log.error("No se pudo guardar la fila {} de la importación", row.index(), rowEx);
+                    results.add(BulkImportRowResultDto.failed(row.index(), "No se pudo guardar la fila"));
+                }
+            }
+            return results;
+        }
+    }
+    
+    private List<BulkImportRowResultDto> persist(List<PendingRow> rows) {
+        List<Property> saved = propertyRepository.saveAll(rows.stream()
+                .map(row -> propertyMapper.toEntity(row.dto()))
+                .toList());
+        // El flush envía los INSERT agrupados según hibernate.jdbc.batch_size
+        propertyRepository.flush();
+        List<BulkImportRowResultDto> results = new ArrayList<>(rows.size());
+        for (int i = 0; i < rows.size(); i++) {
+            Property property = saved.get(i);
+            eventRecorder.created(property);
+            priceHistoryRecorder.recordAfterCommit(property, null);
+            cacheInvalidator.evictCity(property.getCity());
+            indexer.indexAfterCommit(property);
+            imagePipeline.processAfterCommit(property);
+            results.add(BulkImportRowResultDto.created(rows.get(i).index(), property.getId()));
+        }
+        return results;
+    }
+    
+    private static String validate(CreatePropertyDto dto) {
+        if (dto == null) {
+            return "Fila vacía";
+        }
+        if (dto.getAddress() == null || dto.getAddress().isBlank()) {
+            return "La dirección es obligatoria";
+        }
+        if (dto.getCity() == null || dto.getCity().isBlank()) {
+            return "La ciudad es obligatoria";
+        }
+        if (dto.getPrice() == null) {
+            return "El precio es obligatorio";
+        }
+        if (dto.getBedrooms() == null) {
+            return "El número de habitaciones es obligatorio";
+        }
+        if (dto.getBathrooms() == null) {
+            return "El número de baños es obligatorio";
+        }
+        if ((dto.getLatitude() == null) != (dto.getLongitude() == null)) {
+            return "La latitud y la longitud deben indicarse juntas";
+        }
+        if (dto.getLatitude() != null && (dto.getLatitude() < -90 || dto.getLatitude() > 90)) {
+            return "La latitud debe estar entre -90 y 90";
+        }
+        if (dto.getLongitude() != null && (dto.getLongitude() < -180 || dto.getLongitude() > 180)) {
+            return "La longitud debe estar entre -180 y 180";
+        }
+        return null;
+    }
+    
+    private record PendingRow(int index, CreatePropertyDto dto) {
+    }
+}
@@ -0,0 +1,4 @@
+-- Insertar usuario de prueba (fuera del perfil prod)
+INSERT INTO users (full_name, email, password, created_at, updated_at) 
+VALUES ('Usuario Demo', 'demo@example.com', 'password123', CURRENT_TIMESTAMP, CURRENT_TIMESTAMP)
+ON CONFLICT (email) DO NOTHING;
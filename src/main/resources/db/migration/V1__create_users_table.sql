@@ -10,8 +10,3 @@ CREATE TABLE IF NOT EXISTS users (
 
 -- Crear índice para búsquedas por email
 CREATE INDEX IF NOT EXISTS idx_users_email ON users(email);
-
--- Insertar usuario de prueba (opcional)
-INSERT INTO users (full_name, email, password, created_at, updated_at) 
-VALUES ('Usuario Demo', 'demo@example.com', 'password123', CURRENT_TIMESTAMP, CURRENT_TIMESTAMP)
-ON CONFLICT (email) DO NOTHING;
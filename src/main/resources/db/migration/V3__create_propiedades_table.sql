@@ -0,0 +1,41 @@
+-- Crear tabla de propiedades (las bases creadas antes con ddl-auto=update ya la tienen)
+CREATE TABLE IF NOT EXISTS propiedades (
+    id BIGINT PRIMARY KEY,
+    address VARCHAR(255) NOT NULL,
+    city VARCHAR(255) NOT NULL,
+    price DOUBLE PRECISION NOT NULL,
+    bedrooms INTEGER NOT NULL,
+    bathrooms INTEGER NOT NULL,
+    image_url VARCHAR(255),
+    description VARCHAR(255)
+);
+
+-- Columnas añadidas después de la primera versión de la tabla
+ALTER TABLE propiedades ADD COLUMN IF NOT EXISTS city_key VARCHAR(255);
+ALTER TABLE propiedades ADD COLUMN IF NOT EXISTS image_key VARCHAR(255);
+ALTER TABLE propiedades ADD COLUMN IF NOT EXISTS latitude DOUBLE PRECISION;
+ALTER TABLE propiedades ADD COLUMN IF NOT EXISTS longitude DOUBLE PRECISION;
+ALTER TABLE propiedades ADD COLUMN IF NOT EXISTS version BIGINT;
+
+-- Completar las filas creadas antes de city_key y del control optimista de versión
+UPDATE propiedades SET city_key = LOWER(TRIM(city)) WHERE city_key IS NULL;
+UPDATE propiedades SET version = 0 WHERE version IS NULL;
+
+-- Los IDs salen de una secuencia (inserts por lotes); las tablas antiguas usaban IDENTITY
+ALTER TABLE propiedades ALTER COLUMN id DROP IDENTITY IF EXISTS;
+CREATE SEQUENCE IF NOT EXISTS propiedades_seq START WITH 1 INCREMENT BY 50;
+
+-- Adelantar la secuencia por encima de los IDs existentes para que los nuevos no colisionen
+SELECT setval('propiedades_seq', GREATEST(
+    (SELECT COALESCE(MAX(id), 0) FROM propiedades) + 50,
+    (SELECT last_value FROM propiedades_seq)));
+
+-- Crear índices de búsqueda (declarados también en la entidad)
+CREATE INDEX IF NOT EXISTS idx_propiedades_city_key_price ON propiedades(city_key, price);
+CREATE INDEX IF NOT EXISTS idx_propiedades_city_key_bedrooms ON propiedades(city_key, bedrooms, bathrooms);
+CREATE INDEX IF NOT EXISTS idx_propiedades_price ON propiedades(price);
+CREATE INDEX IF NOT EXISTS idx_propiedades_city ON propiedades(city);
+
+-- Crear índice parcial de imágenes pendientes de procesar, que JPA no puede declarar
+CREATE INDEX IF NOT EXISTS idx_propiedades_image_pending ON propiedades(id)
+WHERE image_url IS NOT NULL AND image_key IS NULL;
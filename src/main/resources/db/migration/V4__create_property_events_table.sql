@@ -0,0 +1,18 @@
+-- Crear tabla del outbox de eventos de propiedades
+CREATE TABLE IF NOT EXISTS property_events (
+    id BIGINT PRIMARY KEY,
+    seq BIGINT,
+    event_type VARCHAR(16) NOT NULL,
+    property_id BIGINT NOT NULL,
+    version BIGINT,
+    payload TEXT,
+    created_at TIMESTAMP WITH TIME ZONE NOT NULL
+);
+
+CREATE SEQUENCE IF NOT EXISTS property_events_id_seq START WITH 1 INCREMENT BY 50;
+
+-- Crear índice único para la reanudación por número de secuencia
+CREATE UNIQUE INDEX IF NOT EXISTS uk_property_events_seq ON property_events(seq);
+
+-- Crear índice parcial de los eventos pendientes de numerar
+CREATE INDEX IF NOT EXISTS idx_property_events_pending ON property_events(id) WHERE seq IS NULL;
@@ -0,0 +1,17 @@
+-- Crear tabla del histórico de precios, particionada por mes (no es una entidad JPA).
+-- Las particiones mensuales las crea PropertyPriceHistoryPartitioner al arrancar y periódicamente.
+CREATE TABLE IF NOT EXISTS property_price_history (
+    property_id BIGINT NOT NULL,
+    changed_at TIMESTAMP WITH TIME ZONE NOT NULL,
+    price DOUBLE PRECISION NOT NULL,
+    previous_price DOUBLE PRECISION,
+    city_key VARCHAR(255)
+) PARTITION BY RANGE (changed_at);
+
+CREATE TABLE IF NOT EXISTS property_price_history_default PARTITION OF property_price_history DEFAULT;
+
+-- Crear índices en la tabla padre: PostgreSQL los crea en cada partición, también en las futuras
+CREATE INDEX IF NOT EXISTS idx_price_history_property ON property_price_history(property_id, changed_at)
+INCLUDE (price, previous_price);
+CREATE INDEX IF NOT EXISTS idx_price_history_city ON property_price_history(city_key, changed_at)
+INCLUDE (price, previous_price);
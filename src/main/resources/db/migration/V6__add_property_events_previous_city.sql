@@ -0,0 +1,2 @@
+-- Añadir la ciudad anterior al cambio: las demás instancias invalidan con ella su caché por ciudad
+ALTER TABLE property_events ADD COLUMN IF NOT EXISTS previous_city VARCHAR(255);